@@ -1,9 +1,12 @@
+import kanban.http.server.ExecutionMode;
+import kanban.http.server.ServerOptions;
 import kanban.http.server.TasksServer;
 import kanban.managers.Managers;
 
 public class MainHttpServer {
     public static void main(String[] args) {
-        TasksServer httpTaskServer = new TasksServer(Managers.getDefault());
+        TasksServer httpTaskServer = new TasksServer(Managers.getDefault(),
+                ServerOptions.defaults().withMode(ExecutionMode.VIRTUAL_THREAD_PER_REQUEST));
         TasksServer.start();
     }
 }
@@ -4,32 +4,71 @@ import com.google.gson.Gson;
 import com.sun.net.httpserver.HttpExchange;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URLEncoder;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.regex.Matcher;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 import kanban.http.endpoints.Endpoints;
 import kanban.http.handler.BaseHttpHandler;
 import kanban.managers.TaskManager;
+import kanban.tasks.Task;
 
 /**
  * Abstract base class for HTTP handlers that support CRUD operations.
  * This handler provides standard routing logic for GET, POST, and DELETE requests
  * based on URI patterns, and delegates specific behavior to subclasses.
+ * Lists can be paged with the {@code limit} and {@code cursor} query parameters;
+ * the cursor of the next page is returned in the {@value #NEXT_CURSOR_HEADER} header.
+ * Encoded responses of lists and single entities are kept in a {@link ResponseCache},
+ * so repeated reads of an unchanged collection are answered without serializing it again.
  */
 public abstract class CrudHandler extends BaseHttpHandler {
 
+    /**
+     * Response header carrying the cursor of the next page, present while more entities follow.
+     */
+    protected static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /**
+     * Page size used when a request has a cursor but no limit.
+     */
+    protected static final int DEFAULT_PAGE_SIZE = 100;
+
+    /**
+     * Query parameters that shape a list response, the only ones in a response cache key.
+     */
+    private static final List<String> CACHE_KEY_PARAMETERS = List.of("limit", "cursor",
+            "from", "to");
+
     private final Pattern pattern;
+    private final ResponseCache cache;
 
     /**
-     * Constructs a new AbstractCrudHandler for a given entity type.
+     * Constructs a new AbstractCrudHandler for a given entity type without a response cache.
      *
      * @param manager     the task manager used to perform operations
      * @param gson        the Gson instance used for JSON serialization/deserialization
      * @param entityPath  the base URI path associated with the entity (e.g., "tasks")
      */
     public CrudHandler(TaskManager manager, Gson gson, String entityPath) {
+        this(manager, gson, entityPath, ResponseCache.disabled());
+    }
+
+    /**
+     * Constructs a new AbstractCrudHandler for a given entity type.
+     *
+     * @param manager     the task manager used to perform operations
+     * @param gson        the Gson instance used for JSON serialization/deserialization
+     * @param entityPath  the base URI path associated with the entity (e.g., "tasks")
+     * @param cache       the cache of encoded responses, shared with the other handlers
+     */
+    public CrudHandler(TaskManager manager, Gson gson, String entityPath, ResponseCache cache) {
         super(manager, gson);
         this.pattern = Pattern.compile("^/" + entityPath + "(?:/([^/]+))?(?:/([a-z]+))?$");
+        this.cache = cache;
     }
 
     /**
@@ -106,6 +145,193 @@ public abstract class CrudHandler extends BaseHttpHandler {
         return new String(is.readAllBytes(), DEFAULT_CHARSET);
     }
 
+    /**
+     * Sends a whole list of entities, or a single page of it if the request has
+     * a {@code limit} or {@code cursor} query parameter. If the client already holds
+     * the content of the given version, 304 Not Modified is sent instead.
+     *
+     * @param exchange the HTTP exchange object
+     * @param version  the version of the list, read before the list itself
+     * @param all      the source of the whole list, not called for a page
+     * @param page     the source of a page
+     * @throws IOException if an I/O error occurs
+     */
+    protected void sendList(HttpExchange exchange, long version, Supplier<? extends List<?>> all,
+                            PageSource page) throws IOException {
+        Map<String, String> parameters = getQueryParameters(exchange);
+        if (!parameters.containsKey("limit") && !parameters.containsKey("cursor")) {
+            if (!sendNotModifiedIfMatches(exchange, version) && !sendCached(exchange, version)) {
+                sendCachingJsonArray(exchange, version, all.get(), null);
+            }
+            return;
+        }
+        sendPage(exchange, parameters, DEFAULT_PAGE_SIZE, version, page);
+    }
+
+    /**
+     * Sends one page of entities. The page is fetched with one extra entity, which
+     * tells whether another page follows without a further call; if it does, the cursor
+     * pointing after the last sent entity is set in the {@value #NEXT_CURSOR_HEADER} header.
+     * A limit of 0 results in an empty page without a cursor.
+     * An invalid limit or cursor, or one the source rejects, results in 400 Bad Request.
+     * A valid request for content the client already holds results in 304 Not Modified.
+     *
+     * @param exchange     the HTTP exchange object
+     * @param parameters   the query parameters of the request
+     * @param defaultLimit the page size used if the request has no limit
+     * @param version      the version of the list, read before the list itself
+     * @param page         the source of the page
+     * @throws IOException if an I/O error occurs
+     */
+    protected void sendPage(HttpExchange exchange, Map<String, String> parameters,
+                            int defaultLimit, long version, PageSource page) throws IOException {
+        int limit;
+        PageCursor cursor;
+        try {
+            limit = parameters.containsKey("limit")
+                    ? Integer.parseInt(parameters.get("limit"))
+                    : defaultLimit;
+            if (limit < 0) {
+                throw new IllegalArgumentException("Limit must not be negative.");
+            }
+            cursor = parameters.containsKey("cursor")
+                    ? PageCursor.decode(parameters.get("cursor"))
+                    : null;
+        } catch (IllegalArgumentException e) {
+            sendBadRequest(exchange);
+            return;
+        }
+        if (sendNotModifiedIfMatches(exchange, version) || sendCached(exchange, version)) {
+            return;
+        }
+
+        List<? extends Task> tasks;
+        try {
+            tasks = page.fetch(cursor, limit == Integer.MAX_VALUE ? limit : limit + 1);
+        } catch (IllegalArgumentException e) {
+            exchange.getResponseHeaders().remove("ETag");
+            sendBadRequest(exchange);
+            return;
+        }
+        String nextCursor = null;
+        if (tasks.size() > limit) {
+            tasks = tasks.subList(0, limit);
+            if (!tasks.isEmpty()) {
+                nextCursor = PageCursor.of(tasks.getLast()).encode();
+                exchange.getResponseHeaders().add(NEXT_CURSOR_HEADER, nextCursor);
+            }
+        }
+        sendCachingJsonArray(exchange, version, tasks, nextCursor);
+    }
+
+    /**
+     * Sends a single entity, taking its encoded body from the response cache if it was
+     * stored for the given version, and storing it there otherwise.
+     *
+     * @param exchange the HTTP exchange object
+     * @param version  the version of the entity's collection, read before the entity itself
+     * @param entity   the entity to send
+     * @throws IOException if an I/O error occurs
+     */
+    protected void sendEntity(HttpExchange exchange, long version, Object entity)
+            throws IOException {
+        if (sendCached(exchange, version)) {
+            return;
+        }
+        byte[] response = gson.toJson(entity).getBytes(DEFAULT_CHARSET);
+        String contentEncoding = null;
+        if (response.length >= GZIP_THRESHOLD && acceptsGzip(exchange)) {
+            response = gzip(response);
+            contentEncoding = "gzip";
+        }
+        cache.put(cacheKey(exchange), version, response, null, contentEncoding);
+        sendEncoded(exchange, response, contentEncoding);
+    }
+
+    /**
+     * Sends the cached response of the request if one was stored for the given version,
+     * restoring its next page cursor header and content coding.
+     *
+     * @param exchange the HTTP exchange object
+     * @param version  the version of the requested collection
+     * @return true if the cached response was sent
+     * @throws IOException if an I/O error occurs
+     */
+    protected boolean sendCached(HttpExchange exchange, long version) throws IOException {
+        Optional<ResponseCache.CachedResponse> cached = cache.get(cacheKey(exchange), version);
+        if (cached.isEmpty()) {
+            return false;
+        }
+        if (cached.get().nextCursor() != null) {
+            exchange.getResponseHeaders().add(NEXT_CURSOR_HEADER, cached.get().nextCursor());
+        }
+        sendEncoded(exchange, cached.get().body(), cached.get().contentEncoding());
+        return true;
+    }
+
+    /**
+     * Streams the items as a JSON array and keeps a copy of the body, compressed if it was
+     * sent compressed, in the response cache unless the body outgrows the cache.
+     * The copy is stored only once the whole body is sent.
+     *
+     * @param exchange   the HTTP exchange object
+     * @param version    the version of the list, read before the list itself
+     * @param items      the items of the array
+     * @param nextCursor the next page cursor header sent with the items, or null if there is none
+     * @throws IOException if an I/O error occurs
+     */
+    protected void sendCachingJsonArray(HttpExchange exchange, long version, Iterable<?> items,
+                                        String nextCursor) throws IOException {
+        if (!cache.isEnabled()) {
+            sendJsonArray(exchange, items);
+            return;
+        }
+        ResponseCache.Capture capture = cache.capture(exchange.getResponseBody());
+        exchange.setStreams(null, capture);
+        sendJsonArray(exchange, items);
+        String key = cacheKey(exchange);
+        String contentEncoding = exchange.getResponseHeaders().getFirst("Content-Encoding");
+        capture.toByteArray().ifPresent(
+                body -> cache.put(key, version, body, nextCursor, contentEncoding));
+    }
+
+    /**
+     * Returns the key of the request in the response cache: the path followed by the
+     * query parameters that shape the response, in a fixed order. Other parameters are
+     * ignored by every handler, so they do not make a request cached separately.
+     * Clients accepting gzip get their own key, as their response may be compressed.
+     *
+     * @param exchange the HTTP exchange object
+     * @return the path and recognized parameters, marked if the client accepts gzip
+     */
+    private String cacheKey(HttpExchange exchange) {
+        Map<String, String> parameters = getQueryParameters(exchange);
+        StringBuilder key = new StringBuilder(exchange.getRequestURI().getRawPath());
+        char separator = '?';
+        for (String name : CACHE_KEY_PARAMETERS) {
+            String value = parameters.get(name);
+            if (value != null) {
+                key.append(separator).append(name).append('=')
+                        .append(URLEncoder.encode(value, DEFAULT_CHARSET));
+                separator = '&';
+            }
+        }
+        if (acceptsGzip(exchange)) {
+            key.append("#gzip");
+        }
+        return key.toString();
+    }
+
+    /**
+     * Returns the ID a page ordered by ID follows.
+     *
+     * @param cursor the cursor of the page, or null for the first page
+     * @return the ID of the last entity of the previous page, or null for the first page
+     */
+    protected static Integer afterId(PageCursor cursor) {
+        return cursor == null ? null : cursor.id();
+    }
+
     /**
      * Handles a GET request for a single entity by its ID.
      *
@@ -151,4 +377,22 @@ public abstract class CrudHandler extends BaseHttpHandler {
      * @param id       the ID of the entity to delete
      */
     protected abstract void delete(HttpExchange exchange, int id);
+
+    /**
+     * Source of a page of entities.
+     */
+    @FunctionalInterface
+    interface PageSource {
+
+        /**
+         * Fetches the entities following the cursor.
+         *
+         * @param cursor the position the page follows, or null for the first page
+         * @param limit  the maximum number of entities to return
+         * @return the entities of the page in list order
+         * @throws IllegalArgumentException if the limit is negative or the cursor
+         *                                  does not fit the list
+         */
+        List<? extends Task> fetch(PageCursor cursor, int limit);
+    }
 }
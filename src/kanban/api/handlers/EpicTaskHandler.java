@@ -6,6 +6,7 @@ import java.io.IOException;
 import java.util.List;
 import java.util.NoSuchElementException;
 import kanban.managers.ManagerSaveException;
+import kanban.managers.TaskCollection;
 import kanban.managers.TaskManager;
 import kanban.tasks.Epic;
 import kanban.tasks.SubTask;
@@ -14,6 +15,7 @@ import kanban.tasks.SubTask;
  * HTTP handler responsible for processing REST-ful operations for Epic entities.
  * Supports the following HTTP methods:
  * - GET /epics            → returns all epics
+ * - GET /epics?limit={n}&amp;cursor={cursor} → returns a page of epics in order of ID
  * - GET /epics/{id}       → returns a specific epic
  * - GET /epics/{id}/subtasks → returns all subtasks of a specific epic
  * - POST /epics           → creates a new epic
@@ -32,6 +34,17 @@ public class EpicTaskHandler extends CrudHandler {
         super(manager, gson, "epics");
     }
 
+    /**
+     * Constructs an EpicTaskHandler that keeps encoded responses in a cache.
+     *
+     * @param manager the task manager instance
+     * @param gson    the Gson instance for JSON serialization
+     * @param cache   the cache of encoded responses, shared with the other handlers
+     */
+    public EpicTaskHandler(TaskManager manager, Gson gson, ResponseCache cache) {
+        super(manager, gson, "epics", cache);
+    }
+
     /**
      * Handles GET requests for a specific epic by ID. If the URI ends with "/subtasks",
      * returns the list of subtasks for that epic instead.
@@ -42,11 +55,11 @@ public class EpicTaskHandler extends CrudHandler {
     @Override
     protected void getById(HttpExchange exchange, int id) {
         try {
+            long version = manager.getVersion(TaskCollection.EPICS);
             Epic epic = manager.getEpicById(id)
                     .orElseThrow(() -> new NoSuchElementException("Epic with ID "
                             + id + " not found."));
-            String response = gson.toJson(epic);
-            sendText(exchange, response);
+            sendEntity(exchange, version, epic);
         } catch (IOException | ManagerSaveException e) {
             sendServerError(exchange);
         } catch (IllegalArgumentException | NoSuchElementException e) {
@@ -62,8 +75,9 @@ public class EpicTaskHandler extends CrudHandler {
     @Override
     protected void getAll(HttpExchange exchange) {
         try {
-            String response = gson.toJson(manager.getEpicList());
-            sendText(exchange, response);
+            long version = manager.getVersion(TaskCollection.EPICS);
+            sendList(exchange, version, manager::getEpicList,
+                    (cursor, limit) -> manager.getEpicPage(afterId(cursor), limit));
         } catch (IOException e) {
             sendServerError(exchange);
         }
@@ -82,13 +96,18 @@ public class EpicTaskHandler extends CrudHandler {
     protected void getAllLinked(HttpExchange exchange, int id, String linkedType) {
         if (linkedType.equals("subtasks")) {
             try {
+                // Retrieving the epic changes only the history, not the version of its subtasks
+                long version = Math.max(manager.getVersion(TaskCollection.EPICS),
+                        manager.getVersion(TaskCollection.SUBTASKS));
                 Epic epic = manager.getEpicById(id)
                         .orElseThrow(() -> new NoSuchElementException("Epic with ID "
                                 + id + " not found."));
+                if (sendNotModifiedIfMatches(exchange, version)) {
+                    return;
+                }
                 List<SubTask> subtasks = manager.getEpicSubTaskList(epic.getId())
                         .orElse(List.of());
-                String response = gson.toJson(subtasks);
-                sendText(exchange, response);
+                sendJsonArray(exchange, subtasks);
             } catch (NoSuchElementException e) {
                 sendNotFound(exchange, e.getMessage());
             } catch (IOException e) {
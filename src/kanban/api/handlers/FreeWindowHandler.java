@@ -0,0 +1,117 @@
+package kanban.api.handlers;
+
+import com.google.gson.Gson;
+import com.sun.net.httpserver.HttpExchange;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.Optional;
+import kanban.managers.TaskManager;
+
+/**
+ * HTTP handler responsible for finding the earliest free window in the schedule.
+ * Supports:
+ * - GET /free-window?from={dateTime}&amp;duration={duration}[&amp;deadline={dateTime}]
+ *   → returns the earliest window of the given duration that starts at or after
+ *   {@code from} and ends no later than {@code deadline}
+ * Date-times use ISO-8601 local format (e.g. 2025-02-07T10:00), durations use
+ * ISO-8601 duration format (e.g. PT30M).
+ * Returns 404 Not Found if no window fits before the deadline.
+ * All other requests (e.g., POST, DELETE, /free-window/{id}) will result in 400 Bad Request.
+ */
+public class FreeWindowHandler extends CrudHandler {
+
+    public FreeWindowHandler(TaskManager manager, Gson gson) {
+        super(manager, gson, "free-window");
+    }
+
+    @Override
+    protected void getAll(HttpExchange exchange) {
+        try {
+            Map<String, String> parameters = getQueryParameters(exchange);
+            if (!parameters.containsKey("from") || !parameters.containsKey("duration")) {
+                sendBadRequest(exchange);
+                return;
+            }
+
+            LocalDateTime from;
+            Duration duration;
+            LocalDateTime deadline;
+            try {
+                from = LocalDateTime.parse(parameters.get("from"));
+                duration = Duration.parse(parameters.get("duration"));
+                deadline = parameters.containsKey("deadline")
+                        ? LocalDateTime.parse(parameters.get("deadline"))
+                        : LocalDateTime.MAX;
+            } catch (DateTimeParseException e) {
+                sendBadRequest(exchange);
+                return;
+            }
+            if (duration.isZero() || duration.isNegative()) {
+                sendBadRequest(exchange);
+                return;
+            }
+
+            Optional<LocalDateTime> start = manager.findFreeWindow(from, duration, deadline);
+            if (start.isPresent()) {
+                FreeWindow window = new FreeWindow(start.get(),
+                        start.get().plus(duration), duration);
+                sendText(exchange, gson.toJson(window));
+            } else {
+                sendNotFound(exchange, "No free window found.");
+            }
+        } catch (IOException e) {
+            sendServerError(exchange);
+        }
+    }
+
+    @Override
+    protected void getById(HttpExchange exchange, int id) {
+        sendBadRequestSilently(exchange);
+    }
+
+    @Override
+    protected void create(HttpExchange exchange) {
+        sendBadRequestSilently(exchange);
+    }
+
+    @Override
+    protected void update(HttpExchange exchange, int id) {
+        sendBadRequestSilently(exchange);
+    }
+
+    @Override
+    protected void delete(HttpExchange exchange, int id) {
+        sendBadRequestSilently(exchange);
+    }
+
+    @Override
+    protected void getAllLinked(HttpExchange exchange, int id, String linkedType) {
+        sendBadRequestSilently(exchange);
+    }
+
+    /**
+     * Sends a 400 Bad Request without propagating IOException.
+     *
+     * @param exchange the HTTP exchange object
+     */
+    private void sendBadRequestSilently(HttpExchange exchange) {
+        try {
+            sendBadRequest(exchange);
+        } catch (IOException e) {
+            sendServerError(exchange);
+        }
+    }
+
+    /**
+     * Internal record class describing a free window returned to the client.
+     *
+     * @param startTime the start time of the window
+     * @param endTime   the end time of the window
+     * @param duration  the duration of the window
+     */
+    private record FreeWindow(LocalDateTime startTime, LocalDateTime endTime, Duration duration) {
+    }
+}
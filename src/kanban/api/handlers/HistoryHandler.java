@@ -3,12 +3,14 @@ package kanban.api.handlers;
 import com.google.gson.Gson;
 import com.sun.net.httpserver.HttpExchange;
 import java.io.IOException;
+import kanban.managers.TaskCollection;
 import kanban.managers.TaskManager;
 
 /**
  * HTTP handler responsible for exposing the history of accessed tasks.
  * Supports:
  * - GET /history → returns the history of accessed tasks
+ * - GET /history?limit={n}&amp;cursor={cursor} → returns a page of the history
  * All other requests (e.g., POST, DELETE, /history/{id}) will result in 400 Bad Request.
  */
 public class HistoryHandler extends CrudHandler {
@@ -20,8 +22,9 @@ public class HistoryHandler extends CrudHandler {
     @Override
     protected void getAll(HttpExchange exchange) {
         try {
-            String response = gson.toJson(manager.getHistoryTask());
-            sendText(exchange, response);
+            long version = manager.getVersion(TaskCollection.HISTORY);
+            sendList(exchange, version, manager::getHistoryTask,
+                    (cursor, limit) -> manager.getHistoryPage(afterId(cursor), limit));
         } catch (IOException e) {
             sendServerError(exchange);
         }
@@ -0,0 +1,64 @@
+package kanban.api.handlers;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import kanban.tasks.Task;
+
+/**
+ * Position in a paged list, sent to clients as an opaque cursor.
+ * The cursor holds the ID and the start time of the last entity of a page:
+ * lists ordered by ID continue after the ID, the prioritized list continues
+ * after the pair (start time, ID). The text form is URL-safe Base64, so clients
+ * pass it back unchanged and do not depend on its content.
+ *
+ * @param id        the ID of the last entity of the page
+ * @param startTime the start time of the last entity of the page, or null if it has none
+ */
+record PageCursor(int id, LocalDateTime startTime) {
+
+    private static final char SEPARATOR = '@';
+
+    /**
+     * Creates the cursor pointing right after the given entity.
+     *
+     * @param task the last entity of a page
+     * @return the cursor of the next page
+     */
+    static PageCursor of(Task task) {
+        return new PageCursor(task.getId(), task.getStartTime());
+    }
+
+    /**
+     * Parses a cursor received from a client.
+     *
+     * @param text the cursor text
+     * @return the decoded cursor
+     * @throws IllegalArgumentException if the text is not a cursor
+     */
+    static PageCursor decode(String text) {
+        String value = new String(Base64.getUrlDecoder().decode(text), StandardCharsets.UTF_8);
+        int separator = value.indexOf(SEPARATOR);
+        try {
+            if (separator < 0) {
+                return new PageCursor(Integer.parseInt(value), null);
+            }
+            return new PageCursor(Integer.parseInt(value.substring(0, separator)),
+                    LocalDateTime.parse(value.substring(separator + 1)));
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + text, e);
+        }
+    }
+
+    /**
+     * Returns the text form of this cursor.
+     *
+     * @return the URL-safe Base64 text of the cursor
+     */
+    String encode() {
+        String value = startTime == null ? String.valueOf(id) : "" + id + SEPARATOR + startTime;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
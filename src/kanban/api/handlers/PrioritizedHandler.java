@@ -3,12 +3,20 @@ package kanban.api.handlers;
 import com.google.gson.Gson;
 import com.sun.net.httpserver.HttpExchange;
 import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import kanban.managers.TaskCollection;
 import kanban.managers.TaskManager;
 
 /**
  * HTTP handler responsible for exposing the prioritized list of all tasks.
  * Supports:
  * - GET /prioritized → returns the prioritized task list
+ * - GET /prioritized?from={dateTime}&amp;to={dateTime}&amp;limit={n} → returns the prioritized
+ *   tasks starting within [from, to), at most {@code limit} of them; every parameter is optional
+ * - GET /prioritized?cursor={cursor}&amp;to={dateTime}&amp;limit={n} → returns the next page
+ *   of the window; the cursor is taken from the {@code X-Next-Cursor} header of the previous page
  * All other requests (e.g., POST, DELETE, /prioritized/{id}) will result in 400 Bad Request.
  */
 public class PrioritizedHandler extends CrudHandler {
@@ -17,11 +25,51 @@ public class PrioritizedHandler extends CrudHandler {
         super(manager, gson, "prioritized");
     }
 
+    /**
+     * Constructs a PrioritizedHandler that keeps encoded responses in a cache.
+     *
+     * @param manager the task manager instance
+     * @param gson    the Gson instance for JSON serialization
+     * @param cache   the cache of encoded responses, shared with the other handlers
+     */
+    public PrioritizedHandler(TaskManager manager, Gson gson, ResponseCache cache) {
+        super(manager, gson, "prioritized", cache);
+    }
+
     @Override
     protected void getAll(HttpExchange exchange) {
         try {
-            String response = gson.toJson(manager.getPrioritizedTasks());
-            sendText(exchange, response);
+            long version = manager.getVersion(TaskCollection.PRIORITIZED);
+            Map<String, String> parameters = getQueryParameters(exchange);
+            if (parameters.isEmpty()) {
+                if (!sendNotModifiedIfMatches(exchange, version)
+                        && !sendCached(exchange, version)) {
+                    sendCachingJsonArray(exchange, version, manager.getPrioritizedTasks(), null);
+                }
+                return;
+            }
+            LocalDateTime from;
+            LocalDateTime to;
+            try {
+                from = parameters.containsKey("from")
+                        ? LocalDateTime.parse(parameters.get("from"))
+                        : LocalDateTime.MIN;
+                to = parameters.containsKey("to")
+                        ? LocalDateTime.parse(parameters.get("to"))
+                        : LocalDateTime.MAX;
+            } catch (DateTimeParseException e) {
+                sendBadRequest(exchange);
+                return;
+            }
+            sendPage(exchange, parameters, Integer.MAX_VALUE, version, (cursor, limit) -> {
+                if (cursor == null) {
+                    return manager.getPrioritizedTasks(from, to, limit);
+                }
+                if (cursor.startTime() == null) {
+                    throw new IllegalArgumentException("Cursor has no start time.");
+                }
+                return manager.getPrioritizedTasksAfter(cursor.startTime(), cursor.id(), to, limit);
+            });
         } catch (IOException e) {
             sendServerError(exchange);
         }
@@ -0,0 +1,252 @@
+package kanban.api.handlers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Size-bounded cache of encoded response bodies, shared by the handlers of a server.
+ * A body is stored under a key of the request together with the version of the manager
+ * collection it was read from. Every mutation of a collection raises its version,
+ * so a lookup with the current version never returns a body of an older state;
+ * an outdated body is dropped when it is next looked up or evicted.
+ * Every entry is charged for its body, its key and a fixed overhead, so many small
+ * entries cannot outgrow the budget either. When the total size of the entries exceeds
+ * the budget, the least recently used ones are evicted. Compressed and uncompressed
+ * bodies of the same request are kept side by side under separate keys.
+ * The cache is safe for use by several threads.
+ */
+public final class ResponseCache {
+
+    /**
+     * Size charged for every entry on top of its body and key, an estimate of the map
+     * entry, the cached response and the array headers.
+     */
+    public static final int ENTRY_OVERHEAD = 128;
+
+    private final long maxBytes;
+    private final LinkedHashMap<String, CachedResponse> responses;
+    private long byteSize;
+
+    /**
+     * Constructs an empty cache.
+     *
+     * @param maxBytes the total size of the cached entries, 0 to cache nothing
+     * @throws IllegalArgumentException if maxBytes is negative
+     */
+    public ResponseCache(long maxBytes) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("Cache size must not be negative.");
+        }
+        this.maxBytes = maxBytes;
+        this.responses = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Returns a cache that stores nothing.
+     *
+     * @return a disabled cache
+     */
+    public static ResponseCache disabled() {
+        return new ResponseCache(0);
+    }
+
+    /**
+     * Checks whether the cache can store any body.
+     *
+     * @return true if the size budget is positive
+     */
+    public boolean isEnabled() {
+        return maxBytes > 0;
+    }
+
+    /**
+     * Returns the cached response of a request if it was stored for the given version.
+     * A response stored for another version is removed.
+     *
+     * @param key     the key of the request
+     * @param version the current version of the collection the response is read from
+     * @return the cached response, or empty if there is none for the version
+     */
+    public synchronized Optional<CachedResponse> get(String key, long version) {
+        CachedResponse response = responses.get(key);
+        if (response == null) {
+            return Optional.empty();
+        }
+        if (response.version() != version) {
+            remove(key);
+            return Optional.empty();
+        }
+        return Optional.of(response);
+    }
+
+    /**
+     * Stores an unencoded response of a request, see
+     * {@link #put(String, long, byte[], String, String)}.
+     *
+     * @param key        the key of the request
+     * @param version    the version of the collection read before the body was built
+     * @param body       the encoded body; it must not be modified afterwards
+     * @param nextCursor the value of the next page cursor header, or null if there is none
+     */
+    public void put(String key, long version, byte[] body, String nextCursor) {
+        put(key, version, body, nextCursor, null);
+    }
+
+    /**
+     * Stores the response of a request, replacing an earlier one, and evicts the least
+     * recently used responses until the cache fits its budget.
+     * A response whose size, see {@link #sizeOf(String, int)}, exceeds the whole budget
+     * is not stored.
+     *
+     * @param key             the key of the request, including the accepted content coding
+     *                        if the body depends on it
+     * @param version         the version of the collection read before the body was built
+     * @param body            the encoded body; it must not be modified afterwards
+     * @param nextCursor      the value of the next page cursor header, or null if there is none
+     * @param contentEncoding the content coding of the body, or null if it is not compressed
+     */
+    public synchronized void put(String key, long version, byte[] body, String nextCursor,
+                                 String contentEncoding) {
+        remove(key);
+        long size = sizeOf(key, body.length);
+        if (!isEnabled() || size > maxBytes) {
+            return;
+        }
+        responses.put(key, new CachedResponse(version, body, nextCursor, contentEncoding));
+        byteSize += size;
+        Iterator<Map.Entry<String, CachedResponse>> eldest = responses.entrySet().iterator();
+        while (byteSize > maxBytes) {
+            Map.Entry<String, CachedResponse> entry = eldest.next();
+            byteSize -= sizeOf(entry.getKey(), entry.getValue().body().length);
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Returns the number of cached responses.
+     *
+     * @return the number of responses
+     */
+    public synchronized int size() {
+        return responses.size();
+    }
+
+    /**
+     * Returns the total size of the cached entries.
+     *
+     * @return the size in bytes, never above the budget
+     */
+    public synchronized long getByteSize() {
+        return byteSize;
+    }
+
+    /**
+     * Wraps a response body so that everything written to it is also captured,
+     * up to the size budget of this cache.
+     *
+     * @param out the response body
+     * @return the capturing stream
+     */
+    Capture capture(OutputStream out) {
+        return new Capture(out, maxBytes);
+    }
+
+    /**
+     * Returns the size charged for an entry: its body, its key at two bytes per character
+     * and {@value #ENTRY_OVERHEAD} bytes of overhead.
+     *
+     * @param key        the key of the entry
+     * @param bodyLength the length of the body
+     * @return the size in bytes
+     */
+    public static long sizeOf(String key, int bodyLength) {
+        return bodyLength + 2L * key.length() + ENTRY_OVERHEAD;
+    }
+
+    /**
+     * Removes the response of a request and releases its size.
+     *
+     * @param key the key of the request
+     */
+    private void remove(String key) {
+        CachedResponse removed = responses.remove(key);
+        if (removed != null) {
+            byteSize -= sizeOf(key, removed.body().length);
+        }
+    }
+
+    /**
+     * A cached response.
+     *
+     * @param version    the collection version the body was built for
+     * @param body       the encoded body
+     * @param nextCursor the value of the next page cursor header, or null if there is none
+     * @param contentEncoding the content coding of the body, or null if it is not compressed
+     */
+    public record CachedResponse(long version, byte[] body, String nextCursor,
+                                 String contentEncoding) {
+    }
+
+    /**
+     * Output stream that passes everything through to a response body and keeps a copy.
+     * The copy is given up once it grows over the limit, so a response too large to be
+     * cached is still sent in full without being held in memory.
+     */
+    static final class Capture extends FilterOutputStream {
+
+        private final long limit;
+        private ByteArrayOutputStream copy;
+
+        /**
+         * Constructs a capturing stream.
+         *
+         * @param out   the response body
+         * @param limit the maximum size of the copy
+         */
+        private Capture(OutputStream out, long limit) {
+            super(out);
+            this.limit = limit;
+            this.copy = new ByteArrayOutputStream();
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            keep(1).ifPresent(c -> c.write(b));
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            keep(len).ifPresent(c -> c.write(b, off, len));
+        }
+
+        /**
+         * Returns the captured bytes.
+         *
+         * @return the bytes written so far, or empty if they exceeded the limit
+         */
+        Optional<byte[]> toByteArray() {
+            return Optional.ofNullable(copy).map(ByteArrayOutputStream::toByteArray);
+        }
+
+        /**
+         * Returns the copy if it can take more bytes, dropping it otherwise.
+         *
+         * @param length the number of bytes to be added
+         * @return the copy, or empty if it has been given up
+         */
+        private Optional<ByteArrayOutputStream> keep(int length) {
+            if (copy != null && copy.size() + (long) length > limit) {
+                copy = null;
+            }
+            return Optional.ofNullable(copy);
+        }
+    }
+}
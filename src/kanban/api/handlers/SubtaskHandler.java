@@ -5,6 +5,7 @@ import com.sun.net.httpserver.HttpExchange;
 import java.io.IOException;
 import java.util.NoSuchElementException;
 import kanban.managers.ManagerSaveException;
+import kanban.managers.TaskCollection;
 import kanban.managers.TaskManager;
 import kanban.managers.TaskTimeOverlapException;
 import kanban.tasks.SubTask;
@@ -13,6 +14,7 @@ import kanban.tasks.SubTask;
  * HTTP handler responsible for processing REST-ful operations for SubTask entities.
  * Supported HTTP endpoints:
  * - GET     /subtasks           → returns all subtasks
+ * - GET     /subtasks?limit={n}&amp;cursor={cursor} → returns a page of subtasks in order of ID
  * - GET     /subtasks/{id}      → returns a specific subtask by ID
  * - POST    /subtasks           → creates a new subtask
  * - POST    /subtasks/{id}      → updates an existing subtask
@@ -32,14 +34,25 @@ public class SubtaskHandler extends CrudHandler {
         super(manager, gson, "subtasks");
     }
 
+    /**
+     * Constructs a SubtaskHandler that keeps encoded responses in a cache.
+     *
+     * @param manager the task manager instance
+     * @param gson    the Gson instance for JSON serialization
+     * @param cache   the cache of encoded responses, shared with the other handlers
+     */
+    public SubtaskHandler(TaskManager manager, Gson gson, ResponseCache cache) {
+        super(manager, gson, "subtasks", cache);
+    }
+
     @Override
     protected void getById(HttpExchange exchange, int id) {
         try {
+            long version = manager.getVersion(TaskCollection.SUBTASKS);
             SubTask subtask = manager.getSubTaskById(id)
                     .orElseThrow(() -> new NoSuchElementException("Subtask with ID "
                             + id + " not found."));
-            String response = gson.toJson(subtask);
-            sendText(exchange, response);
+            sendEntity(exchange, version, subtask);
         } catch (NoSuchElementException e) {
             sendNotFound(exchange, e.getMessage());
         } catch (IOException | ManagerSaveException e) {
@@ -50,8 +63,9 @@ public class SubtaskHandler extends CrudHandler {
     @Override
     protected void getAll(HttpExchange exchange) {
         try {
-            String response = gson.toJson(manager.getSubList());
-            sendText(exchange, response);
+            long version = manager.getVersion(TaskCollection.SUBTASKS);
+            sendList(exchange, version, manager::getSubList,
+                    (cursor, limit) -> manager.getSubPage(afterId(cursor), limit));
         } catch (IOException e) {
             sendServerError(exchange);
         }
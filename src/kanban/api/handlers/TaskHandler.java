@@ -5,6 +5,7 @@ import com.sun.net.httpserver.HttpExchange;
 import java.io.IOException;
 import java.util.NoSuchElementException;
 import kanban.managers.ManagerSaveException;
+import kanban.managers.TaskCollection;
 import kanban.managers.TaskManager;
 import kanban.managers.TaskTimeOverlapException;
 import kanban.tasks.Task;
@@ -13,6 +14,7 @@ import kanban.tasks.Task;
  * HTTP handler responsible for processing REST-ful operations for Task entities.
  * Supported HTTP endpoints:
  * - GET     /tasks           → returns all tasks
+ * - GET     /tasks?limit={n}&amp;cursor={cursor} → returns a page of tasks in order of ID
  * - GET     /tasks/{id}      → returns a specific task by ID
  * - POST    /tasks           → creates a new task
  * - POST    /tasks/{id}      → updates an existing task
@@ -32,14 +34,25 @@ public class TaskHandler extends CrudHandler {
         super(manager, gson, "tasks");
     }
 
+    /**
+     * Constructs a TaskHandler that keeps encoded responses in a cache.
+     *
+     * @param manager the task manager instance
+     * @param gson    the Gson instance for JSON serialization
+     * @param cache   the cache of encoded responses, shared with the other handlers
+     */
+    public TaskHandler(TaskManager manager, Gson gson, ResponseCache cache) {
+        super(manager, gson, "tasks", cache);
+    }
+
     @Override
     protected void getById(HttpExchange exchange, int id) {
         try {
+            long version = manager.getVersion(TaskCollection.TASKS);
             Task task = manager.getTaskById(id)
                     .orElseThrow(() -> new NoSuchElementException("Task with ID "
                             + id + " not found."));
-            String response = gson.toJson(task);
-            sendText(exchange, response);
+            sendEntity(exchange, version, task);
         } catch (NoSuchElementException e) {
             sendNotFound(exchange, e.getMessage());
         } catch (IOException | ManagerSaveException e) {
@@ -50,8 +63,9 @@ public class TaskHandler extends CrudHandler {
     @Override
     protected void getAll(HttpExchange exchange) {
         try {
-            String response = gson.toJson(manager.getTaskList());
-            sendText(exchange, response);
+            long version = manager.getVersion(TaskCollection.TASKS);
+            sendList(exchange, version, manager::getTaskList,
+                    (cursor, limit) -> manager.getTaskPage(afterId(cursor), limit));
         } catch (IOException e) {
             sendServerError(exchange);
         }
@@ -6,16 +6,26 @@ import static kanban.http.endpoints.Endpoints.POST;
 import static kanban.http.endpoints.Endpoints.UNKNOWN;
 
 import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.net.URLDecoder;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.logging.ConsoleHandler;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.logging.SimpleFormatter;
+import java.util.zip.GZIPOutputStream;
 import kanban.http.endpoints.Endpoints;
 import kanban.managers.TaskManager;
 
@@ -31,6 +41,24 @@ public class BaseHttpHandler implements HttpHandler {
      */
     protected static final Charset DEFAULT_CHARSET = StandardCharsets.UTF_8;
 
+    /**
+     * Size of the buffer between a streamed JSON response and the response body.
+     */
+    private static final int STREAM_BUFFER_SIZE = 8192;
+
+    /**
+     * Size from which a response body is compressed with gzip if the client accepts it.
+     * Shorter bodies fit in a few packets, where compression saves too little to pay
+     * for its time and the gzip framing.
+     */
+    protected static final int GZIP_THRESHOLD = 1024;
+
+    /**
+     * Start time of this process, part of every entity tag, so that versions counted
+     * by a restarted server never match tags cached from an earlier run.
+     */
+    private static final String ETAG_EPOCH = Long.toString(System.currentTimeMillis(), 36);
+
     /**
      * The task manager instance used for processing business logic.
      */
@@ -41,6 +69,11 @@ public class BaseHttpHandler implements HttpHandler {
      */
     protected final Gson gson;
 
+    /**
+     * Prefix of the entity tags sent by this handler, unique to the process and the manager.
+     */
+    private final String etagPrefix;
+
     /**
      * Logger instance for logging handler activity.
      */
@@ -59,6 +92,7 @@ public class BaseHttpHandler implements HttpHandler {
     public BaseHttpHandler(TaskManager manager, Gson gson) {
         this.manager = manager;
         this.gson = gson;
+        this.etagPrefix = ETAG_EPOCH + "-" + Integer.toString(System.identityHashCode(manager), 36);
     }
 
     /**
@@ -80,12 +114,122 @@ public class BaseHttpHandler implements HttpHandler {
      * @throws IOException if an I/O error occurs
      */
     protected void sendText(HttpExchange h, String text) throws IOException {
-        byte[] response = text.getBytes(DEFAULT_CHARSET);
+        sendJson(h, text.getBytes(DEFAULT_CHARSET));
+    }
+
+    /**
+     * Sends a 200 OK response with an already encoded JSON body, compressed with gzip
+     * if the client accepts it and the body is at least {@value #GZIP_THRESHOLD} bytes long.
+     *
+     * @param h the HttpExchange
+     * @param response the UTF-8 encoded response body
+     * @throws IOException if an I/O error occurs
+     */
+    protected void sendJson(HttpExchange h, byte[] response) throws IOException {
+        sendNegotiated(h, 200, response);
+    }
+
+    /**
+     * Sends a 200 OK response with a JSON body that is already in the given content coding,
+     * such as a body compressed for an earlier response.
+     *
+     * @param h the HttpExchange
+     * @param body the response body
+     * @param contentEncoding the content coding of the body, or null if it is not encoded
+     * @throws IOException if an I/O error occurs
+     */
+    protected void sendEncoded(HttpExchange h, byte[] body, String contentEncoding)
+            throws IOException {
+        sendEncoded(h, 200, body, contentEncoding);
+    }
+
+    /**
+     * Sends a 200 OK response with the given items as a JSON array. Every item is serialized
+     * straight onto the response body through a {@link JsonWriter}, so the array is never
+     * built as a whole string or byte array. A body shorter than {@value #GZIP_THRESHOLD}
+     * bytes is sent with its length; a longer one is streamed with chunked transfer encoding
+     * and compressed with gzip on the fly if the client accepts it, so the first bytes
+     * are sent before the last item is serialized.
+     * The decoded body is the same as that of {@code sendText(h, gson.toJson(items))}.
+     * Once the headers are sent, a failure can only abort the response.
+     *
+     * @param h the HttpExchange
+     * @param items the items of the array
+     * @throws IOException if an I/O error occurs
+     */
+    protected void sendJsonArray(HttpExchange h, Iterable<?> items) throws IOException {
         h.getResponseHeaders().add("Content-Type", "application/json;charset=utf-8");
-        try (OutputStream os = h.getResponseBody()) {
-            h.sendResponseHeaders(200, response.length);
-            os.write(response);
+        h.getResponseHeaders().set("Vary", "Accept-Encoding");
+        OutputStreamWriter body = new OutputStreamWriter(
+                new ResponseBodyStream(h, 200, acceptsGzip(h), GZIP_THRESHOLD), DEFAULT_CHARSET);
+        try (JsonWriter writer = gson.newJsonWriter(new BufferedWriter(body, STREAM_BUFFER_SIZE))) {
+            writer.beginArray();
+            for (Object item : items) {
+                if (item == null) {
+                    writer.nullValue();
+                } else {
+                    gson.toJson(item, item.getClass(), writer);
+                }
+            }
+            writer.endArray();
+        }
+    }
+
+    /**
+     * Checks whether the client accepts gzip-encoded responses, i.e. whether its
+     * {@code Accept-Encoding} header lists {@code gzip}, {@code x-gzip} or {@code *}
+     * with a non-zero quality.
+     *
+     * @param h the HttpExchange
+     * @return true if the response may be compressed with gzip
+     */
+    protected boolean acceptsGzip(HttpExchange h) {
+        List<String> values = h.getRequestHeaders().get("Accept-Encoding");
+        if (values == null) {
+            return false;
+        }
+        double gzipQuality = -1;
+        double anyQuality = 0;
+        for (String value : values) {
+            for (String coding : value.split(",")) {
+                String[] parts = coding.split(";");
+                String name = parts[0].trim().toLowerCase(Locale.ROOT);
+                double quality = parseQuality(parts);
+                if (name.equals("gzip") || name.equals("x-gzip")) {
+                    gzipQuality = Math.max(gzipQuality, quality);
+                } else if (name.equals("*")) {
+                    anyQuality = quality;
+                }
+            }
+        }
+        return gzipQuality < 0 ? anyQuality > 0 : gzipQuality > 0;
+    }
+
+    /**
+     * Answers a conditional GET for a resource with the given version.
+     * If the {@code If-None-Match} header of the request holds the entity tag
+     * of the version, a 304 Not Modified response without a body is sent and nothing
+     * needs to be serialized. Otherwise the entity tag is set on the response,
+     * which the caller then sends as usual.
+     * Clients accepting gzip get a tag of their own, as their response may be compressed.
+     * Read the version before the content, so the tag is never newer than the content.
+     *
+     * @param h the HttpExchange
+     * @param version the version of the requested resource
+     * @return true if the 304 response was sent, false if the content must be sent
+     * @throws IOException if an I/O error occurs
+     */
+    protected boolean sendNotModifiedIfMatches(HttpExchange h, long version) throws IOException {
+        String etag = "\"" + etagPrefix + "-" + Long.toString(version, 36)
+                + (acceptsGzip(h) ? "-gzip\"" : "\"");
+        h.getResponseHeaders().set("ETag", etag);
+        h.getResponseHeaders().set("Vary", "Accept-Encoding");
+        if (!matchesEntityTag(h.getRequestHeaders().get("If-None-Match"), etag)) {
+            return false;
         }
+        h.sendResponseHeaders(304, -1);
+        h.close();
+        return true;
     }
 
     /**
@@ -104,19 +248,15 @@ public class BaseHttpHandler implements HttpHandler {
     }
 
     /**
-     * Sends a 201 Created response with a JSON text body.
+     * Sends a 201 Created response with a JSON text body, compressed with gzip
+     * on the same terms as {@link #sendJson(HttpExchange, byte[])}.
      *
      * @param h the HttpExchange
      * @param text the response body text
      * @throws IOException if an I/O error occurs
      */
     protected void sendModified(HttpExchange h, String text) throws IOException {
-        byte[] response = text.getBytes(DEFAULT_CHARSET);
-        h.getResponseHeaders().add("Content-Type", "application/json;charset=utf-8");
-        h.sendResponseHeaders(201, response.length);
-        try (OutputStream os = h.getResponseBody()) {
-            os.write(response);
-        }
+        sendNegotiated(h, 201, text.getBytes(DEFAULT_CHARSET));
     }
 
     /**
@@ -197,6 +337,132 @@ public class BaseHttpHandler implements HttpHandler {
         };
     }
 
+    /**
+     * Parses the query string of the request URI into a map of parameter names to values.
+     * Names and values are URL-decoded; for repeated parameters the last value wins.
+     *
+     * @param h the HttpExchange
+     * @return a map of query parameters, empty if the URI has no query
+     */
+    protected Map<String, String> getQueryParameters(HttpExchange h) {
+        Map<String, String> parameters = new HashMap<>();
+        String query = h.getRequestURI().getRawQuery();
+        if (query == null || query.isEmpty()) {
+            return parameters;
+        }
+        for (String pair : query.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int separator = pair.indexOf('=');
+            String name = separator < 0 ? pair : pair.substring(0, separator);
+            String value = separator < 0 ? "" : pair.substring(separator + 1);
+            parameters.put(URLDecoder.decode(name, DEFAULT_CHARSET),
+                    URLDecoder.decode(value, DEFAULT_CHARSET));
+        }
+        return parameters;
+    }
+
+    /**
+     * Sends a JSON body, compressed with gzip if the client accepts it and the body
+     * is at least {@value #GZIP_THRESHOLD} bytes long.
+     *
+     * @param h the HttpExchange
+     * @param code the response status code
+     * @param response the UTF-8 encoded response body
+     * @throws IOException if an I/O error occurs
+     */
+    private void sendNegotiated(HttpExchange h, int code, byte[] response) throws IOException {
+        if (response.length >= GZIP_THRESHOLD && acceptsGzip(h)) {
+            sendEncoded(h, code, gzip(response), "gzip");
+        } else {
+            sendEncoded(h, code, response, null);
+        }
+    }
+
+    /**
+     * Sends a JSON body that is already in the given content coding.
+     *
+     * @param h the HttpExchange
+     * @param code the response status code
+     * @param body the response body
+     * @param contentEncoding the content coding of the body, or null if it is not encoded
+     * @throws IOException if an I/O error occurs
+     */
+    private void sendEncoded(HttpExchange h, int code, byte[] body, String contentEncoding)
+            throws IOException {
+        h.getResponseHeaders().add("Content-Type", "application/json;charset=utf-8");
+        h.getResponseHeaders().set("Vary", "Accept-Encoding");
+        if (contentEncoding != null) {
+            h.getResponseHeaders().set("Content-Encoding", contentEncoding);
+        }
+        try (OutputStream os = h.getResponseBody()) {
+            h.sendResponseHeaders(code, body.length);
+            os.write(body);
+        }
+    }
+
+    /**
+     * Compresses a response body with gzip.
+     *
+     * @param body the body to compress
+     * @return the compressed body
+     * @throws IOException if an I/O error occurs
+     */
+    protected static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body);
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * Reads the quality of a content coding from its parameters.
+     *
+     * @param parts the content coding followed by its parameters
+     * @return the value of the {@code q} parameter, 1 if it is missing, 0 if it is malformed
+     */
+    private static double parseQuality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.startsWith("q=") || parameter.startsWith("Q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * Checks whether an {@code If-None-Match} header matches the given entity tag.
+     * The header may list several tags, weak ones included, or be {@code *}.
+     *
+     * @param values the values of the header, or null if it is missing
+     * @param etag the current entity tag
+     * @return true if one of the listed tags is the current one
+     */
+    private static boolean matchesEntityTag(List<String> values, String etag) {
+        if (values == null) {
+            return false;
+        }
+        for (String value : values) {
+            for (String tag : value.split(",")) {
+                String trimmed = tag.trim();
+                if (trimmed.startsWith("W/")) {
+                    trimmed = trimmed.substring(2);
+                }
+                if (trimmed.equals("*") || trimmed.equals(etag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     /**
      * Configures the logger to write to the console with all log levels.
      */
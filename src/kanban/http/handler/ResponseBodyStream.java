@@ -0,0 +1,106 @@
+package kanban.http.handler;
+
+import com.sun.net.httpserver.HttpExchange;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Response body of unknown length that decides how it is sent once its size is known.
+ * Written bytes are held back until they reach the threshold: a body that ends earlier
+ * is sent as is with a {@code Content-Length}, while a longer one is streamed with
+ * chunked transfer encoding, compressed with gzip if the client accepts it.
+ * The response headers are sent by this stream, so they must be complete before
+ * the first write.
+ */
+final class ResponseBodyStream extends OutputStream {
+
+    private static final int GZIP_BUFFER_SIZE = 8192;
+
+    private final HttpExchange exchange;
+    private final int code;
+    private final boolean isGzipAccepted;
+    private final int threshold;
+    private ByteArrayOutputStream pending;
+    private OutputStream out;
+
+    /**
+     * Constructs a body stream of a response whose headers are not sent yet.
+     *
+     * @param exchange       the HTTP exchange
+     * @param code           the response status code
+     * @param isGzipAccepted true if the client accepts a gzip-encoded body
+     * @param threshold      the size from which the body is streamed and compressed
+     */
+    ResponseBodyStream(HttpExchange exchange, int code, boolean isGzipAccepted, int threshold) {
+        this.exchange = exchange;
+        this.code = code;
+        this.isGzipAccepted = isGzipAccepted;
+        this.threshold = threshold;
+        this.pending = new ByteArrayOutputStream();
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (out == null) {
+            if (pending.size() + len < threshold) {
+                pending.write(b, off, len);
+                return;
+            }
+            startStreaming();
+        }
+        out.write(b, off, len);
+    }
+
+    /**
+     * Flushes the streamed body; a body still held back stays unsent.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void flush() throws IOException {
+        if (out != null) {
+            out.flush();
+        }
+    }
+
+    /**
+     * Completes the response, sending a held back body with its exact length.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        if (out != null) {
+            out.close();
+            return;
+        }
+        byte[] body = pending.toByteArray();
+        exchange.sendResponseHeaders(code, body.length == 0 ? -1 : body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+    }
+
+    /**
+     * Sends the headers for a streamed body and writes the held back bytes.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    private void startStreaming() throws IOException {
+        if (isGzipAccepted) {
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        }
+        exchange.sendResponseHeaders(code, 0);
+        OutputStream body = exchange.getResponseBody();
+        out = isGzipAccepted ? new GZIPOutputStream(body, GZIP_BUFFER_SIZE) : body;
+        pending.writeTo(out);
+        pending = null;
+    }
+}
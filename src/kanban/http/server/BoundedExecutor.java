@@ -0,0 +1,48 @@
+package kanban.http.server;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Executor that limits the number of tasks in flight of an unbounded executor service.
+ * A task that exceeds the limit runs on the submitting thread instead, which slows down
+ * the HTTP dispatcher and so applies back pressure to new connections.
+ * The wrapped executor service is still owned and shut down by the caller.
+ */
+class BoundedExecutor implements Executor {
+
+    private final ExecutorService delegate;
+    private final Semaphore permits;
+
+    /**
+     * Constructs a bounded view of the given executor service.
+     *
+     * @param delegate the executor service running the tasks
+     * @param limit    the maximum number of tasks submitted and not yet finished
+     */
+    BoundedExecutor(ExecutorService delegate, int limit) {
+        this.delegate = delegate;
+        this.permits = new Semaphore(limit);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (!permits.tryAcquire()) {
+            command.run();
+            return;
+        }
+        try {
+            delegate.execute(() -> {
+                try {
+                    command.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package kanban.http.server;
+
+/**
+ * Enumeration of the ways {@link TasksServer} can execute incoming requests:
+ * - SINGLE_THREAD: every request runs on the dispatcher thread of the HTTP server
+ * - FIXED_POOL: requests run on a fixed number of platform threads
+ * - WORK_STEALING: requests run on a work-stealing pool sized to the available cores
+ * - VIRTUAL_THREAD_PER_REQUEST: every request runs on its own virtual thread
+ * In every multi-threaded mode the task manager is wrapped into a thread-safe view.
+ */
+public enum ExecutionMode {
+
+    /**
+     * All requests are handled one by one on the dispatcher thread.
+     * A slow request delays every other client.
+     */
+    SINGLE_THREAD,
+
+    /**
+     * Requests are handled by a fixed pool of platform threads with a bounded queue.
+     */
+    FIXED_POOL,
+
+    /**
+     * Requests are handled by a work-stealing pool with a bounded number of requests in flight.
+     */
+    WORK_STEALING,
+
+    /**
+     * Every request is handled by a new virtual thread, with a bounded number
+     * of requests in flight. Suits handlers that mostly wait on file I/O.
+     */
+    VIRTUAL_THREAD_PER_REQUEST
+}
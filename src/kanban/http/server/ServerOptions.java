@@ -0,0 +1,105 @@
+package kanban.http.server;
+
+/**
+ * Settings of the request execution of {@link TasksServer}.
+ * Instances are immutable; start from {@link #defaults()} and adjust
+ * single values with the {@code with...} methods.
+ *
+ * @param mode          the way requests are executed
+ * @param threads       the number of worker threads of the pool modes
+ * @param queueCapacity the number of accepted requests allowed to wait for a worker;
+ *                      once it is reached, the dispatcher thread handles the request itself,
+ *                      which slows down accepting new connections
+ * @param backlog       the maximum number of pending TCP connections, 0 for the system default
+ * @param responseCacheBytes the total size of encoded responses kept for repeated reads,
+ *                      0 to disable the response cache
+ */
+public record ServerOptions(ExecutionMode mode, int threads, int queueCapacity, int backlog,
+                            long responseCacheBytes) {
+
+    private static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    private static final long DEFAULT_RESPONSE_CACHE_BYTES = 16L << 20;
+
+    /**
+     * Validates the settings.
+     *
+     * @throws IllegalArgumentException if mode is null, threads or queueCapacity
+     *                                  is not positive, or backlog or responseCacheBytes
+     *                                  is negative
+     */
+    public ServerOptions {
+        if (mode == null) {
+            throw new IllegalArgumentException("Execution mode must not be null.");
+        }
+        if (threads < 1 || queueCapacity < 1 || backlog < 0) {
+            throw new IllegalArgumentException("Threads and queue capacity must be positive,"
+                    + " backlog must not be negative.");
+        }
+        if (responseCacheBytes < 0) {
+            throw new IllegalArgumentException("Response cache size must not be negative.");
+        }
+    }
+
+    /**
+     * Returns the default settings: single-threaded execution, one worker per core
+     * for the pool modes, a queue of 1024 requests, the system default backlog
+     * and a response cache of 16 MiB.
+     *
+     * @return the default settings
+     */
+    public static ServerOptions defaults() {
+        return new ServerOptions(ExecutionMode.SINGLE_THREAD,
+                Runtime.getRuntime().availableProcessors(), DEFAULT_QUEUE_CAPACITY, 0,
+                DEFAULT_RESPONSE_CACHE_BYTES);
+    }
+
+    /**
+     * Returns a copy of these settings with another execution mode.
+     *
+     * @param mode the way requests are executed
+     * @return the adjusted settings
+     */
+    public ServerOptions withMode(ExecutionMode mode) {
+        return new ServerOptions(mode, threads, queueCapacity, backlog, responseCacheBytes);
+    }
+
+    /**
+     * Returns a copy of these settings with another number of worker threads.
+     *
+     * @param threads the number of worker threads
+     * @return the adjusted settings
+     */
+    public ServerOptions withThreads(int threads) {
+        return new ServerOptions(mode, threads, queueCapacity, backlog, responseCacheBytes);
+    }
+
+    /**
+     * Returns a copy of these settings with another queue capacity.
+     *
+     * @param queueCapacity the number of requests allowed to wait for a worker
+     * @return the adjusted settings
+     */
+    public ServerOptions withQueueCapacity(int queueCapacity) {
+        return new ServerOptions(mode, threads, queueCapacity, backlog, responseCacheBytes);
+    }
+
+    /**
+     * Returns a copy of these settings with another connection backlog.
+     *
+     * @param backlog the maximum number of pending TCP connections
+     * @return the adjusted settings
+     */
+    public ServerOptions withBacklog(int backlog) {
+        return new ServerOptions(mode, threads, queueCapacity, backlog, responseCacheBytes);
+    }
+
+    /**
+     * Returns a copy of these settings with another response cache size.
+     *
+     * @param responseCacheBytes the total size of cached responses, 0 to disable the cache
+     * @return the adjusted settings
+     */
+    public ServerOptions withResponseCacheBytes(long responseCacheBytes) {
+        return new ServerOptions(mode, threads, queueCapacity, backlog, responseCacheBytes);
+    }
+}
@@ -5,28 +5,42 @@ import com.sun.net.httpserver.HttpServer;
 import java.io.File;
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.ConsoleHandler;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.logging.SimpleFormatter;
 import kanban.api.adapters.GsonFactory;
 import kanban.api.handlers.EpicTaskHandler;
+import kanban.api.handlers.FreeWindowHandler;
 import kanban.api.handlers.HistoryHandler;
 import kanban.api.handlers.PrioritizedHandler;
+import kanban.api.handlers.ResponseCache;
 import kanban.api.handlers.SubtaskHandler;
 import kanban.api.handlers.TaskHandler;
+import kanban.managers.ConcurrentTaskManager;
 import kanban.managers.FileBackedTaskManager;
 import kanban.managers.InMemoryTaskManager;
 import kanban.managers.ManagerSaveException;
+import kanban.managers.Managers;
+import kanban.managers.StorageOptions;
 import kanban.managers.TaskManager;
+import kanban.utility.ScheduleMode;
 
 /**
  * HttpTaskServer sets up and runs an HTTP server that handles
  * incoming REST API requests related to tasks, subtasks, epics,
- * history, and prioritized tasks.
+ * history, prioritized tasks and free schedule windows.
  * The server registers endpoint contexts and routes requests to
  * the appropriate handlers. It also provides basic logging and
  * JSON serialization configuration.
+ * Requests are executed as configured by {@link ServerOptions}:
+ * on the dispatcher thread, on a thread pool or on virtual threads.
  */
 public class TasksServer {
 
@@ -40,11 +54,21 @@ public class TasksServer {
      */
     private static HttpServer httpServer;
 
+    /**
+     * The worker threads executing requests, or null in single-threaded mode.
+     */
+    private static ExecutorService workers;
+
     /**
      * Gson instance used for JSON serialization and deserialization.
      */
     private static final Gson gson = getGson();
 
+    /**
+     * The file-backed manager created by the server itself, closed when the server stops.
+     */
+    private static FileBackedTaskManager ownedManager;
+
     /**
      * Manager field for test purpose only.
      */
@@ -62,17 +86,23 @@ public class TasksServer {
     /**
      * Creates and initializes the HTTP server using the appropriate TaskManager implementation.
      * Defaults to InMemoryTaskManager for test purpose only.
+     * Requests are handled on the dispatcher thread.
      */
     public TasksServer(TaskManager manager) {
-        TasksServer.manager = manager;
+        this(manager, ServerOptions.defaults());
+    }
+
+    /**
+     * Creates and initializes the HTTP server for the given TaskManager
+     * with the given request execution settings. In multi-threaded modes
+     * the manager is wrapped into a {@link ConcurrentTaskManager}.
+     *
+     * @param manager the task manager serving the requests
+     * @param options the request execution settings
+     */
+    public TasksServer(TaskManager manager, ServerOptions options) {
         try {
-            httpServer = HttpServer.create(new InetSocketAddress(PORT), 0);
-            httpServer.createContext("/tasks", new TaskHandler(manager, gson));
-            httpServer.createContext("/subtasks", new SubtaskHandler(manager, gson));
-            httpServer.createContext("/epics", new EpicTaskHandler(manager, gson));
-            httpServer.createContext("/history", new HistoryHandler(manager, gson));
-            httpServer.createContext("/prioritized", new PrioritizedHandler(manager, gson));
-            logger.info("HTTP server successfully initialized on port " + PORT);
+            initialize(manager, options);
         } catch (IOException e) {
             logger.log(Level.SEVERE, "Failed to initialize HTTP server on port " + PORT, e);
         }
@@ -81,15 +111,45 @@ public class TasksServer {
     /**
      * Creates and initializes the HTTP server using the appropriate TaskManager implementation.
      * If a non-empty file is provided, it uses FileBackedTaskManager; otherwise,
-     * it defaults to InMemoryTaskManager.
+     * it defaults to InMemoryTaskManager. Requests are handled on the dispatcher thread.
      *
      * @param file the file used for persistent task storage
      */
     public TasksServer(File file) {
+        this(file, ServerOptions.defaults());
+    }
+
+    /**
+     * Creates and initializes the HTTP server using the appropriate TaskManager implementation
+     * with the given request execution settings.
+     * If a non-empty file is provided, it uses FileBackedTaskManager; otherwise,
+     * it defaults to InMemoryTaskManager.
+     *
+     * @param file    the file used for persistent task storage
+     * @param options the request execution settings
+     */
+    public TasksServer(File file, ServerOptions options) {
+        this(file, options, StorageOptions.defaults());
+    }
+
+    /**
+     * Creates and initializes the HTTP server using the appropriate TaskManager implementation
+     * with the given request execution and persistence settings.
+     * If a non-empty file is provided, it uses FileBackedTaskManager, which is closed
+     * by {@link #stop()}; otherwise, it defaults to InMemoryTaskManager.
+     * Handlers answer a change only once it is persisted as the durability level requires.
+     *
+     * @param file           the file used for persistent task storage
+     * @param options        the request execution settings
+     * @param storageOptions the way changes are written to the file
+     */
+    public TasksServer(File file, ServerOptions options, StorageOptions storageOptions) {
         try {
             TaskManager manager;
             if (file != null && file.exists() && file.length() > 0) {
-                manager = FileBackedTaskManager.loadFromFile(file);
+                ownedManager = FileBackedTaskManager.loadFromFile(file,
+                        ScheduleMode.INTERVAL_TREE, storageOptions);
+                manager = ownedManager;
                 logger.info("FileBackedTaskManager loaded from file: " + file.getAbsolutePath());
             } else {
                 manager = new InMemoryTaskManager();
@@ -97,13 +157,7 @@ public class TasksServer {
                         + " does not exist, or is empty).");
             }
 
-            httpServer = HttpServer.create(new InetSocketAddress(PORT), 0);
-            httpServer.createContext("/tasks", new TaskHandler(manager, gson));
-            httpServer.createContext("/subtasks", new SubtaskHandler(manager, gson));
-            httpServer.createContext("/epics", new EpicTaskHandler(manager, gson));
-            httpServer.createContext("/history", new HistoryHandler(manager, gson));
-            httpServer.createContext("/prioritized", new PrioritizedHandler(manager, gson));
-            logger.info("HTTP server successfully initialized on port " + PORT);
+            initialize(manager, options);
         } catch (IOException e) {
             logger.log(Level.SEVERE, "Failed to initialize HTTP server on port " + PORT, e);
             throw new RuntimeException("Unable to start HTTP server", e);
@@ -113,6 +167,65 @@ public class TasksServer {
         }
     }
 
+    /**
+     * Creates the HTTP server, registers the handlers and sets up request execution.
+     *
+     * @param manager the task manager serving the requests
+     * @param options the request execution settings
+     * @throws IOException if the server cannot be bound to the port
+     */
+    private static void initialize(TaskManager manager, ServerOptions options) throws IOException {
+        if (options.mode() != ExecutionMode.SINGLE_THREAD
+                && !(manager instanceof ConcurrentTaskManager)) {
+            manager = Managers.getConcurrent(manager);
+        }
+        TasksServer.manager = manager;
+
+        httpServer = HttpServer.create(new InetSocketAddress(PORT), options.backlog());
+        ResponseCache cache = new ResponseCache(options.responseCacheBytes());
+        httpServer.createContext("/tasks", new TaskHandler(manager, gson, cache));
+        httpServer.createContext("/subtasks", new SubtaskHandler(manager, gson, cache));
+        httpServer.createContext("/epics", new EpicTaskHandler(manager, gson, cache));
+        httpServer.createContext("/history", new HistoryHandler(manager, gson));
+        httpServer.createContext("/prioritized", new PrioritizedHandler(manager, gson, cache));
+        httpServer.createContext("/free-window", new FreeWindowHandler(manager, gson));
+        httpServer.setExecutor(createExecutor(options));
+        logger.info("HTTP server successfully initialized on port " + PORT
+                + " in " + options.mode() + " mode");
+    }
+
+    /**
+     * Creates the executor running requests for the given settings.
+     * Pool modes keep at most {@code queueCapacity} requests waiting for a worker;
+     * beyond that the dispatcher thread runs the request itself.
+     *
+     * @param options the request execution settings
+     * @return the executor, or null to run requests on the dispatcher thread
+     */
+    private static Executor createExecutor(ServerOptions options) {
+        switch (options.mode()) {
+            case FIXED_POOL -> {
+                workers = new ThreadPoolExecutor(options.threads(), options.threads(),
+                        0L, TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(options.queueCapacity()),
+                        new ThreadPoolExecutor.CallerRunsPolicy());
+                return workers;
+            }
+            case WORK_STEALING -> {
+                workers = Executors.newWorkStealingPool(options.threads());
+                return new BoundedExecutor(workers, options.threads() + options.queueCapacity());
+            }
+            case VIRTUAL_THREAD_PER_REQUEST -> {
+                workers = Executors.newVirtualThreadPerTaskExecutor();
+                return new BoundedExecutor(workers, options.queueCapacity());
+            }
+            default -> {
+                workers = null;
+                return null;
+            }
+        }
+    }
+
     /**
      * Starts the HTTP server and begins handling requests.
      */
@@ -131,6 +244,14 @@ public class TasksServer {
     public static void stop() {
         if (httpServer != null) {
             httpServer.stop(0);
+            if (workers != null) {
+                workers.shutdown();
+                workers = null;
+            }
+            if (ownedManager != null) {
+                ownedManager.close();
+                ownedManager = null;
+            }
             logger.info("HTTP server stopped. Port " + PORT + " released.");
         } else {
             logger.warning("Attempted to stop HTTP server, but it was not running.");
@@ -0,0 +1,76 @@
+package kanban.managers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Crash-safe replacement of whole files.
+ * The new content is written to a temporary file next to the target, forced to the device
+ * and then renamed over the target in one step, so after a crash the target holds either
+ * the old or the new content, never a truncated mix. A temporary file left by a crash
+ * is never read and is overwritten by the next replacement.
+ */
+final class AtomicFiles {
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private AtomicFiles() {
+    }
+
+    /**
+     * Replaces the content of a file atomically.
+     *
+     * @param target     the file to replace
+     * @param data       the new content
+     * @param isDurable  true to also force the directory entry, so the new content
+     *                   survives a power loss once the method returns
+     * @throws IOException if the file cannot be written or renamed
+     */
+    static void replace(Path target, byte[] data, boolean isDurable) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + TEMP_SUFFIX);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            // The data must reach the device before the rename, or a crash may expose
+            // a renamed but empty file.
+            channel.force(false);
+        }
+
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        if (isDurable) {
+            forceDirectory(target.toAbsolutePath().getParent());
+        }
+    }
+
+    /**
+     * Forces the entries of a directory to the device, such as a rename or a deletion
+     * within it. Platforms that cannot open a directory as a channel are skipped.
+     *
+     * @param directory the directory to force
+     */
+    static void forceDirectory(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Directories cannot be opened for reading on some platforms
+        }
+    }
+}
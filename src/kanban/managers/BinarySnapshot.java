@@ -0,0 +1,343 @@
+package kanban.managers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.ObjLongConsumer;
+import java.util.zip.CRC32C;
+import kanban.tasks.Epic;
+import kanban.tasks.SubTask;
+import kanban.tasks.Task;
+import kanban.tasks.TaskStatus;
+import kanban.tasks.TaskType;
+
+/**
+ * Compact binary snapshot of tasks, the {@link SnapshotFormat#BINARY} backend
+ * of {@link FileBackedTaskManager}.
+ * Layout: the magic bytes {@code KNBN} and a version byte, a string table of
+ * distinct titles, the number of records and the records themselves.
+ * The string table and every record are framed as a varint length, the bytes
+ * and their CRC32C checksum, so a damaged record is skipped without losing the rest.
+ * Every record starts with a fixed three-byte header (type, status, flags),
+ * followed by the varint ID, the varint parent epic ID of a subtask, the start time
+ * as zigzag varint epoch seconds (UTC) if the flags say it is set, the zigzag varint
+ * duration in seconds, the varint index of the title in the string table and the
+ * description as a varint length followed by UTF-8 bytes.
+ * Snapshots are read through a {@link MappedByteBuffer}, so the file is not copied
+ * into the heap before decoding.
+ */
+final class BinarySnapshot {
+
+    private static final byte[] MAGIC = {'K', 'N', 'B', 'N'};
+    private static final byte VERSION = 1;
+    private static final int HAS_START_TIME = 1;
+    private static final TaskType[] TASK_TYPES = TaskType.values();
+    private static final TaskStatus[] TASK_STATUSES = TaskStatus.values();
+
+    private BinarySnapshot() {
+    }
+
+    /**
+     * Checks whether the file starts with the magic bytes of a binary snapshot.
+     *
+     * @param file the file to check
+     * @return true if the file is a binary snapshot, false if it is missing or has other content
+     * @throws ManagerSaveException if the file cannot be read
+     */
+    static boolean isBinary(File file) {
+        if (!file.isFile() || file.length() < MAGIC.length) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer head = ByteBuffer.allocate(MAGIC.length);
+            while (head.hasRemaining() && channel.read(head) >= 0) {
+                // Read until the magic bytes are complete or the file ends
+            }
+            return Arrays.equals(head.array(), MAGIC);
+        } catch (IOException e) {
+            throw new ManagerSaveException("Cannot read taskFile. Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Encodes tasks into a binary snapshot.
+     *
+     * @param tasks the tasks, epics and subtasks to encode
+     * @return the snapshot bytes
+     */
+    static byte[] encode(Collection<? extends Task> tasks) {
+        Map<String, Integer> titleIndex = new HashMap<>();
+        for (Task task : tasks) {
+            titleIndex.putIfAbsent(task.getTitle(), titleIndex.size());
+        }
+        String[] titles = new String[titleIndex.size()];
+        titleIndex.forEach((title, index) -> titles[index] = title);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 + tasks.size() * 40);
+        out.writeBytes(MAGIC);
+        out.write(VERSION);
+        ByteArrayOutputStream block = new ByteArrayOutputStream();
+        writeVarLong(block, titles.length);
+        for (String title : titles) {
+            writeString(block, title);
+        }
+        writeBlock(out, block);
+
+        writeVarLong(out, tasks.size());
+        for (Task task : tasks) {
+            block.reset();
+            writeRecord(block, task, titleIndex);
+            writeBlock(out, block);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Encodes a single record.
+     *
+     * @param out        the output
+     * @param task       the task to encode
+     * @param titleIndex the string table indices by title
+     */
+    private static void writeRecord(ByteArrayOutputStream out, Task task,
+                                    Map<String, Integer> titleIndex) {
+        boolean hasStartTime = task.getStartTime() != null
+                && !task.getStartTime().equals(LocalDateTime.MIN);
+        out.write(task.getType().ordinal());
+        out.write(task.getStatus().ordinal());
+        out.write(hasStartTime ? HAS_START_TIME : 0);
+        writeVarLong(out, task.getId());
+        if (task instanceof SubTask sub) {
+            writeVarLong(out, sub.getParentId() == null ? 0 : sub.getParentId());
+        }
+        if (hasStartTime) {
+            writeVarLong(out, zigzag(task.getStartTime().toEpochSecond(ZoneOffset.UTC)));
+        }
+        Duration duration = task.getDuration() == null ? Duration.ZERO : task.getDuration();
+        writeVarLong(out, zigzag(duration.getSeconds()));
+        writeVarLong(out, titleIndex.get(task.getTitle()));
+        writeString(out, task.getDescription());
+    }
+
+    /**
+     * Decodes a binary snapshot file, passing every valid task to the consumer in file order.
+     * A record that fails its checksum or cannot be decoded is passed to the skip handler
+     * and decoding goes on with the next record; if the file ends early, the missing
+     * records are reported as one.
+     *
+     * @param file      the snapshot file
+     * @param consumer  receives the decoded tasks
+     * @param onSkipped receives the reason and the number of a skipped record, starting from 1
+     * @throws ManagerSaveException if the file cannot be read, is not a binary snapshot
+     *                              or its string table is damaged
+     */
+    static void decode(File file, Consumer<Task> consumer, ObjLongConsumer<String> onSkipped) {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            byte[] magic = new byte[MAGIC.length];
+            buffer.get(magic);
+            if (!Arrays.equals(magic, MAGIC) || buffer.get() != VERSION) {
+                throw new ManagerSaveException("Cannot read taskFile. Error: "
+                        + "unsupported binary snapshot.");
+            }
+
+            ByteBuffer table = readBlock(buffer);
+            if (table == null) {
+                throw new ManagerSaveException("Cannot read taskFile. Error: "
+                        + "damaged string table.");
+            }
+            String[] titles = new String[Math.toIntExact(readVarLong(table))];
+            for (int i = 0; i < titles.length; i++) {
+                titles[i] = readString(table);
+            }
+
+            long count = readVarLong(buffer);
+            for (long number = 1; number <= count; number++) {
+                ByteBuffer record;
+                try {
+                    record = readBlock(buffer);
+                } catch (BufferUnderflowException | IndexOutOfBoundsException
+                         | ArithmeticException e) {
+                    onSkipped.accept(count == number ? "truncated record"
+                            : "truncated records up to " + count, number);
+                    return;
+                }
+                if (record == null) {
+                    onSkipped.accept("checksum mismatch", number);
+                    continue;
+                }
+                try {
+                    consumer.accept(readTask(record, titles));
+                } catch (BufferUnderflowException | IndexOutOfBoundsException
+                         | ArithmeticException | DateTimeException e) {
+                    onSkipped.accept("invalid values", number);
+                }
+            }
+        } catch (IOException e) {
+            throw new ManagerSaveException("Cannot read taskFile. Error: " + e.getMessage());
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | ArithmeticException e) {
+            throw new ManagerSaveException("Cannot read taskFile. Error: "
+                    + "corrupted binary snapshot.");
+        }
+    }
+
+    /**
+     * Decodes a single record.
+     *
+     * @param buffer the buffer positioned at the record
+     * @param titles the string table
+     * @return the decoded task
+     */
+    private static Task readTask(ByteBuffer buffer, String[] titles) {
+        TaskType type = TASK_TYPES[buffer.get()];
+        TaskStatus status = TASK_STATUSES[buffer.get()];
+        int flags = buffer.get();
+        int id = Math.toIntExact(readVarLong(buffer));
+        int parentId = type == TaskType.SUB ? Math.toIntExact(readVarLong(buffer)) : 0;
+        LocalDateTime startTime = (flags & HAS_START_TIME) != 0
+                ? LocalDateTime.ofEpochSecond(unzigzag(readVarLong(buffer)), 0, ZoneOffset.UTC)
+                : LocalDateTime.MIN;
+        Duration duration = Duration.ofSeconds(unzigzag(readVarLong(buffer)));
+        String title = titles[Math.toIntExact(readVarLong(buffer))];
+        String description = readString(buffer);
+
+        return switch (type) {
+            case TASK -> new Task(id, title, status, description, startTime, duration);
+            case SUB -> new SubTask(id, title, status, description, parentId,
+                    startTime, duration);
+            case EPIC -> new Epic(id, title, status, description, startTime, duration);
+        };
+    }
+
+    /**
+     * Writes a block framed as its varint length, its bytes and their CRC32C checksum.
+     *
+     * @param out   the output
+     * @param block the bytes of the block
+     */
+    private static void writeBlock(ByteArrayOutputStream out, ByteArrayOutputStream block) {
+        byte[] bytes = block.toByteArray();
+        CRC32C crc = new CRC32C();
+        crc.update(bytes);
+        writeVarLong(out, bytes.length);
+        out.writeBytes(bytes);
+        int checksum = (int) crc.getValue();
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            out.write(checksum >>> shift);
+        }
+    }
+
+    /**
+     * Reads a block written by {@link #writeBlock(ByteArrayOutputStream, ByteArrayOutputStream)}
+     * and moves the buffer past it.
+     *
+     * @param buffer the input positioned at the block
+     * @return a buffer with the bytes of the block, or null if the checksum does not match
+     * @throws BufferUnderflowException if the input ends inside the block
+     */
+    private static ByteBuffer readBlock(ByteBuffer buffer) {
+        int length = Math.toIntExact(readVarLong(buffer));
+        if (length > buffer.remaining() - Integer.BYTES) {
+            throw new BufferUnderflowException();
+        }
+        ByteBuffer block = buffer.slice(buffer.position(), length);
+        buffer.position(buffer.position() + length);
+        int checksum = buffer.getInt();
+
+        CRC32C crc = new CRC32C();
+        crc.update(block.duplicate());
+        return (int) crc.getValue() == checksum ? block : null;
+    }
+
+    /**
+     * Writes an unsigned variable-length integer, seven bits per byte.
+     *
+     * @param out   the output
+     * @param value the non-negative value
+     */
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    /**
+     * Reads an unsigned variable-length integer.
+     *
+     * @param buffer the input
+     * @return the value
+     * @throws ArithmeticException if the value does not fit into a long
+     */
+    private static long readVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            byte next = buffer.get();
+            value |= (long) (next & 0x7F) << shift;
+            if (next >= 0) {
+                return value;
+            }
+        }
+        throw new ArithmeticException("Variable-length integer is too long.");
+    }
+
+    /**
+     * Writes a string as a varint byte length followed by UTF-8 bytes.
+     *
+     * @param out   the output
+     * @param value the string, null is written as empty
+     */
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        byte[] bytes = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length);
+        out.writeBytes(bytes);
+    }
+
+    /**
+     * Reads a string written by {@link #writeString(ByteArrayOutputStream, String)}.
+     *
+     * @param buffer the input
+     * @return the string
+     */
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[Math.toIntExact(readVarLong(buffer))];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Maps a signed value to an unsigned one, so small negative values stay short.
+     *
+     * @param value the signed value
+     * @return the zigzag-encoded value
+     */
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * Reverses {@link #zigzag(long)}.
+     *
+     * @param value the zigzag-encoded value
+     * @return the signed value
+     */
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,23 @@
+package kanban.managers;
+
+/**
+ * Enumeration of the compression codecs of CSV snapshots written by {@link FileBackedTaskManager}:
+ * - NONE: plain text
+ * - GZIP: the text compressed with {@code java.util.zip} in the gzip format
+ * A compressed snapshot is recognized on load by its magic bytes, whatever codec
+ * is configured for writing.
+ */
+public enum Compression {
+
+    /**
+     * The snapshot is written as plain CSV text.
+     */
+    NONE,
+
+    /**
+     * The snapshot is written as a gzip stream of the CSV text.
+     * Repetitive task text shrinks several times at the cost of compression time on save;
+     * the file can still be read with standard tools such as {@code zcat}.
+     */
+    GZIP
+}
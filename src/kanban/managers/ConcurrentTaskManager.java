@@ -0,0 +1,299 @@
+package kanban.managers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import kanban.tasks.Epic;
+import kanban.tasks.SubTask;
+import kanban.tasks.Task;
+import kanban.utility.FitStrategy;
+
+/**
+ * Thread-safe decorator of the TaskManager interface.
+ * Every call is delegated to the wrapped manager under a {@link ReentrantReadWriteLock}:
+ * list and query calls share the read lock and run in parallel, while calls that change
+ * the tasks, the priority list, the timetable or the view history take the write lock.
+ * Retrieving a single task by ID records it in the history, so it is a write as well.
+ * Returned tasks are copies taken under the lock, so callers never observe
+ * later changes made by other threads.
+ * A write waits for its persistence only after releasing the lock, so a manager
+ * with background persistence writes changes of concurrent callers together.
+ */
+public class ConcurrentTaskManager implements TaskManager {
+
+    private final TaskManager delegate;
+    private final Lock readLock;
+    private final Lock writeLock;
+
+    /**
+     * Constructs a thread-safe view of the given manager.
+     * The wrapped manager must not be used directly once it is wrapped.
+     *
+     * @param delegate the manager to protect
+     * @throws IllegalArgumentException if delegate is null
+     */
+    public ConcurrentTaskManager(TaskManager delegate) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Wrapped task manager must not be null.");
+        }
+        this.delegate = delegate;
+        if (delegate instanceof FileBackedTaskManager fileBacked) {
+            fileBacked.deferPersistenceWaits();
+        }
+        ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        this.readLock = lock.readLock();
+        this.writeLock = lock.writeLock();
+    }
+
+    @Override
+    public long getVersion() {
+        return read(delegate::getVersion);
+    }
+
+    @Override
+    public long getVersion(TaskCollection collection) {
+        return read(() -> delegate.getVersion(collection));
+    }
+
+    @Override
+    public List<Task> getTaskList() {
+        return read(() -> copyAll(delegate.getTaskList()));
+    }
+
+    @Override
+    public List<Epic> getEpicList() {
+        return read(() -> copyAll(delegate.getEpicList()));
+    }
+
+    @Override
+    public List<SubTask> getSubList() {
+        return read(() -> copyAll(delegate.getSubList()));
+    }
+
+    @Override
+    public List<Task> getTaskPage(Integer afterId, int limit) {
+        return read(() -> copyAll(delegate.getTaskPage(afterId, limit)));
+    }
+
+    @Override
+    public List<Epic> getEpicPage(Integer afterId, int limit) {
+        return read(() -> copyAll(delegate.getEpicPage(afterId, limit)));
+    }
+
+    @Override
+    public List<SubTask> getSubPage(Integer afterId, int limit) {
+        return read(() -> copyAll(delegate.getSubPage(afterId, limit)));
+    }
+
+    @Override
+    public Optional<List<SubTask>> getEpicSubTaskList(Integer epicId) {
+        return read(() -> delegate.getEpicSubTaskList(epicId).map(this::copyAll));
+    }
+
+    @Override
+    public Optional<Task> getTaskById(Integer taskId) {
+        return write(() -> delegate.getTaskById(taskId).map(this::copyOf));
+    }
+
+    @Override
+    public Optional<Epic> getEpicById(Integer epicId) {
+        return write(() -> delegate.getEpicById(epicId).map(this::copyOf));
+    }
+
+    @Override
+    public Optional<SubTask> getSubTaskById(Integer subId) {
+        return write(() -> delegate.getSubTaskById(subId).map(this::copyOf));
+    }
+
+    @Override
+    public ArrayList<Task> getHistoryTask() {
+        return read(() -> new ArrayList<>(copyAll(delegate.getHistoryTask())));
+    }
+
+    @Override
+    public List<Task> getHistoryPage(Integer afterId, int limit) {
+        return read(() -> copyAll(delegate.getHistoryPage(afterId, limit)));
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks() {
+        return read(() -> copyAll(delegate.getPrioritizedTasks()));
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to, int limit) {
+        return read(() -> copyAll(delegate.getPrioritizedTasks(from, to, limit)));
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasksAfter(LocalDateTime startTime, Integer id,
+                                               LocalDateTime to, int limit) {
+        return read(() -> copyAll(delegate.getPrioritizedTasksAfter(startTime, id, to, limit)));
+    }
+
+    @Override
+    public Optional<LocalDateTime> findFreeWindow(LocalDateTime from, Duration duration,
+                                                  LocalDateTime deadline) {
+        return read(() -> delegate.findFreeWindow(from, duration, deadline));
+    }
+
+    @Override
+    public List<Task> autoSchedule(LocalDateTime from, FitStrategy strategy) {
+        return write(() -> copyAll(delegate.autoSchedule(from, strategy)));
+    }
+
+    @Override
+    public void addTask(Task newTask) {
+        write(() -> delegate.addTask(newTask));
+    }
+
+    @Override
+    public void addEpic(Epic newEpic) {
+        write(() -> delegate.addEpic(newEpic));
+    }
+
+    @Override
+    public void addSub(SubTask newSub) {
+        write(() -> delegate.addSub(newSub));
+    }
+
+    @Override
+    public void updateTask(Task updateTask) {
+        write(() -> delegate.updateTask(updateTask));
+    }
+
+    @Override
+    public void updateEpic(Epic updateEpic) {
+        write(() -> delegate.updateEpic(updateEpic));
+    }
+
+    @Override
+    public void updateSub(SubTask updateSub) {
+        write(() -> delegate.updateSub(updateSub));
+    }
+
+    @Override
+    public void removeTaskById(Integer taskId) {
+        write(() -> delegate.removeTaskById(taskId));
+    }
+
+    @Override
+    public void removeEpicById(Integer epicId) {
+        write(() -> delegate.removeEpicById(epicId));
+    }
+
+    @Override
+    public void removeSubById(Integer subId) {
+        write(() -> delegate.removeSubById(subId));
+    }
+
+    @Override
+    public void removeAllTask() {
+        write(delegate::removeAllTask);
+    }
+
+    @Override
+    public void removeAllEpic() {
+        write(delegate::removeAllEpic);
+    }
+
+    @Override
+    public void removeAllSub() {
+        write(delegate::removeAllSub);
+    }
+
+    @Override
+    public void awaitPersisted() {
+        delegate.awaitPersisted();
+    }
+
+    /**
+     * Runs a query under the shared read lock.
+     *
+     * @param <T>   the type of the result
+     * @param query the query to run
+     * @return the result of the query
+     */
+    private <T> T read(Supplier<T> query) {
+        readLock.lock();
+        try {
+            return query.get();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Runs an operation with a result under the exclusive write lock
+     * and waits for its persistence once the lock is released.
+     *
+     * @param <T>       the type of the result
+     * @param operation the operation to run
+     * @return the result of the operation
+     */
+    private <T> T write(Supplier<T> operation) {
+        T result;
+        writeLock.lock();
+        try {
+            result = operation.get();
+        } finally {
+            writeLock.unlock();
+        }
+        delegate.awaitPersisted();
+        return result;
+    }
+
+    /**
+     * Runs an operation under the exclusive write lock
+     * and waits for its persistence once the lock is released.
+     *
+     * @param operation the operation to run
+     */
+    private void write(Runnable operation) {
+        writeLock.lock();
+        try {
+            operation.run();
+        } finally {
+            writeLock.unlock();
+        }
+        delegate.awaitPersisted();
+    }
+
+    /**
+     * Copies every task of a list.
+     *
+     * @param <T>   the type of tasks
+     * @param tasks the tasks to copy
+     * @return a new list of copies in the same order
+     */
+    private <T extends Task> List<T> copyAll(List<T> tasks) {
+        return tasks.stream().map(this::copyOf).toList();
+    }
+
+    /**
+     * Copies a task keeping its runtime type. Epics get their own list of subtask IDs.
+     *
+     * @param <T>  the type of the task
+     * @param task the task to copy
+     * @return an independent copy of the task
+     */
+    @SuppressWarnings("unchecked")
+    private <T extends Task> T copyOf(T task) {
+        if (task instanceof Epic epic) {
+            Epic copy = new Epic(epic.getId(), epic.getTitle(), epic.getStatus(),
+                    epic.getDescription(), epic.getStartTime(), epic.getDuration());
+            copy.setEndTime(epic.getEndTime());
+            epic.getSubIdList().forEach(copy::addSubId);
+            return (T) copy;
+        }
+        if (task instanceof SubTask sub) {
+            return (T) new SubTask(sub);
+        }
+        return (T) new Task(task);
+    }
+}
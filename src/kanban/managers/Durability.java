@@ -0,0 +1,37 @@
+package kanban.managers;
+
+/**
+ * Enumeration of the guarantees {@link FileBackedTaskManager} gives
+ * when a change method returns:
+ * - SYNCHRONOUS: the change is written to the file by the calling thread
+ * - FIRE_AND_FORGET: the change is queued for the background writer
+ * - WAIT_FOR_FLUSH: the change is written to the file by the background writer
+ * - WAIT_FOR_FSYNC: the change is written and forced to the storage device
+ */
+public enum Durability {
+
+    /**
+     * The calling thread writes every change itself before returning.
+     * Concurrent changes are written one after another.
+     */
+    SYNCHRONOUS,
+
+    /**
+     * The change is handed to the background writer and the call returns at once.
+     * Changes queued but not yet written are lost if the process dies.
+     */
+    FIRE_AND_FORGET,
+
+    /**
+     * The call returns once the background writer has written the batch
+     * containing the change. Changes queued together share a single write.
+     */
+    WAIT_FOR_FLUSH,
+
+    /**
+     * The call returns once the batch containing the change has been written
+     * and forced to the storage device, so it survives a power loss.
+     * Changes queued together share a single write and a single fsync.
+     */
+    WAIT_FOR_FSYNC
+}
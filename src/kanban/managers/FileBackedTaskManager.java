@@ -1,36 +1,106 @@
 package kanban.managers;
 
-import static kanban.tasks.TaskStatus.valueOf;
-
+import java.io.ByteArrayOutputStream;
+import java.io.CharArrayReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.TreeMap;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 import kanban.tasks.Epic;
 import kanban.tasks.SubTask;
 import kanban.tasks.Task;
 import kanban.tasks.TaskStatus;
 import kanban.tasks.TaskType;
+import kanban.utility.CsvReader;
+import kanban.utility.CsvSplitter;
 import kanban.utility.CsvString;
+import kanban.utility.CsvWriter;
+import kanban.utility.FitStrategy;
+import kanban.utility.ScheduleMode;
 import kanban.utility.TimeSchedule;
 
 /**
  * FileBackedTaskManager is an implementation of InMemoryTaskManager that adds
  * functionality for persisting tasks to and loading them from a CSV file.
  * It supports all standard task operations and ensures changes are saved to a file automatically.
- * Tasks, epics, and subtasks are serialized into a CSV format for storage.
+ * Tasks, epics, and subtasks are serialized into a CSV format for storage,
+ * or into a compact binary snapshot with {@link SnapshotFormat#BINARY}.
+ * A CSV snapshot can be gzip-compressed with {@link Compression#GZIP}.
  * The manager also supports reconstruction of its state from the file.
+ * In {@link StorageMode#JOURNAL} mode a change appends only the changed tasks
+ * to a journal file next to the task file; the journal is replayed over the
+ * snapshot on load and folded into a new snapshot once it grows long enough.
+ * With a {@link Durability} other than {@code SYNCHRONOUS}, journal records are composed
+ * by the changing thread, while snapshots are composed once per batch by a background
+ * {@link GroupCommitWriter} that gathers concurrent changes into one write.
+ * Call {@link #close()} to write the remaining changes and stop the writer.
  */
-public class FileBackedTaskManager extends InMemoryTaskManager {
+public class FileBackedTaskManager extends InMemoryTaskManager implements AutoCloseable {
+
+    private static final String JOURNAL_SUFFIX = ".journal";
+    private static final String UPSERT_RECORD_TYPE = "U";
+    private static final String DELETE_RECORD_TYPE = "D";
+    private static final String UPSERT_RECORD = UPSERT_RECORD_TYPE + ",";
+    private static final String DELETE_RECORD = DELETE_RECORD_TYPE + ",";
+    private static final List<String> COLUMN_NAMES = List.of("id", "type", "name", "status",
+            "description", "epic", "start", "duration", "checksum");
+    private static final int ID_COLUMN = 0;
+    private static final int TYPE_COLUMN = 1;
+    private static final int NAME_COLUMN = 2;
+    private static final int STATUS_COLUMN = 3;
+    private static final int DESCRIPTION_COLUMN = 4;
+    private static final int EPIC_COLUMN = 5;
+    private static final int START_COLUMN = 6;
+    private static final int DURATION_COLUMN = 7;
+    private static final int CHECKSUM_COLUMN = 8;
+    private static final int MIN_CHUNK_LENGTH = 1 << 16;
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final TaskStatus[] TASK_STATUSES = TaskStatus.values();
+    private static final TaskType[] TASK_TYPES = TaskType.values();
 
     private final File taskFile;
+    private final File journalFile;
     private final CsvString csvString;
+    private final int[] columns;
+    private final StorageOptions storageOptions;
+    private final Set<Integer> changedIds;
+    private int mutationDepth;
+    private final ReentrantLock stateLock;
+    private final GroupCommitWriter writer;
+    private final ThreadLocal<CompletableFuture<Void>> pendingWrite;
+    private int journalRecords;
+    private boolean isWaitDeferred;
+    private final List<String> skippedRecords;
+    private LoadReport loadReport;
+    private final Map<Integer, String> encodedRows;
+    private final CsvWriter rowWriter;
+    private final StringBuilder dateBuffer;
 
     /**
      * Constructs a FileBackedTaskManager with the given file.
@@ -38,8 +108,51 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
      * @param taskFile the file to store tasks
      */
     FileBackedTaskManager(File taskFile) {
+        this(taskFile, new TimeSchedule());
+    }
+
+    /**
+     * Constructs a FileBackedTaskManager with the given file and time schedule.
+     *
+     * @param taskFile  the file to store tasks
+     * @param timeTable an empty time schedule used for overlap detection
+     */
+    FileBackedTaskManager(File taskFile, TimeSchedule timeTable) {
+        this(taskFile, timeTable, StorageOptions.defaults());
+    }
+
+    /**
+     * Constructs a FileBackedTaskManager with the given file, time schedule
+     * and persistence settings.
+     *
+     * @param taskFile       the file to store tasks
+     * @param timeTable      an empty time schedule used for overlap detection
+     * @param storageOptions the way changes are written to the file
+     * @throws IllegalArgumentException if storageOptions is null
+     */
+    FileBackedTaskManager(File taskFile, TimeSchedule timeTable, StorageOptions storageOptions) {
+        super(timeTable);
+        if (storageOptions == null) {
+            throw new IllegalArgumentException("Storage options must not be null.");
+        }
         this.taskFile = taskFile;
-        csvString = new CsvString("id,type,name,status,description,epic,start,duration");
+        this.storageOptions = storageOptions;
+        journalFile = taskFile == null ? null : new File(taskFile.getPath() + JOURNAL_SUFFIX);
+        csvString = new CsvString(String.join(",", COLUMN_NAMES));
+        columns = locateColumns(csvString.getCsvHeaderMap());
+        changedIds = new LinkedHashSet<>();
+        stateLock = new ReentrantLock();
+        writer = storageOptions.durability() == Durability.SYNCHRONOUS || taskFile == null
+                ? null
+                : new GroupCommitWriter(taskFile, journalFile, storageOptions);
+        pendingWrite = new ThreadLocal<>();
+        skippedRecords = new ArrayList<>();
+        loadReport = LoadReport.empty();
+        encodedRows = new HashMap<>();
+        rowWriter = new CsvWriter();
+        dateBuffer = new StringBuilder();
+        // A new manager owns its file: the first change rewrites it, as in snapshot mode.
+        journalRecords = -1;
     }
 
     /**
@@ -51,67 +164,474 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
      * @return an Optional containing a populated FileBackedTaskManager or empty if loading failed
      */
     public static FileBackedTaskManager loadFromFile(File file) {
+        return loadFromFile(file, ScheduleMode.INTERVAL_TREE);
+    }
+
+    /**
+     * Loads a FileBackedTaskManager from the given file, using the given engine
+     * for task time validation.
+     *
+     * @param file the file to load from
+     * @param mode the engine used by the time schedule of the manager
+     * @return a populated FileBackedTaskManager, or an empty one if loading failed
+     */
+    public static FileBackedTaskManager loadFromFile(File file, ScheduleMode mode) {
+        return loadFromFile(file, mode, StorageOptions.defaults());
+    }
 
-        FileBackedTaskManager taskManager = new FileBackedTaskManager(file);
-        if (!file.exists()) {
+    /**
+     * Loads a FileBackedTaskManager from the given file and its journal, using the given
+     * engine for task time validation and the given persistence settings for later changes.
+     * Journal records are applied over the snapshot in the order they were written.
+     * Every record carries a CRC32C checksum; a record that fails it or cannot be parsed,
+     * such as one torn by a crash, is skipped and listed in {@link #getLoadReport()},
+     * while all valid records are restored. So is a subtask whose epic was skipped.
+     * A task whose time overlaps with a task restored before it, such as one saved with
+     * a finer schedule slot, is restored without its start time and listed in the report,
+     * so saving the loaded manager keeps every task.
+     *
+     * @param file           the file to load from
+     * @param mode           the engine used by the time schedule of the manager
+     * @param storageOptions the way changes are written to the file
+     * @return a populated FileBackedTaskManager, or an empty one if loading failed
+     */
+    public static FileBackedTaskManager loadFromFile(File file, ScheduleMode mode,
+                                                     StorageOptions storageOptions) {
+
+        FileBackedTaskManager taskManager = new FileBackedTaskManager(file,
+                new TimeSchedule(mode), storageOptions);
+        if (!file.exists() && !taskManager.journalFile.exists()) {
             return taskManager;
         }
 
-        int loadedLastId = 0;
-        Optional<String> loadedCsvFile = taskManager.loadFile(file);
+        Map<Integer, Task> loadedTasks = new LinkedHashMap<>();
+        int snapshotRecords = taskManager.readSnapshot(loadedTasks);
+        JournalReplay replay = taskManager.replayJournal(loadedTasks);
 
-        if (loadedCsvFile.isPresent()) {
+        // Restoring bypasses the overridden add methods, so loading writes nothing.
+        int[] rejectedTasks = new int[1];
+        List<String> unscheduledTasks = new ArrayList<>();
+        taskManager.restoreTasks(loadedTasks.values(), (task, e) -> {
+            String description = taskManager.describeTask(task, e.getMessage());
+            if (e instanceof TaskTimeOverlapException) {
+                unscheduledTasks.add(description);
+            } else {
+                taskManager.skippedRecords.add(description);
+                rejectedTasks[0]++;
+            }
+        });
+        taskManager.journalRecords = replay.records();
+        taskManager.loadReport = new LoadReport(
+                snapshotRecords + replay.applied() - rejectedTasks[0], taskManager.skippedRecords,
+                unscheduledTasks);
+        taskManager.skippedRecords.clear();
+        return taskManager;
+    }
 
+    /**
+     * Reads the snapshot file into the given map of tasks by ID.
+     * A binary snapshot is recognized by its magic bytes, whatever format is configured,
+     * and so is a compressed CSV snapshot, which is decompressed while it is parsed.
+     * In a CSV snapshot, rows before the header line are ignored. A snapshot written
+     * before checksums were added is read without verification.
+     * Rows that fail their checksum or cannot be parsed are skipped and reported.
+     *
+     * @param loadedTasks the map to fill
+     * @return the number of restored records
+     * @throws ManagerSaveException if the file cannot be read
+     */
+    private int readSnapshot(Map<Integer, Task> loadedTasks) {
+        if (!taskFile.isFile()) {
+            return 0;
+        }
+        if (BinarySnapshot.isBinary(taskFile)) {
+            int[] restored = new int[1];
+            BinarySnapshot.decode(taskFile, task -> {
+                loadedTasks.put(task.getId(), task);
+                restored[0]++;
+            }, (reason, recordNumber) -> skipRecord(taskFile, recordNumber, reason));
+            return restored[0];
+        }
+        if (storageOptions.loadMode() == LoadMode.PARALLEL) {
+            return readSnapshotInParallel(loadedTasks);
+        }
+        try (CsvReader reader = new CsvReader(SnapshotCompression.newReader(taskFile.toPath()))) {
+            int restored = 0;
             boolean isParsed = false;
-
-            Optional<List<String>> optionalRawString =
-                    taskManager.csvString.csvStringSplit(loadedCsvFile.get());
-            if (optionalRawString.isEmpty()) {
-                return taskManager;
+            boolean isChecked = true;
+            while (reader.nextRecord()) {
+                if (!isParsed) {
+                    isChecked = isHeader(reader, COLUMN_NAMES.size());
+                    isParsed = isChecked || isHeader(reader, CHECKSUM_COLUMN);
+                    continue;
+                }
+                Optional<Task> task = readTask(reader, 0, isChecked, (reason, number) ->
+                        skipRecord(taskFile, number, reason));
+                if (task.isPresent()) {
+                    loadedTasks.put(task.get().getId(), task.get());
+                    restored++;
+                }
+            }
+            if (!isParsed && reader.getRecordNumber() > 0) {
+                skipRecord(taskFile, reader.getRecordNumber(), "header not found");
             }
+            return restored;
+        } catch (IOException e) {
+            throw new ManagerSaveException("Cannot read taskFile. Error: " + e.getMessage());
+        }
+    }
 
-            for (String fileRawString : optionalRawString.get()) {
-                if (fileRawString.equals(taskManager.csvString.getCsvHeader())) {
-                    isParsed = true;
-
-                } else if (isParsed && !fileRawString.isBlank()) {
-                    Optional<Task> genericTask =
-                            taskManager.fromString(fileRawString);
-
-                    if (genericTask.isPresent()) {
-                        Task task = genericTask.get();
-                        if (task instanceof Epic epic) {
-                            loadedLastId = Integer.max(epic.getId(), loadedLastId);
-                            taskManager.addEpic(epic);
-                        } else if (task instanceof SubTask sub) {
-                            loadedLastId = Integer.max(sub.getId(), loadedLastId);
-                            taskManager.addSub(sub);
-                        } else {
-                            loadedLastId = Integer.max(task.getId(), loadedLastId);
-                            taskManager.addTask(task);
-                        }
+    /**
+     * Reads a CSV snapshot into the given map of tasks by ID on all available processors.
+     * The file is decoded into memory and the rows after the header are split into chunks
+     * at record boundaries. Chunks are parsed on a fork-join pool and merged in file order,
+     * so the result, including the load report, is the same as that of a sequential load.
+     *
+     * @param loadedTasks the map to fill
+     * @return the number of restored records
+     * @throws ManagerSaveException if the file cannot be read or parsing is interrupted
+     */
+    private int readSnapshotInParallel(Map<Integer, Task> loadedTasks) {
+        CharBuffer text;
+        try {
+            text = StandardCharsets.UTF_8.decode(ByteBuffer.wrap(
+                    SnapshotCompression.readAllBytes(taskFile.toPath())));
+        } catch (IOException e) {
+            throw new ManagerSaveException("Cannot read taskFile. Error: " + e.getMessage());
+        }
+        char[] chars = text.array();
+        int length = text.limit();
+
+        int position = 0;
+        long headerRecords = 0;
+        Boolean isChecked = null;
+        while (position < length && isChecked == null) {
+            int end = CsvSplitter.findRecordEnd(chars, position, length);
+            try (CsvReader reader = new CsvReader(new CharArrayReader(chars, position,
+                    end - position))) {
+                if (reader.nextRecord()) {
+                    headerRecords++;
+                    if (isHeader(reader, COLUMN_NAMES.size())) {
+                        isChecked = true;
+                    } else if (isHeader(reader, CHECKSUM_COLUMN)) {
+                        isChecked = false;
                     }
                 }
+            } catch (IOException e) {
+                throw new ManagerSaveException("Cannot read taskFile. Error: " + e.getMessage());
             }
+            position = end;
+        }
+        if (isChecked == null) {
+            if (headerRecords > 0) {
+                skipRecord(taskFile, headerRecords, "header not found");
+            }
+            return 0;
+        }
 
-            if (isParsed) {
-                taskManager.globalIdCounter = loadedLastId;
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        int chunkCount = Math.clamp((length - position) / MIN_CHUNK_LENGTH, 1,
+                parallelism * CHUNKS_PER_THREAD);
+        int[] boundaries = CsvSplitter.split(chars, position, length, chunkCount);
+        List<ParsedChunk> chunks = new ArrayList<>(boundaries.length - 1);
+        if (boundaries.length == 2) {
+            chunks.add(parseChunk(chars, boundaries[0], boundaries[1], isChecked));
+        } else {
+            boolean isCheckedChunk = isChecked;
+            List<Callable<ParsedChunk>> parsers = new ArrayList<>();
+            for (int i = 0; i + 1 < boundaries.length; i++) {
+                int from = boundaries[i];
+                int to = boundaries[i + 1];
+                parsers.add(() -> parseChunk(chars, from, to, isCheckedChunk));
+            }
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                for (Future<ParsedChunk> chunk : pool.invokeAll(parsers)) {
+                    chunks.add(chunk.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ManagerSaveException("Cannot read taskFile. Error: interrupted.");
+            } catch (ExecutionException e) {
+                throw new ManagerSaveException("Cannot read taskFile. Error: "
+                        + e.getCause().getMessage());
+            } finally {
+                pool.shutdown();
+            }
+        }
 
-                for (SubTask subTask : taskManager.getSubList()) {
-                    if (subTask.getParentId() == 0) {
-                        continue;
+        int restored = 0;
+        long recordOffset = headerRecords;
+        for (ParsedChunk chunk : chunks) {
+            chunk.tasks().forEach(task -> loadedTasks.put(task.getId(), task));
+            restored += chunk.tasks().size();
+            for (SkippedRow row : chunk.skippedRows()) {
+                skipRecord(taskFile, recordOffset + row.recordNumber(), row.reason());
+            }
+            recordOffset += chunk.recordCount();
+        }
+        return restored;
+    }
+
+    /**
+     * Parses the rows of one chunk of a CSV snapshot. Runs on a pool thread,
+     * so skipped rows are collected in the result rather than reported directly.
+     *
+     * @param chars     the snapshot text
+     * @param from      the position of the first character of the chunk
+     * @param to        the end of the chunk, exclusive
+     * @param isChecked true if rows end with a checksum to verify
+     * @return the parsed tasks, the skipped rows and the number of records in the chunk
+     * @throws ManagerSaveException if the chunk cannot be read
+     */
+    private ParsedChunk parseChunk(char[] chars, int from, int to, boolean isChecked) {
+        List<Task> tasks = new ArrayList<>();
+        List<SkippedRow> skippedRows = new ArrayList<>();
+        try (CsvReader reader = new CsvReader(new CharArrayReader(chars, from, to - from))) {
+            while (reader.nextRecord()) {
+                readTask(reader, 0, isChecked, (reason, number) ->
+                        skippedRows.add(new SkippedRow(number, reason)))
+                        .ifPresent(tasks::add);
+            }
+            return new ParsedChunk(tasks, skippedRows, reader.getRecordNumber());
+        } catch (IOException e) {
+            throw new ManagerSaveException("Cannot read taskFile. Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Applies the journal records to the given map of tasks by ID.
+     * A journal record is a CSV row whose first field is the record type,
+     * followed by either a task row or a task ID, and ends with a checksum.
+     * Records that fail their checksum or cannot be parsed are skipped and reported,
+     * but still count towards the compaction threshold.
+     *
+     * @param loadedTasks the map to update
+     * @return the number of journal records found and of those applied
+     * @throws ManagerSaveException if the journal cannot be read
+     */
+    private JournalReplay replayJournal(Map<Integer, Task> loadedTasks) {
+        if (!journalFile.isFile()) {
+            return new JournalReplay(0, 0);
+        }
+        int records = 0;
+        int applied = 0;
+        try (CsvReader reader = new CsvReader(Files.newBufferedReader(journalFile.toPath()))) {
+            while (reader.nextRecord()) {
+                records++;
+                if (reader.fieldEquals(0, UPSERT_RECORD_TYPE)) {
+                    Optional<Task> task = readTask(reader, 1, true, (reason, number) ->
+                            skipRecord(journalFile, number, reason));
+                    if (task.isPresent()) {
+                        loadedTasks.put(task.get().getId(), task.get());
+                        applied++;
                     }
-                    taskManager.getEpicById(subTask.getParentId())
-                            .ifPresent(epic -> epic.addSubId(subTask.getId())
-                            );
+                } else if (reader.fieldEquals(0, DELETE_RECORD_TYPE)) {
+                    Optional<Integer> id = readDeletedId(reader);
+                    if (id.isPresent()) {
+                        loadedTasks.remove(id.get());
+                        applied++;
+                    }
+                } else {
+                    skipRecord(journalFile, reader.getRecordNumber(), "unknown record type");
                 }
+            }
+        } catch (IOException e) {
+            throw new ManagerSaveException("Cannot read journal. Error: " + e.getMessage());
+        }
+        return new JournalReplay(records, applied);
+    }
 
-                for (Epic epic : taskManager.getEpicList()) {
-                    taskManager.updateEpic(epic);
-                }
+    /**
+     * Returns the outcome of loading this manager from its files: the number of restored
+     * records, a description of every record skipped because it failed its checksum
+     * or could not be parsed, and of every task restored without its start time.
+     * A manager that was not loaded from a file has an empty report.
+     *
+     * @return the load report
+     */
+    public LoadReport getLoadReport() {
+        return loadReport;
+    }
+
+    /**
+     * Finds the position of every known column in the CSV header.
+     *
+     * @param header the header map of column positions to column names
+     * @return an array of column positions indexed by the column constants
+     */
+    private static int[] locateColumns(Map<Integer, String> header) {
+        int[] positions = new int[COLUMN_NAMES.size()];
+        header.forEach((position, name) -> positions[COLUMN_NAMES.indexOf(name)] = position);
+        return positions;
+    }
+
+    /**
+     * Checks whether the current record is the CSV header, or its leading columns.
+     *
+     * @param reader      the reader positioned at a record
+     * @param columnCount the number of leading header columns to expect
+     * @return true if the record has exactly these columns in the header order
+     */
+    private boolean isHeader(CsvReader reader, int columnCount) {
+        Map<Integer, String> header = csvString.getCsvHeaderMap();
+        if (reader.getFieldCount() != columnCount) {
+            return false;
+        }
+        for (int i = 0; i < columnCount; i++) {
+            if (!reader.fieldEquals(i, header.get(i))) {
+                return false;
             }
         }
-        return taskManager;
+        return true;
+    }
+
+    /**
+     * Creates a task from the fields of the current record, starting at the given field.
+     * Fields are parsed straight from the reader buffer, without an intermediate map.
+     * Unparseable epic IDs, start times and durations fall back to their defaults,
+     * while a missing ID, type or status rejects the row. A rejected row is reported.
+     *
+     * @param reader    the reader positioned at a record
+     * @param offset    the index of the field holding the first column
+     * @param isChecked true if the row ends with a checksum to verify
+     * @param onSkipped receives the reason and the record number of a rejected row
+     * @return an Optional containing the task or empty if the row is invalid
+     */
+    private Optional<Task> readTask(CsvReader reader, int offset, boolean isChecked,
+                                    ObjLongConsumer<String> onSkipped) {
+        int columnCount = isChecked ? COLUMN_NAMES.size() : CHECKSUM_COLUMN;
+        if (!reader.isWellFormed() || reader.getFieldCount() != offset + columnCount) {
+            onSkipped.accept("malformed record", reader.getRecordNumber());
+            return Optional.empty();
+        }
+        if (isChecked && !hasValidChecksum(reader, offset)) {
+            onSkipped.accept("checksum mismatch", reader.getRecordNumber());
+            return Optional.empty();
+        }
+        try {
+            return createTask(new ValidData(
+                    reader.getInt(offset + columns[ID_COLUMN]),
+                    reader.getString(offset + columns[NAME_COLUMN]),
+                    reader.getEnum(offset + columns[STATUS_COLUMN], TASK_STATUSES),
+                    reader.getString(offset + columns[DESCRIPTION_COLUMN]),
+                    reader.getEnum(offset + columns[TYPE_COLUMN], TASK_TYPES),
+                    readInt(reader, offset + columns[EPIC_COLUMN]).orElse(0),
+                    TimeSchedule.parseLocalDateTime(
+                            reader.getChars(offset + columns[START_COLUMN]))
+                            .orElse(LocalDateTime.MIN),
+                    readLong(reader, offset + columns[DURATION_COLUMN])
+                            .map(Duration::ofSeconds)
+                            .orElse(Duration.ZERO)));
+        } catch (IllegalArgumentException e) {
+            onSkipped.accept("invalid values", reader.getRecordNumber());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Reads the task ID of a journal delete record after verifying its checksum.
+     *
+     * @param reader the reader positioned at a delete record
+     * @return an Optional containing the ID or empty if the record is invalid
+     */
+    private Optional<Integer> readDeletedId(CsvReader reader) {
+        Optional<Integer> id = Optional.empty();
+        if (reader.isWellFormed() && reader.getFieldCount() == 3
+                && readChecksum(reader, 2) == reader.getChecksum(1, 2)) {
+            id = readInt(reader, 1);
+        }
+        if (id.isEmpty()) {
+            skipRecord(journalFile, reader.getRecordNumber(), "malformed delete record");
+        }
+        return id;
+    }
+
+    /**
+     * Compares the checksum column of a task row with the checksum of its other columns.
+     * The header is matched exactly, so the other columns precede the checksum in column order.
+     *
+     * @param reader the reader positioned at a task row
+     * @param offset the index of the field holding the first column
+     * @return true if the checksum matches
+     */
+    private boolean hasValidChecksum(CsvReader reader, int offset) {
+        return readChecksum(reader, offset + columns[CHECKSUM_COLUMN])
+                == reader.getChecksum(offset, offset + CHECKSUM_COLUMN);
+    }
+
+    /**
+     * Parses a hexadecimal checksum field.
+     *
+     * @param reader the reader positioned at a record
+     * @param index  the field index
+     * @return the checksum, or -1 if the field is not a valid checksum
+     */
+    private static long readChecksum(CsvReader reader, int index) {
+        CharSequence field = reader.getChars(index);
+        try {
+            return Long.parseLong(field, 0, field.length(), 16);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Remembers a record skipped while loading, for the load report.
+     *
+     * @param source       the file being read
+     * @param recordNumber the number of the record in the file, starting from 1
+     * @param reason       why the record was skipped
+     */
+    private void skipRecord(File source, long recordNumber, String reason) {
+        skippedRecords.add(source.getName() + " record " + recordNumber + ": " + reason);
+    }
+
+    /**
+     * Describes a parsed task that could not be restored as saved, for the load report.
+     *
+     * @param task   the task
+     * @param reason why the task was not restored as saved
+     * @return the file, the task ID and the reason
+     */
+    private String describeTask(Task task, String reason) {
+        return taskFile.getName() + " task " + task.getId() + ": " + reason;
+    }
+
+    /**
+     * Parses a field as an integer, treating an empty or invalid field as missing.
+     *
+     * @param reader the reader positioned at a record
+     * @param index  the field index
+     * @return an Optional containing the value or empty if it cannot be parsed
+     */
+    private static Optional<Integer> readInt(CsvReader reader, int index) {
+        if (reader.isEmpty(index)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(reader.getInt(index));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Parses a field as a long, treating an empty or invalid field as missing.
+     *
+     * @param reader the reader positioned at a record
+     * @param index  the field index
+     * @return an Optional containing the value or empty if it cannot be parsed
+     */
+    private static Optional<Long> readLong(CsvReader reader, int index) {
+        if (reader.isEmpty(index)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(reader.getLong(index));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
     }
 
     /**
@@ -121,8 +641,7 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
      */
     @Override
     public void addTask(Task newTask) {
-        super.addTask(newTask);
-        save();
+        persistChange(() -> super.addTask(newTask), () -> Set.of(newTask.getId()));
     }
 
     /**
@@ -132,8 +651,7 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
      */
     @Override
     public void updateTask(Task updateTask) {
-        super.updateTask(updateTask);
-        save();
+        persistChange(() -> super.updateTask(updateTask), () -> Set.of(updateTask.getId()));
     }
 
     /**
@@ -143,19 +661,18 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
      */
     @Override
     public void removeTaskById(Integer taskId) {
-        super.removeTaskById(taskId);
-        save();
+        persistChange(() -> super.removeTaskById(taskId), () -> Set.of(taskId));
     }
 
     /**
      * Adds a new epic to the manager and saves the state to the file.
+     * Subtasks listed by the epic are saved as well, since they get linked to it.
      *
      * @param newEpic the epic to add
      */
     @Override
     public void addEpic(Epic newEpic) {
-        super.addEpic(newEpic);
-        save();
+        persistChange(() -> super.addEpic(newEpic), () -> withSubIds(newEpic));
     }
 
     /**
@@ -165,8 +682,7 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
      */
     @Override
     public void updateEpic(Epic updateEpic) {
-        super.updateEpic(updateEpic);
-        save();
+        persistChange(() -> super.updateEpic(updateEpic), () -> Set.of(updateEpic.getId()));
     }
 
     /**
@@ -176,8 +692,11 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
      */
     @Override
     public void removeEpicById(Integer epicId) {
-        super.removeEpicById(epicId);
-        save();
+        Set<Integer> removedIds = Optional.ofNullable(epicId)
+                .map(epicStorageMap::get)
+                .map(this::withSubIds)
+                .orElseGet(Set::of);
+        persistChange(() -> super.removeEpicById(epicId), () -> removedIds);
     }
 
     /**
@@ -187,156 +706,453 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
      */
     @Override
     public void addSub(SubTask newSub) {
-        super.addSub(newSub);
-        save();
+        persistChange(() -> super.addSub(newSub), () -> withParentId(newSub));
     }
 
     /**
      * Updates an existing subtask and saves the updated state to the file.
+     * The parent epic is saved as well, since its status and time are recalculated.
      *
      * @param updateSub the subtask to update
      */
     @Override
     public void updateSub(SubTask updateSub) {
-        super.updateSub(updateSub);
-        save();
+        persistChange(() -> super.updateSub(updateSub), () -> withParentId(updateSub));
     }
 
     /**
      * Removes a subtask by its ID and saves the updated state to the file.
+     * The parent epic is saved as well, since its status and time are recalculated.
      *
      * @param subId the ID of the subtask to remove
      */
     @Override
     public void removeSubById(Integer subId) {
-        super.removeSubById(subId);
-        save();
+        Set<Integer> removedIds = Optional.ofNullable(subId)
+                .map(subStorageMap::get)
+                .map(this::withParentId)
+                .orElseGet(Set::of);
+        persistChange(() -> super.removeSubById(subId), () -> removedIds);
     }
 
     /**
-     * Removes all tasks and saves the updated state to the file.
+     * Places all unscheduled tasks into free time and saves the state to the file once.
+     *
+     * @param from     the earliest allowed start time
+     * @param strategy the strategy used to choose free time for each task
+     * @return a list of the tasks that received a start time
+     */
+    @Override
+    public List<Task> autoSchedule(LocalDateTime from, FitStrategy strategy) {
+        return persistResult(() -> super.autoSchedule(from, strategy), scheduled -> {
+            Set<Integer> placedIds = new LinkedHashSet<>();
+            scheduled.forEach(task -> placedIds.addAll(task instanceof SubTask sub
+                    ? withParentId(sub)
+                    : Set.of(task.getId())));
+            return placedIds;
+        });
+    }
+
+    /**
+     * Removes all tasks and saves the updated state to the file once.
      */
     @Override
     public void removeAllTask() {
-        super.removeAllTask();
-        save();
+        persistChange(super::removeAllTask, Set::of);
     }
 
     /**
-     * Removes all epics and saves the updated state to the file.
+     * Removes all epics and saves the updated state to the file once.
      */
     @Override
     public void removeAllEpic() {
-        super.removeAllEpic();
-        save();
+        persistChange(super::removeAllEpic, Set::of);
     }
 
     /**
-     * Removes all subtasks and saves the updated state to the file.
+     * Removes all subtasks and saves the updated state to the file once.
      */
     @Override
     public void removeAllSub() {
-        super.removeAllSub();
-        save();
+        persistChange(super::removeAllSub, Set::of);
     }
 
     /**
-     * Parses a CSV string into a Task object.
+     * Runs a change and saves the IDs it touched once the outermost change completes.
      *
-     * @param parseString the CSV string to parse
-     * @return an Optional containing the task or empty if parsing failed
+     * @param change         the change of the in-memory state
+     * @param changedTaskIds supplies the IDs of tasks created, updated or removed by the change
      */
-    private Optional<Task> fromString(String parseString) {
-        Optional<Map<String, String>> parsedData = parseTaskFromCsv(
-                parseString, csvString.getCsvHeaderMap()
-        );
-        if (parsedData.isPresent()) {
-            Optional<Task> task = createTaskFromMap(parsedData.get());
-            if (task.isPresent()) {
-                return task;
+    private void persistChange(Runnable change, Supplier<Set<Integer>> changedTaskIds) {
+        persistResult(() -> {
+            change.run();
+            return null;
+        }, result -> changedTaskIds.get());
+    }
+
+    /**
+     * Runs a change and saves the IDs it touched once the outermost change completes.
+     * Bulk operations are built from single removals, so nested changes only collect
+     * their IDs and the whole operation reaches the file in one write.
+     * IDs collected before a failure are still saved, since their changes already happened.
+     *
+     * @param change         the change of the in-memory state
+     * @param changedTaskIds maps the result of the change to the IDs of tasks
+     *                       created, updated or removed by it
+     * @param <T>            the type of the change result
+     * @return the result of the change
+     */
+    private <T> T persistResult(Supplier<T> change, Function<T, Set<Integer>> changedTaskIds) {
+        boolean isSaved = false;
+        stateLock.lock();
+        mutationDepth++;
+        try {
+            T result = change.get();
+            changedIds.addAll(changedTaskIds.apply(result));
+            return result;
+        } finally {
+            try {
+                mutationDepth--;
+                if (mutationDepth == 0) {
+                    Set<Integer> savedIds = new LinkedHashSet<>(changedIds);
+                    changedIds.clear();
+                    if (!savedIds.isEmpty()) {
+                        save(savedIds);
+                        isSaved = true;
+                    }
+                }
+            } finally {
+                stateLock.unlock();
+            }
+            // The writer composes snapshots under the state lock, so wait without it.
+            if (isSaved && !isWaitDeferred) {
+                awaitPersisted();
             }
         }
-        return Optional.empty();
     }
 
     /**
-     * Serializes a Task into a CSV string.
+     * Blocks until the changes made by the current thread are written as required
+     * by the durability level. Returns at once for {@code SYNCHRONOUS}, where changes
+     * are already written, and for {@code FIRE_AND_FORGET}, where nobody waits.
      *
-     * @param task the task to serialize
-     * @return an Optional containing the serialized task string or empty if serialization failed
+     * @throws ManagerSaveException if the background writer failed to write the changes
      */
-    private Optional<String> toString(Task task) {
-        return composeTaskToCsv(createMapFromTask(task), csvString.getCsvHeaderMap());
+    @Override
+    public void awaitPersisted() {
+        CompletableFuture<Void> pending = pendingWrite.get();
+        if (pending == null) {
+            return;
+        }
+        pendingWrite.remove();
+        try {
+            pending.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof ManagerSaveException saveException) {
+                throw saveException;
+            }
+            throw new ManagerSaveException("Cannot save taskFile. Error: " + e.getMessage());
+        }
     }
 
     /**
-     * Saves all tasks to the file in CSV format.
+     * Blocks until every change queued so far is written, regardless of the durability level.
+     *
+     * @throws ManagerSaveException if the background writer failed to write any change
      */
-    private void save() {
-        List<Map<Integer, ? extends Task>> allTask = List.of(epicStorageMap,
-                taskStorageMap, subStorageMap);
-
-        StringBuilder tasksData = new StringBuilder(csvString.getCsvHeader() + "\n");
-        allTask.stream()
-                .flatMap(map -> map.values().stream())
-                .map(this::toString)
-                    .forEach(optionalCsvTaskString ->
-                            optionalCsvTaskString.ifPresent(
-                                    csvLine -> tasksData.append(csvLine).append("\n")
-                            )
-                );
-        saveFile(taskFile, tasksData.toString());
+    public void flush() {
+        if (writer == null) {
+            return;
+        }
+        writer.flush().exceptionally(e -> null).join();
+        if (writer.getFailure() != null) {
+            throw writer.getFailure();
+        }
     }
 
     /**
-     * Converts a Task object into a map of field names to values.
+     * Writes the remaining changes and stops the background writer.
+     * Changes made after closing fail with a ManagerSaveException.
      *
-     * @param task the task to convert
-     * @return an Optional containing the map or empty if the task is null
+     * @throws ManagerSaveException if the background writer failed to write any change
      */
-    private Map<String, String> createMapFromTask(Task task) {
+    @Override
+    public void close() {
+        if (writer == null) {
+            return;
+        }
+        writer.close();
+        if (writer.getFailure() != null) {
+            throw writer.getFailure();
+        }
+    }
 
-        Map<String, String> taskMap = new HashMap<>();
+    /**
+     * Makes changes return without waiting for their write, leaving the wait
+     * to {@link #awaitPersisted()}. Used by {@link ConcurrentTaskManager},
+     * which waits after releasing its lock, so concurrent changes share a write.
+     */
+    void deferPersistenceWaits() {
+        isWaitDeferred = true;
+    }
 
-        // Generic part of all task types
-        taskMap.put("id", task.getId().toString());
-        taskMap.put("type", task.getType().toString());
-        taskMap.put("name", task.getTitle());
-        taskMap.put("status", task.getStatus().toString());
-        taskMap.put("description", task.getDescription());
-        taskMap.put("epic", "");
-        taskMap.put("start", TimeSchedule.composeLocalDateTime(task.getStartTime()));
-        taskMap.put("duration", TimeSchedule.composeDuration(task.getDuration()));
+    /**
+     * Returns the ID of the epic together with the IDs of its subtasks.
+     *
+     * @param epic the epic
+     * @return a set of task IDs
+     */
+    private Set<Integer> withSubIds(Epic epic) {
+        Set<Integer> ids = new LinkedHashSet<>(epic.getSubIdList());
+        ids.add(epic.getId());
+        return ids;
+    }
 
-        // Adding details from different task types
+    /**
+     * Returns the ID of the subtask together with the ID of its parent epic, if any.
+     *
+     * @param sub the subtask
+     * @return a set of task IDs
+     */
+    private Set<Integer> withParentId(SubTask sub) {
+        Set<Integer> ids = new LinkedHashSet<>();
+        ids.add(sub.getId());
+        if (sub.getParentId() != null && sub.getParentId() != 0) {
+            ids.add(sub.getParentId());
+        }
+        return ids;
+    }
+
+    /**
+     * Encodes a task as a CSV row: its values in column order, followed by
+     * the CRC32C checksum of these values. Fields are written straight into
+     * a reusable buffer, so only the returned row is allocated.
+     *
+     * @param task the task to encode
+     * @return the CSV row without a line separator
+     */
+    private String encodeTask(Task task) {
+        rowWriter.clear()
+                .field(task.getId())
+                .field(task.getType())
+                .field(task.getTitle())
+                .field(task.getStatus())
+                .field(task.getDescription());
         if (task instanceof SubTask sub) {
-            if (sub.getParentId() == null) {
-                taskMap.put("epic", "0");
+            rowWriter.field(sub.getParentId() == null ? 0 : sub.getParentId());
+        } else {
+            rowWriter.field("");
+        }
+        dateBuffer.setLength(0);
+        TimeSchedule.appendLocalDateTime(dateBuffer, task.getStartTime());
+        return rowWriter.field(dateBuffer)
+                .field(task.getDuration() == null ? 0 : task.getDuration().getSeconds())
+                .checksumField()
+                .toString();
+    }
+
+    /**
+     * Returns the CSV row of a stored task, encoding it only if it changed since
+     * it was last encoded. Rows of changed tasks are dropped from the cache by
+     * {@link #save(Set)}, so a snapshot re-encodes only the tasks changed since
+     * the previous save and reuses the rows of all others.
+     *
+     * @param task the stored task
+     * @return the CSV row
+     */
+    private String encodeRow(Task task) {
+        String row = encodedRows.get(task.getId());
+        if (row == null) {
+            row = encodeTask(task);
+            encodedRows.put(task.getId(), row);
+        }
+        return row;
+    }
+
+    /**
+     * Saves the changed tasks according to the storage mode.
+     * In snapshot mode the whole file is rewritten. In journal mode every changed task
+     * is appended to the journal as an upsert record, or as a delete record if it
+     * no longer exists; the journal is compacted once it reaches the threshold.
+     *
+     * @param savedIds the IDs of tasks changed since the last save
+     */
+    private void save(Set<Integer> savedIds) {
+        savedIds.forEach(encodedRows::remove);
+        if (storageOptions.mode() == StorageMode.SNAPSHOT || journalRecords < 0) {
+            compact();
+            return;
+        }
+
+        StringBuilder journalData = new StringBuilder();
+        for (Integer id : savedIds) {
+            Task task = findStoredTask(id);
+            if (task == null) {
+                journalData.append(DELETE_RECORD)
+                        .append(rowWriter.clear().field(id).checksumField())
+                        .append("\n");
             } else {
-                taskMap.put("epic", sub.getParentId().toString());
+                journalData.append(UPSERT_RECORD).append(encodeRow(task)).append("\n");
             }
         }
-        return taskMap;
+        if (writer == null) {
+            appendFile(journalFile, journalData.toString());
+        } else {
+            trackWrite(writer.append(journalData.toString()));
+        }
+        journalRecords += savedIds.size();
+
+        if (journalRecords >= storageOptions.compactionThreshold()) {
+            compact();
+        }
+    }
+
+    /**
+     * Writes a full snapshot and removes the journal, whose records it now contains.
+     * A journal left by an earlier session is removed on the first save as well,
+     * so it is never replayed over a newer snapshot.
+     */
+    private void compact() {
+        if (writer != null) {
+            trackWrite(writer.replace(this::composeLockedSnapshot));
+            journalRecords = 0;
+            return;
+        }
+        saveFile(taskFile, composeSnapshot());
+        if (journalRecords != 0 && journalFile != null) {
+            try {
+                Files.deleteIfExists(journalFile.toPath());
+            } catch (IOException e) {
+                throw new ManagerSaveException("Cannot truncate journal. Error: "
+                        + e.getMessage());
+            }
+        }
+        journalRecords = 0;
+    }
+
+    /**
+     * Returns the stored task, epic or subtask with the given ID.
+     *
+     * @param id the task ID
+     * @return the stored task, or null if no task has this ID
+     */
+    private Task findStoredTask(Integer id) {
+        Task task = taskStorageMap.get(id);
+        if (task == null) {
+            task = epicStorageMap.get(id);
+        }
+        if (task == null) {
+            task = subStorageMap.get(id);
+        }
+        return task;
     }
 
     /**
-     * Reconstructs a Task from a field-value map.
+     * Remembers the write of the current thread to wait for, unless nobody waits for it.
      *
-     * @param taskMap the map representing the task
-     * @return an Optional containing the task or empty if validation failed
+     * @param write the future of the queued write
      */
+    private void trackWrite(CompletableFuture<Void> write) {
+        if (storageOptions.durability() != Durability.FIRE_AND_FORGET) {
+            pendingWrite.set(write);
+        }
+    }
 
-    private Optional<Task> createTaskFromMap(Map<String, String> taskMap) {
+    /**
+     * Writes a full snapshot of the stored tasks in the configured format
+     * and waits until it is written.
+     *
+     * @throws ManagerSaveException if the snapshot cannot be written
+     */
+    void writeSnapshot() {
+        stateLock.lock();
+        try {
+            compact();
+        } finally {
+            stateLock.unlock();
+        }
+        awaitPersisted();
+    }
 
-        ValidData validData;
-        Optional<ValidData> validateData = validateValues(taskMap);
+    /**
+     * Returns the stored tasks without recording them in the history.
+     *
+     * @return the epics, tasks and subtasks in this order
+     */
+    List<Task> getStoredTasks() {
+        return Stream.of(epicStorageMap, taskStorageMap, subStorageMap)
+                .flatMap(map -> map.values().stream())
+                .map(Task.class::cast)
+                .toList();
+    }
 
-        if (validateData.isPresent()) {
-            validData = validateData.get();
-        } else {
-            return Optional.empty();
+    /**
+     * Composes the content of the task file with all tasks in the configured format.
+     * A compressed CSV snapshot is compressed row by row as it is composed,
+     * so only the compressed bytes are gathered.
+     *
+     * @return the CSV text with the header and one line per task as UTF-8 bytes,
+     *         possibly compressed, or the binary snapshot
+     */
+    private byte[] composeSnapshot() {
+        if (storageOptions.format() == SnapshotFormat.BINARY) {
+            return BinarySnapshot.encode(getStoredTasks());
+        }
+        if (storageOptions.compression() == Compression.GZIP) {
+            return composeCompressedSnapshot();
         }
 
+        StringBuilder tasksData = new StringBuilder(csvString.getCsvHeader()).append("\n");
+        for (Task task : getStoredTasks()) {
+            tasksData.append(encodeRow(task)).append("\n");
+        }
+        return tasksData.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Composes the content of the task file on the background writer, holding the state
+     * lock, so no change runs while the stored tasks and cached rows are read.
+     *
+     * @return the content of the task file
+     */
+    private byte[] composeLockedSnapshot() {
+        stateLock.lock();
+        try {
+            return composeSnapshot();
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
+    /**
+     * Composes a gzip-compressed CSV snapshot, streaming the rows through the compressor.
+     *
+     * @return the compressed snapshot
+     * @throws ManagerSaveException if the snapshot cannot be compressed
+     */
+    private byte[] composeCompressedSnapshot() {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (Writer out = new OutputStreamWriter(SnapshotCompression.compress(compressed,
+                storageOptions.compressionLevel()), StandardCharsets.UTF_8)) {
+            out.write(csvString.getCsvHeader());
+            out.write('\n');
+            for (Task task : getStoredTasks()) {
+                out.write(encodeRow(task));
+                out.write('\n');
+            }
+        } catch (IOException e) {
+            throw new ManagerSaveException("Cannot compress taskFile. Error: " + e.getMessage());
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * Creates a task of the parsed type from validated data.
+     *
+     * @param validData the typed task fields
+     * @return an Optional containing the task or empty if the type is not supported
+     */
+    private Optional<Task> createTask(ValidData validData) {
         switch (validData.type) {
             case TASK -> {
                 return Optional.of(new Task(validData.id, validData.name, validData.status,
@@ -376,55 +1192,31 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
     }
 
     /**
-     * Validates and parses raw values from a task map into typed task fields.
-     * This method ensures that the raw string values in the task map are converted to appropriate
-     * types (e.g., integers for IDs, enumerated types for status and type) and checks for validity.
-     * If any value is invalid or cannot be parsed, it returns an empty Optional.
+     * Result of parsing one chunk of a CSV snapshot.
      *
-     * @param taskMap a map of field names to string values representing a task
-     * @return an Optional containing ValidData, which holds the validated and parsed fields,
-     *         or empty if any value is invalid or missing
+     * @param tasks       the parsed tasks in file order
+     * @param skippedRows the rows rejected while parsing
+     * @param recordCount the number of records in the chunk
      */
-    private Optional<ValidData> validateValues(Map<String, String> taskMap) {
-        try {
-            // Parse task fields from the map
-            int id = Integer.parseInt(taskMap.getOrDefault("id", "0"));
-            int epic = parseEpicInt(taskMap.get("epic")).orElse(0);
-            String name = taskMap.getOrDefault("name", "");
-            String description = taskMap.getOrDefault("description", "");
-            TaskStatus status = valueOf(taskMap.getOrDefault("status", ""));
-            TaskType type = TaskType.valueOf(taskMap.getOrDefault("type", ""));
-            LocalDateTime startTime = TimeSchedule.parseLocalDateTime(taskMap.get("start"))
-                    .orElse(LocalDateTime.MIN);
-            Duration duration = TimeSchedule.parseDurationFromSeconds(taskMap.get("duration"))
-                    .orElse(Duration.ZERO);
-
-            // Return the validated data in an Optional
-            return Optional.of(new ValidData(id, name, status, description,
-                    type, epic, startTime, duration));
-
-        } catch (IllegalArgumentException | NullPointerException e) {
-            // If any parsing or validation fails, return an empty Optional
-            return Optional.empty();
-        }
+    private record ParsedChunk(List<Task> tasks, List<SkippedRow> skippedRows, long recordCount) {
     }
 
     /**
-     * Attempts to parse the "epic" field from a string into an integer.
-     * If the value is a valid integer, it returns it; otherwise, it returns an empty Optional.
+     * Outcome of replaying the journal.
      *
-     * @param value the string value representing the epic ID
-     * @return an Optional containing the parsed integer if the value is valid,
-     *         or an empty Optional if the value cannot be parsed as an integer
+     * @param records the number of records found, valid or not
+     * @param applied the number of records applied to the loaded tasks
      */
-    private Optional<Integer> parseEpicInt(String value) {
-        try {
-            // Try to parse the epic ID as an integer
-            return value != null ? Optional.of(Integer.parseInt(value)) : Optional.empty();
-        } catch (NumberFormatException e) {
-            // If the value cannot be parsed as an integer, return an empty Optional
-            return Optional.empty();
-        }
+    private record JournalReplay(int records, int applied) {
+    }
+
+    /**
+     * Row rejected while parsing a chunk of a CSV snapshot.
+     *
+     * @param recordNumber the number of the record within its chunk, starting from 1
+     * @param reason       why the row was rejected
+     */
+    private record SkippedRow(long recordNumber, String reason) {
     }
 
     /**
@@ -458,49 +1250,18 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
     }
 
     /**
-     * Composes a CSV-formatted string from a map using a predefined header pattern.
-     *
-     * @param taskMap a map of field names to values
-     * @param csvHeaderMap a header map that defines field order
-     * @return an Optional containing the composed CSV string or empty if composition failed
-     */
-    private Optional<String> composeTaskToCsv(Map<String, String> taskMap,
-                                              Map<Integer, String> csvHeaderMap) {
-
-        StringBuilder composeString = new StringBuilder();
-        Map<Integer, String> orderedPattern = new TreeMap<>(csvHeaderMap);
-
-        for (Map.Entry<Integer, String> entry : orderedPattern.entrySet()) {
-            composeString.append(
-                    csvString.toCsvEntry(
-                            taskMap.get(entry.getValue())
-                    )
-            ).append(",");
-        }
-
-        if (!composeString.isEmpty()) {
-            if (composeString.charAt(composeString.length() - 1) == ',') {
-                return Optional.of(composeString
-                        .deleteCharAt(composeString.length() - 1)
-                        .toString());
-            }
-        }
-
-        return Optional.empty();
-    }
-
-    /**
-     * Writes the given task data to the specified file. If writing fails,
-     * throws a ManagerSaveException.
+     * Replaces the specified file with the given task data through a temporary file,
+     * so a crash during the write leaves the previous content intact.
+     * If writing fails, throws a ManagerSaveException.
      *
      * @param savingFile   the file to write to
-     * @param taskFileData the string data representing the task list in CSV format
+     * @param taskFileData the snapshot of the task list
      * @throws ManagerSaveException if the file cannot be written
      */
-    private void saveFile(File savingFile, String taskFileData) {
+    private void saveFile(File savingFile, byte[] taskFileData) {
         if (savingFile != null) {
             try {
-                Files.writeString(savingFile.toPath(), taskFileData);
+                AtomicFiles.replace(savingFile.toPath(), taskFileData, false);
             } catch (IOException e) {
                 throw new ManagerSaveException("Cannot save taskFile. Error: " + e.getMessage());
             }
@@ -508,30 +1269,22 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
     }
 
     /**
-     * Loads the content of the specified file as a string. If the file does not exist
-     * or is unreadable, returns an empty Optional.
+     * Appends the given records to the specified file, creating it if needed.
+     * If writing fails, throws a ManagerSaveException.
      *
-     * @param loadingFile the file to read from
-     * @return an Optional containing the loaded string data, or empty
-     * @throws ManagerSaveException if reading the file fails
+     * @param savingFile  the file to append to
+     * @param journalData the records to append
+     * @throws ManagerSaveException if the file cannot be written
      */
-    private Optional<String> loadFile(File loadingFile) {
-
-        if (!loadingFile.exists() || !loadingFile.isFile()) {
-            return Optional.empty();
-        }
-
-        String loadedRawData;
-        try {
-            loadedRawData = Files.readString(loadingFile.toPath());
-        } catch (IOException e) {
-            throw new ManagerSaveException("Cannot read taskFile. Error: " + e.getMessage());
-        }
-
-        if (loadedRawData.isBlank()) {
-            return Optional.empty();
+    private void appendFile(File savingFile, String journalData) {
+        if (savingFile != null) {
+            try {
+                Files.writeString(savingFile.toPath(), journalData,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                throw new ManagerSaveException("Cannot append to journal. Error: "
+                        + e.getMessage());
+            }
         }
-
-        return Optional.of(loadedRawData);
     }
 }
@@ -0,0 +1,286 @@
+package kanban.managers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Background writer of {@link FileBackedTaskManager} that gathers queued writes
+ * into a single file operation. A batch is written once it holds enough writes
+ * or once the flush interval has passed since its first write.
+ * Within a batch only the last snapshot is written, since it already contains
+ * every change queued before it, and it replaces the task file atomically;
+ * journal records queued after it are appended in one write. Snapshots are queued
+ * as suppliers and composed on the background thread once per batch, so a burst
+ * of changes costs one snapshot instead of one per change. Every queued write
+ * gets a future completed when its batch is on disk, or completed exceptionally
+ * with a {@link ManagerSaveException}.
+ */
+class GroupCommitWriter implements AutoCloseable {
+
+    private final Path taskPath;
+    private final Path journalPath;
+    private final long flushIntervalNanos;
+    private final int flushBatchSize;
+    private final boolean isForced;
+    private final ReentrantLock lock;
+    private final Condition hasWork;
+    private final Thread worker;
+    private List<PendingWrite> pending;
+    private CompletableFuture<Void> lastQueued;
+    private boolean isFlushRequested;
+    private boolean isClosed;
+    private volatile ManagerSaveException failure;
+
+    /**
+     * Queued write with the future completed once it is on disk.
+     *
+     * @param records  the journal records to append, or null for a snapshot
+     * @param snapshot the supplier of the task file content, or null for journal records
+     * @param done     the future of the write
+     */
+    private record PendingWrite(byte[] records, Supplier<byte[]> snapshot,
+                                CompletableFuture<Void> done) {
+
+        /**
+         * Checks whether the write replaces the task file.
+         *
+         * @return true for a snapshot, false for journal records
+         */
+        boolean isSnapshot() {
+            return snapshot != null;
+        }
+    }
+
+    /**
+     * Constructs a writer and starts its background thread.
+     *
+     * @param taskFile    the snapshot file
+     * @param journalFile the journal file
+     * @param options     the flush interval, batch size and durability of writes
+     */
+    GroupCommitWriter(File taskFile, File journalFile, StorageOptions options) {
+        taskPath = taskFile.toPath();
+        journalPath = journalFile.toPath();
+        flushIntervalNanos = options.flushInterval().toNanos();
+        flushBatchSize = options.flushBatchSize();
+        isForced = options.durability() == Durability.WAIT_FOR_FSYNC;
+        lock = new ReentrantLock();
+        hasWork = lock.newCondition();
+        pending = new ArrayList<>();
+        lastQueued = CompletableFuture.completedFuture(null);
+        worker = Thread.ofPlatform()
+                .name("task-file-writer")
+                .daemon()
+                .start(this::run);
+    }
+
+    /**
+     * Queues journal records to be appended to the journal file.
+     *
+     * @param records the records to append
+     * @return a future completed once the records are on disk
+     * @throws ManagerSaveException if the writer is closed
+     */
+    CompletableFuture<Void> append(String records) {
+        return enqueue(new PendingWrite(records.getBytes(StandardCharsets.UTF_8), null,
+                new CompletableFuture<>()));
+    }
+
+    /**
+     * Queues a snapshot to replace the task file. The journal is removed
+     * after the snapshot is written, since the snapshot contains its records.
+     * The snapshot is composed on the background thread when its batch is written,
+     * and only if no later snapshot is queued in the same batch; it must reflect
+     * the state at that time, which includes every change queued before it.
+     *
+     * @param snapshot composes the full content of the task file
+     * @return a future completed once the snapshot is on disk
+     * @throws ManagerSaveException if the writer is closed
+     */
+    CompletableFuture<Void> replace(Supplier<byte[]> snapshot) {
+        return enqueue(new PendingWrite(null, snapshot, new CompletableFuture<>()));
+    }
+
+    /**
+     * Writes the queued writes without waiting for the flush interval.
+     *
+     * @return a future completed once every write queued so far is on disk
+     */
+    CompletableFuture<Void> flush() {
+        lock.lock();
+        try {
+            isFlushRequested = true;
+            hasWork.signal();
+            return lastQueued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the first failure of a background write, if any.
+     * Writes whose callers do not wait for them report failures only here.
+     *
+     * @return the failure, or null if every write succeeded
+     */
+    ManagerSaveException getFailure() {
+        return failure;
+    }
+
+    /**
+     * Writes the queued writes and stops the background thread.
+     * Writes queued after closing are rejected.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            isClosed = true;
+            hasWork.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Adds a write to the current batch and wakes the background thread
+     * if the batch has just started or is full.
+     *
+     * @param write the write to queue
+     * @return the future of the write
+     * @throws ManagerSaveException if the writer is closed
+     */
+    private CompletableFuture<Void> enqueue(PendingWrite write) {
+        lock.lock();
+        try {
+            if (isClosed) {
+                throw new ManagerSaveException("Cannot save taskFile. Error: writer is closed.");
+            }
+            pending.add(write);
+            lastQueued = write.done();
+            if (pending.size() == 1 || pending.size() >= flushBatchSize) {
+                hasWork.signal();
+            }
+            return write.done();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Main loop of the background thread: waits for a batch to fill up
+     * or time out, then writes it outside the lock so callers keep queueing.
+     */
+    private void run() {
+        while (true) {
+            List<PendingWrite> batch;
+            lock.lock();
+            try {
+                while (pending.isEmpty() && !isClosed) {
+                    hasWork.await();
+                }
+                if (pending.isEmpty()) {
+                    return;
+                }
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (pending.size() < flushBatchSize && !isFlushRequested && !isClosed) {
+                    long left = deadline - System.nanoTime();
+                    if (left <= 0) {
+                        break;
+                    }
+                    hasWork.awaitNanos(left);
+                }
+                isFlushRequested = false;
+                batch = pending;
+                pending = new ArrayList<>();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+            write(batch);
+        }
+    }
+
+    /**
+     * Writes a batch: the last snapshot, if any, and the journal records queued after it.
+     *
+     * @param batch the writes in the order they were queued
+     */
+    private void write(List<PendingWrite> batch) {
+        int lastSnapshot = -1;
+        for (int i = 0; i < batch.size(); i++) {
+            if (batch.get(i).isSnapshot()) {
+                lastSnapshot = i;
+            }
+        }
+
+        ByteArrayOutputStream records = new ByteArrayOutputStream();
+        for (int i = lastSnapshot + 1; i < batch.size(); i++) {
+            records.writeBytes(batch.get(i).records());
+        }
+
+        try {
+            if (lastSnapshot >= 0) {
+                byte[] snapshot = batch.get(lastSnapshot).snapshot().get();
+                AtomicFiles.replace(taskPath, snapshot, isForced);
+                if (Files.deleteIfExists(journalPath) && isForced) {
+                    // Without it a crash may bring the journal back and replay it
+                    // over the newer snapshot.
+                    AtomicFiles.forceDirectory(journalPath.toAbsolutePath().getParent());
+                }
+            }
+            if (records.size() > 0) {
+                appendFile(journalPath, records.toByteArray());
+            }
+            batch.forEach(write -> write.done().complete(null));
+        } catch (IOException | RuntimeException e) {
+            ManagerSaveException error = e instanceof ManagerSaveException saveException
+                    ? saveException
+                    : new ManagerSaveException("Cannot save taskFile. Error: " + e.getMessage());
+            if (failure == null) {
+                failure = error;
+            }
+            batch.forEach(write -> write.done().completeExceptionally(error));
+        }
+    }
+
+    /**
+     * Appends bytes to a file, forcing them to the device if required.
+     *
+     * @param path the file to append to
+     * @param data the bytes to append
+     * @throws IOException if the file cannot be written
+     */
+    private void appendFile(Path path, byte[] data) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (isForced) {
+                channel.force(false);
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package kanban.managers;
 
 import java.util.ArrayList;
+import java.util.List;
 import kanban.tasks.Task;
 
 /**
@@ -29,4 +30,15 @@ public interface HistoryManager {
      * @return a list of tasks in the history
      */
     ArrayList<Task> getTasks();
+
+    /**
+     * Retrieves a page of the history: at most {@code limit} tasks following the task
+     * with the given ID, in the order they were accessed.
+     *
+     * @param afterId the ID of the last task of the previous page, or null for the first page
+     * @param limit   the maximum number of tasks to return
+     * @return a list of tasks in the history after the given task
+     * @throws IllegalArgumentException if limit is negative or the task is not in the history
+     */
+    List<Task> getTasks(Integer afterId, int limit);
 }
@@ -2,6 +2,7 @@ package kanban.managers;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import kanban.tasks.Task;
 import kanban.utility.HistoryNode;
@@ -118,4 +119,38 @@ public class InMemoryHistoryManager implements HistoryManager {
 
         return historyOrdered;
     }
+
+    /**
+     * Retrieves a page of the history. The task the page follows is found by ID in the map,
+     * so only the returned nodes of the linked list are visited.
+     *
+     * @param afterId the ID of the last task of the previous page, or null for the first page
+     * @param limit   the maximum number of tasks to return
+     * @return a list of tasks in the history after the given task
+     * @throws IllegalArgumentException if limit is negative or the task is not in the history
+     */
+    @Override
+    public List<Task> getTasks(Integer afterId, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit must not be negative.");
+        }
+        HistoryNode currentHistoryNode;
+        if (afterId == null) {
+            currentHistoryNode = historyMap.isEmpty() ? null : firstHistoryNode;
+        } else {
+            HistoryNode afterHistoryNode = historyMap.get(afterId);
+            if (afterHistoryNode == null) {
+                throw new IllegalArgumentException("Task with ID " + afterId
+                        + " is not in the history.");
+            }
+            currentHistoryNode = afterHistoryNode.getNext();
+        }
+
+        List<Task> page = new ArrayList<>();
+        while (currentHistoryNode != null && page.size() < limit) {
+            page.add(currentHistoryNode.getNodeTask());
+            currentHistoryNode = currentHistoryNode.getNext();
+        }
+        return page;
+    }
 }
@@ -7,34 +7,46 @@ import static kanban.tasks.TaskStatus.NEW;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
 import kanban.tasks.Epic;
 import kanban.tasks.SubTask;
 import kanban.tasks.Task;
 import kanban.tasks.TaskStatus;
+import kanban.utility.FitStrategy;
 import kanban.utility.TimeSchedule;
 
 /**
  * In-memory implementation of the TaskManager interface.
- * Stores and manages tasks, epics, and subtasks using hash maps.
+ * Stores and manages tasks, epics, and subtasks in maps ordered by ID,
+ * so pages of any list are taken from a tail view of its map.
  * Supports task history tracking, prioritization, and time validation.
  */
 public class InMemoryTaskManager implements TaskManager {
     protected Integer globalIdCounter;
     protected final HistoryManager history;
-    protected final Map<Integer, Task> taskStorageMap;
-    protected final Map<Integer, Epic> epicStorageMap;
-    protected final Map<Integer, SubTask> subStorageMap;
-    protected TimeSchedule timeTable;
-    protected final Set<Task> taskPriorityOrderList;
+    protected final NavigableMap<Integer, Task> taskStorageMap;
+    protected final NavigableMap<Integer, Epic> epicStorageMap;
+    protected final NavigableMap<Integer, SubTask> subStorageMap;
+    protected final TimeSchedule timeTable;
+    protected final NavigableSet<Task> taskPriorityOrderList;
+    protected final Map<Integer, Task> taskPriorityIndex;
+    private long version;
+    private final long[] collectionVersions;
 
     /**
      * Constructs a new InMemoryTaskManager with empty storages
@@ -42,13 +54,68 @@ public class InMemoryTaskManager implements TaskManager {
      * and sets the starting value for the ID generator.
      */
     public InMemoryTaskManager() {
+        this(new TimeSchedule());
+    }
+
+    /**
+     * Constructs a new InMemoryTaskManager that validates task time
+     * with the given time schedule.
+     *
+     * @param timeTable an empty time schedule used for overlap detection
+     * @throws IllegalArgumentException if timeTable is null or not empty
+     */
+    public InMemoryTaskManager(TimeSchedule timeTable) {
+        if (timeTable == null || !timeTable.isEmpty()) {
+            throw new IllegalArgumentException("Time schedule must be empty and not null.");
+        }
         globalIdCounter = 1;
         history = Managers.getDefaultHistory();
-        taskStorageMap = new HashMap<>();
-        epicStorageMap = new HashMap<>();
-        subStorageMap = new HashMap<>();
-        timeTable = new TimeSchedule();
+        taskStorageMap = new TreeMap<>();
+        epicStorageMap = new TreeMap<>();
+        subStorageMap = new TreeMap<>();
+        this.timeTable = timeTable;
         taskPriorityOrderList = new TreeSet<>(Comparator.naturalOrder());
+        taskPriorityIndex = new HashMap<>();
+        collectionVersions = new long[TaskCollection.values().length];
+    }
+
+    /**
+     * Returns the modification version of the whole manager.
+     *
+     * @return the number of changes made so far
+     */
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the modification version of a single list: the global version
+     * of its latest change, so it grows monotonically and differs between changes.
+     *
+     * @param collection the list
+     * @return the global version at the latest change of the list, 0 if it never changed
+     * @throws IllegalArgumentException if collection is null
+     */
+    @Override
+    public long getVersion(TaskCollection collection) {
+        if (collection == null) {
+            throw new IllegalArgumentException("Collection must not be null.");
+        }
+        return collectionVersions[collection.ordinal()];
+    }
+
+    /**
+     * Records a change of the given lists. Called before the change is made,
+     * so a change that fails halfway is never left without a new version.
+     *
+     * @param collections the lists the change affects
+     */
+    private void markChanged(TaskCollection... collections) {
+        version++;
+        for (TaskCollection collection : collections) {
+            collectionVersions[collection.ordinal()] = version;
+        }
     }
 
     /**
@@ -81,6 +148,80 @@ public class InMemoryTaskManager implements TaskManager {
         return new ArrayList<>(subStorageMap.values());
     }
 
+    /**
+     * Returns a page of regular tasks in ascending order of ID.
+     *
+     * @param afterId the ID of the last task of the previous page, or null for the first page
+     * @param limit   the maximum number of tasks to return
+     * @return List of at most limit tasks with IDs greater than afterId
+     * @throws IllegalArgumentException if limit is negative
+     */
+    @Override
+    public List<Task> getTaskPage(Integer afterId, int limit) {
+        return getPage(taskStorageMap, afterId, limit);
+    }
+
+    /**
+     * Returns a page of epics in ascending order of ID.
+     *
+     * @param afterId the ID of the last epic of the previous page, or null for the first page
+     * @param limit   the maximum number of epics to return
+     * @return List of at most limit epics with IDs greater than afterId
+     * @throws IllegalArgumentException if limit is negative
+     */
+    @Override
+    public List<Epic> getEpicPage(Integer afterId, int limit) {
+        return getPage(epicStorageMap, afterId, limit);
+    }
+
+    /**
+     * Returns a page of subtasks in ascending order of ID.
+     *
+     * @param afterId the ID of the last subtask of the previous page, or null for the first page
+     * @param limit   the maximum number of subtasks to return
+     * @return List of at most limit subtasks with IDs greater than afterId
+     * @throws IllegalArgumentException if limit is negative
+     */
+    @Override
+    public List<SubTask> getSubPage(Integer afterId, int limit) {
+        return getPage(subStorageMap, afterId, limit);
+    }
+
+    /**
+     * Takes a page from a storage map through its tail view, so only the returned
+     * entries are visited: O(log n + k) instead of copying the whole map.
+     *
+     * @param <T>     the type of the stored tasks
+     * @param storage the storage map
+     * @param afterId the ID the page follows, or null for the first page
+     * @param limit   the maximum number of tasks to return
+     * @return the page of tasks
+     * @throws IllegalArgumentException if limit is negative
+     */
+    private static <T extends Task> List<T> getPage(NavigableMap<Integer, T> storage,
+                                                    Integer afterId, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit must not be negative.");
+        }
+        Map<Integer, T> tail = afterId == null ? storage : storage.tailMap(afterId, false);
+        return tail.values().stream()
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Looks up a stored task by an ID that may be null.
+     * The ordered storage maps reject null keys, so a null ID is treated as not found.
+     *
+     * @param <T>     the type of the stored tasks
+     * @param storage the storage map
+     * @param id      the ID to look up, possibly null
+     * @return the stored task, or null if there is none
+     */
+    private static <T extends Task> T findById(Map<Integer, T> storage, Integer id) {
+        return id == null ? null : storage.get(id);
+    }
+
     /**
      * Returns a list of all subtasks belonging to a specific epic.
      *
@@ -91,7 +232,7 @@ public class InMemoryTaskManager implements TaskManager {
      */
     @Override
     public Optional<List<SubTask>> getEpicSubTaskList(Integer epicId) {
-        return Optional.ofNullable(epicStorageMap.get(epicId))
+        return Optional.ofNullable(findById(epicStorageMap, epicId))
                 .flatMap(epic -> Optional.ofNullable(epic.getSubIdList()))
                 .map(subIdList -> subIdList.stream()
                         .map(subStorageMap::get)
@@ -145,6 +286,101 @@ public class InMemoryTaskManager implements TaskManager {
         return new ArrayList<>(history.getTasks());
     }
 
+    /**
+     * Retrieves a page of the history of viewed tasks in the order they were accessed.
+     *
+     * @param afterId the ID of the last task of the previous page, or null for the first page
+     * @param limit   the maximum number of tasks to return
+     * @return list of at most limit tasks accessed after the given task
+     * @throws IllegalArgumentException if limit is negative or the task is not in the history
+     */
+    @Override
+    public List<Task> getHistoryPage(Integer afterId, int limit) {
+        return history.getTasks(afterId, limit);
+    }
+
+    /**
+     * Finds the earliest free window in the timetable.
+     *
+     * @param from     the earliest allowed start time
+     * @param duration the duration of the task
+     * @param deadline the latest allowed end time
+     * @return an Optional containing the start time, or empty if no such time exists
+     * @throws IllegalArgumentException if any argument is null
+     */
+    @Override
+    public Optional<LocalDateTime> findFreeWindow(LocalDateTime from, Duration duration,
+                                                  LocalDateTime deadline) {
+        if (from == null || duration == null || deadline == null) {
+            throw new IllegalArgumentException("Free window bounds must not be null.");
+        }
+        return timeTable.findFreeWindow(from, duration, deadline);
+    }
+
+    /**
+     * Places all unscheduled tasks and subtasks with a valid duration into free time.
+     * The plan is computed first with a single index of free gaps, so the timetable,
+     * the priority list and the storages are changed only once a start time is known
+     * for every task; the epics of placed subtasks are recalculated afterwards.
+     * Tasks whose duration is out of bounds stay unscheduled.
+     *
+     * @param from     the earliest allowed start time
+     * @param strategy the strategy used to choose free time for each task
+     * @return a list of the tasks that received a start time, in placement order
+     * @throws IllegalArgumentException if from or strategy is null,
+     *                                  or from is {@code LocalDateTime.MIN}
+     */
+    @Override
+    public List<Task> autoSchedule(LocalDateTime from, FitStrategy strategy) {
+        if (!timeTable.isValidStartTimeValue(from) || strategy == null) {
+            throw new IllegalArgumentException("Start time and fit strategy must be valid.");
+        }
+        markChanged(TaskCollection.TASKS, TaskCollection.SUBTASKS,
+                TaskCollection.EPICS, TaskCollection.PRIORITIZED);
+
+        List<Task> unscheduled = Stream.concat(taskStorageMap.values().stream(),
+                        subStorageMap.values().stream())
+                .filter(task -> !timeTable.isValidStartTimeValue(task.getStartTime()))
+                .filter(task -> timeTable.isValidDurationValue(task.getDuration()))
+                .sorted(Comparator.comparing(Task::getId))
+                .toList();
+        List<LocalDateTime> starts = timeTable.allocateWindows(from,
+                unscheduled.stream().map(Task::getDuration).toList(), strategy);
+
+        List<Task> scheduled = new ArrayList<>();
+        Set<Integer> touchedEpicIds = new HashSet<>();
+        for (int i = 0; i < unscheduled.size(); i++) {
+            LocalDateTime start = starts.get(i);
+            if (start == LocalDateTime.MIN) {
+                continue;
+            }
+            Task task = unscheduled.get(i);
+            timeTable.addTimeInterval(start, task.getDuration());
+
+            if (task instanceof SubTask sub) {
+                SubTask placedSub = new SubTask(sub);
+                placedSub.setStartTime(start);
+                subStorageMap.put(placedSub.getId(), placedSub);
+                addToPriorityOrder(placedSub);
+                touchedEpicIds.add(placedSub.getParentId());
+                scheduled.add(placedSub);
+            } else {
+                Task placedTask = new Task(task);
+                placedTask.setStartTime(start);
+                taskStorageMap.put(placedTask.getId(), placedTask);
+                addToPriorityOrder(placedTask);
+                scheduled.add(placedTask);
+            }
+        }
+
+        touchedEpicIds.stream()
+                .map(epicStorageMap::get)
+                .filter(Objects::nonNull)
+                .map(epic -> updateEpicTime(epic, timeTable))
+                .forEach(epic -> epicStorageMap.put(epic.getId(), epic));
+        return scheduled;
+    }
+
     /**
      * Adds a new task to the storage.
      *
@@ -157,6 +393,7 @@ public class InMemoryTaskManager implements TaskManager {
         if (task == null) {
             throw new IllegalArgumentException("New task must not be null.");
         }
+        markChanged(TaskCollection.TASKS, TaskCollection.PRIORITIZED);
         if (task.getId() == null || task.getId() == 0) {
             task.setId(generateId());
         }
@@ -166,7 +403,7 @@ public class InMemoryTaskManager implements TaskManager {
                         + task.getId() + " time overlapped with other task.");
             }
             timeTable.addTimeInterval(task.getStartTime(), task.getDuration());
-            taskPriorityOrderList.add(new Task(task));
+            addToPriorityOrder(task);
         }
         taskStorageMap.put(task.getId(), new Task(task));
     }
@@ -183,6 +420,7 @@ public class InMemoryTaskManager implements TaskManager {
         if (sub == null) {
             throw new IllegalArgumentException("New Subtask must not be null.");
         }
+        markChanged(TaskCollection.SUBTASKS, TaskCollection.EPICS, TaskCollection.PRIORITIZED);
         if (sub.getId() == null || sub.getId() == 0) {
             sub.setId(generateId());
         }
@@ -191,7 +429,7 @@ public class InMemoryTaskManager implements TaskManager {
                 throw new TaskTimeOverlapException("New task time overlapped with other task.");
             }
             timeTable.addTimeInterval(sub.getStartTime(), sub.getDuration());
-            taskPriorityOrderList.add(new SubTask(sub));
+            addToPriorityOrder(sub);
         }
 
         if (sub.getParentId() != 0) {
@@ -219,6 +457,7 @@ public class InMemoryTaskManager implements TaskManager {
         if (epic == null) {
             throw new IllegalArgumentException("New epic must not be null.");
         }
+        markChanged(TaskCollection.EPICS, TaskCollection.SUBTASKS);
         if (epic.getId() == null || epic.getId() == 0) {
             epic.setId(generateId());
         }
@@ -253,15 +492,16 @@ public class InMemoryTaskManager implements TaskManager {
         if (updateTask == null) {
             throw new IllegalArgumentException("Updated Task must not be null.");
         }
+        markChanged(TaskCollection.TASKS, TaskCollection.PRIORITIZED);
 
-        Task currentTask = taskStorageMap.get(updateTask.getId());
+        Task currentTask = findById(taskStorageMap, updateTask.getId());
 
         if (currentTask == null) {
             throw new NoSuchElementException("Task to update with id: "
                     + updateTask.getId() + " not found.");
         }
 
-        timeTable = updateTimeTable(currentTask, updateTask);
+        updateTimeTable(currentTask, updateTask);
         updateTaskPriorityOrderList(currentTask, updateTask);
 
         taskStorageMap.put(updateTask.getId(), new Task(updateTask));
@@ -280,20 +520,21 @@ public class InMemoryTaskManager implements TaskManager {
         if (updateSub == null) {
             throw new IllegalArgumentException("Updated SubTask must not be null.");
         }
+        markChanged(TaskCollection.SUBTASKS, TaskCollection.EPICS, TaskCollection.PRIORITIZED);
 
-        SubTask currentSub = subStorageMap.get(updateSub.getId());
+        SubTask currentSub = findById(subStorageMap, updateSub.getId());
 
         if (currentSub == null) {
             throw new NoSuchElementException("Updated subtask with id: "
                     + updateSub.getId() + " not found.");
         }
 
-        timeTable = updateTimeTable(currentSub, updateSub);
+        updateTimeTable(currentSub, updateSub);
         updateTaskPriorityOrderList(currentSub, updateSub);
 
         subStorageMap.put(updateSub.getId(), new SubTask(updateSub));
 
-        Epic epic = epicStorageMap.get(updateSub.getParentId());
+        Epic epic = findById(epicStorageMap, updateSub.getParentId());
         if (epic != null) {
             if (epic.getSubIdList().contains(updateSub.getId())) {
                 Epic updateEpic = updateEpicTime(epic, timeTable);
@@ -320,8 +561,9 @@ public class InMemoryTaskManager implements TaskManager {
         if (updateEpic == null) {
             throw new IllegalArgumentException("Updated Epic must not be null.");
         }
+        markChanged(TaskCollection.EPICS, TaskCollection.SUBTASKS);
 
-        if (!epicStorageMap.containsKey(updateEpic.getId())) {
+        if (findById(epicStorageMap, updateEpic.getId()) == null) {
             throw new NoSuchElementException("Epic with id: " + updateEpic.getId() + " not found.");
         }
 
@@ -342,6 +584,7 @@ public class InMemoryTaskManager implements TaskManager {
         if (id == null) {
             throw new IllegalArgumentException("Removing id must not be null.");
         }
+        markChanged(TaskCollection.TASKS, TaskCollection.PRIORITIZED, TaskCollection.HISTORY);
 
         Task task = taskStorageMap.get(id);
 
@@ -350,7 +593,7 @@ public class InMemoryTaskManager implements TaskManager {
         }
         if (timeTable.isValidTimeValue(task.getStartTime(), task.getDuration())) {
             timeTable.removeTimeInterval(task.getStartTime(), task.getDuration());
-            taskPriorityOrderList.remove(task);
+            removeFromPriorityOrder(task.getId());
         }
 
         history.remove(id);
@@ -369,6 +612,8 @@ public class InMemoryTaskManager implements TaskManager {
         if (id == null) {
             throw new IllegalArgumentException("Removing id must not be null.");
         }
+        markChanged(TaskCollection.SUBTASKS, TaskCollection.EPICS,
+                TaskCollection.PRIORITIZED, TaskCollection.HISTORY);
 
         SubTask sub = subStorageMap.get(id);
 
@@ -377,7 +622,7 @@ public class InMemoryTaskManager implements TaskManager {
         }
         if (timeTable.isValidTimeValue(sub.getStartTime(), sub.getDuration())) {
             timeTable.removeTimeInterval(sub.getStartTime(), sub.getDuration());
-            taskPriorityOrderList.remove(sub);
+            removeFromPriorityOrder(sub.getId());
         }
 
         history.remove(id);
@@ -411,6 +656,8 @@ public class InMemoryTaskManager implements TaskManager {
         if (id == null) {
             throw new IllegalArgumentException("Removing id must not be null.");
         }
+        markChanged(TaskCollection.EPICS, TaskCollection.SUBTASKS,
+                TaskCollection.PRIORITIZED, TaskCollection.HISTORY);
 
         Epic epic = epicStorageMap.get(id);
 
@@ -430,7 +677,7 @@ public class InMemoryTaskManager implements TaskManager {
                                         sub.getStartTime(), sub.getDuration()
                         )) {
                             timeTable.removeTimeInterval(sub.getStartTime(), sub.getDuration());
-                            taskPriorityOrderList.remove(sub);
+                            removeFromPriorityOrder(sub.getId());
                         }
                         history.remove(subId);
                         subStorageMap.remove(subId);
@@ -450,7 +697,6 @@ public class InMemoryTaskManager implements TaskManager {
         }
         List<Integer> taskToRemove = new ArrayList<>(taskStorageMap.keySet());
         taskToRemove.forEach(this::removeTaskById);
-        taskToRemove.forEach(id -> getTaskById(id).ifPresent(taskPriorityOrderList::remove));
     }
 
     /**
@@ -475,7 +721,94 @@ public class InMemoryTaskManager implements TaskManager {
         }
         List<Integer> taskToRemove = new ArrayList<>(subStorageMap.keySet());
         taskToRemove.forEach(this::removeSubById);
-        taskToRemove.forEach(id -> getTaskById(id).ifPresent(taskPriorityOrderList::remove));
+    }
+
+    /**
+     * Restores previously saved tasks, epics and subtasks in one pass.
+     * Unlike the add methods, stored IDs are kept, epic subtask lists are rebuilt
+     * from the parent IDs of the subtasks, and the status and time of every epic
+     * are calculated once at the end. Subclasses use it to load their storage
+     * without going through their own overridden add methods.
+     * The ID generator continues after the greatest restored ID.
+     *
+     * @param tasks the tasks to restore, in any order
+     * @throws TaskTimeOverlapException if the time of a restored task overlaps with another task
+     * @throws NoSuchElementException   if a subtask is linked to an epic that is not restored
+     */
+    protected void restoreTasks(Collection<? extends Task> tasks) {
+        restoreTasks(tasks, (task, e) -> {
+            throw e;
+        });
+    }
+
+    /**
+     * Restores previously saved tasks, epics and subtasks in one pass, like
+     * {@link #restoreTasks(Collection)}, but passes every task that cannot be restored
+     * as saved to the given callback instead of failing. A subtask linked to an epic
+     * that is not restored is left out of all storages, with a {@link NoSuchElementException}.
+     * A task whose time overlaps with a task restored before it is restored unscheduled,
+     * with its start time set to {@link LocalDateTime#MIN}, so no task data is lost,
+     * and is passed with a {@link TaskTimeOverlapException}.
+     *
+     * @param tasks      the tasks to restore, in any order
+     * @param onRejected receives each task left out or unscheduled together with the reason;
+     *                   it may throw the exception to stop restoring
+     */
+    protected void restoreTasks(Collection<? extends Task> tasks,
+                                BiConsumer<Task, RuntimeException> onRejected) {
+        markChanged(TaskCollection.values());
+        Map<Integer, List<Integer>> subIdsByEpic = new HashMap<>();
+        int lastId = globalIdCounter - 1;
+
+        for (Task task : tasks) {
+            lastId = Integer.max(task.getId(), lastId);
+            if (task instanceof Epic epic) {
+                epicStorageMap.put(epic.getId(), new Epic(epic.getId(), epic.getTitle(),
+                        epic.getStatus(), epic.getDescription(),
+                        epic.getStartTime(), epic.getDuration()));
+            }
+        }
+
+        for (Task task : tasks) {
+            if (task instanceof Epic) {
+                continue;
+            }
+            if (task instanceof SubTask sub && sub.getParentId() != 0
+                    && !epicStorageMap.containsKey(sub.getParentId())) {
+                onRejected.accept(task, new NoSuchElementException(
+                        "SubTask linked to epic with id: " + sub.getParentId() + " not found."));
+                continue;
+            }
+            Task restored = task instanceof SubTask sub ? new SubTask(sub) : new Task(task);
+            if (timeTable.isValidTimeValue(task.getStartTime(), task.getDuration())) {
+                if (timeTable.isTimeOverlapped(task.getStartTime(), task.getDuration())) {
+                    onRejected.accept(task, new TaskTimeOverlapException("Restored task with id: "
+                            + task.getId() + " time overlapped with other task."));
+                    restored.setStartTime(LocalDateTime.MIN);
+                } else {
+                    timeTable.addTimeInterval(task.getStartTime(), task.getDuration());
+                    addToPriorityOrder(task);
+                }
+            }
+            if (restored instanceof SubTask sub) {
+                if (sub.getParentId() != 0) {
+                    subIdsByEpic.computeIfAbsent(sub.getParentId(), key -> new ArrayList<>())
+                            .add(sub.getId());
+                }
+                subStorageMap.put(sub.getId(), sub);
+            } else {
+                taskStorageMap.put(restored.getId(), restored);
+            }
+        }
+
+        subIdsByEpic.forEach((epicId, subIds) ->
+                epicStorageMap.get(epicId).getSubIdList().addAll(subIds));
+
+        for (Epic epic : List.copyOf(epicStorageMap.values())) {
+            Epic updateEpic = updateEpicStatus(updateEpicTime(epic, timeTable));
+            epicStorageMap.put(updateEpic.getId(), updateEpic);
+        }
+        globalIdCounter = lastId + 1;
     }
 
     /**
@@ -496,8 +829,75 @@ public class InMemoryTaskManager implements TaskManager {
         return taskPriorityOrderList.stream().toList();
     }
 
+    /**
+     * Returns the tasks starting within the given time window, sorted by their start time.
+     * The window is taken as a view of the priority list, so only the returned tasks
+     * are visited: O(log n + k) instead of copying the whole list.
+     *
+     * @param from  the start of the window, inclusive
+     * @param to    the end of the window, exclusive
+     * @param limit the maximum number of tasks to return
+     * @return prioritized list of tasks starting within the window
+     * @throws IllegalArgumentException if from or to is null, from is after to,
+     *                                  or limit is negative
+     */
+    @Override
+    public List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to, int limit) {
+        if (from == null || to == null || from.isAfter(to) || limit < 0) {
+            throw new IllegalArgumentException("Time window must be ordered"
+                    + " and limit must not be negative.");
+        }
+        return taskPriorityOrderList.subSet(createPriorityProbe(from), true,
+                        createPriorityProbe(to), false)
+                .stream()
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Returns the tasks that follow the given position in the priority list and start
+     * before the end of the window. The position is a bound built from the start time
+     * and ID of the last task of the previous page, so the page is a view of the list
+     * found in O(log n + k), whether or not that task still exists.
+     *
+     * @param startTime the start time of the last task of the previous page
+     * @param id        the ID of the last task of the previous page
+     * @param to        the end of the window, exclusive
+     * @param limit     the maximum number of tasks to return
+     * @return prioritized list of tasks following the position
+     * @throws IllegalArgumentException if startTime, id or to is null, or limit is negative
+     */
+    @Override
+    public List<Task> getPrioritizedTasksAfter(LocalDateTime startTime, Integer id,
+                                               LocalDateTime to, int limit) {
+        if (startTime == null || id == null || to == null || limit < 0) {
+            throw new IllegalArgumentException("Position and window end must not be null"
+                    + " and limit must not be negative.");
+        }
+        if (!startTime.isBefore(to)) {
+            return List.of();
+        }
+        Task position = new Task(id, "", NEW, "", startTime, Duration.ZERO);
+        return taskPriorityOrderList.subSet(position, false, createPriorityProbe(to), false)
+                .stream()
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Creates a task used only as a bound for range views of the priority list.
+     * It is ordered before every stored task with the same start time.
+     *
+     * @param startTime the start time of the bound
+     * @return a task placed at the given start time
+     */
+    private Task createPriorityProbe(LocalDateTime startTime) {
+        return new Task(Integer.MIN_VALUE, "", NEW, "", startTime, Duration.ZERO);
+    }
+
     /**
      * Updates the task priority list by replacing an old task with a new one.
+     * The old entry is found by ID, and the updated task is added only if its time is valid.
      *
      * @param currentTask the existing task
      * @param updateTask  the updated task
@@ -506,11 +906,37 @@ public class InMemoryTaskManager implements TaskManager {
         if (currentTask == null || updateTask == null) {
             return;
         }
-        if (!taskPriorityOrderList.contains(currentTask)) {
-            return;
+        removeFromPriorityOrder(currentTask.getId());
+        if (timeTable.isValidTimeValue(updateTask.getStartTime(), updateTask.getDuration())) {
+            addToPriorityOrder(updateTask);
+        }
+    }
+
+    /**
+     * Adds a copy of a task to the priority list and indexes the stored entry by ID.
+     * Entries are ordered by start time and then by ID, so tasks starting
+     * at the same time never replace each other.
+     *
+     * @param task the task to add
+     */
+    private void addToPriorityOrder(Task task) {
+        Task entry = task instanceof SubTask sub ? new SubTask(sub) : new Task(task);
+        taskPriorityOrderList.add(entry);
+        taskPriorityIndex.put(entry.getId(), entry);
+    }
+
+    /**
+     * Removes a task from the priority list by its ID.
+     * The stored entry is looked up in the index, so the exact entry is removed
+     * in O(log n) even if the caller holds a task with a different start time.
+     *
+     * @param id the ID of the task to remove
+     */
+    private void removeFromPriorityOrder(Integer id) {
+        Task entry = taskPriorityIndex.remove(id);
+        if (entry != null) {
+            taskPriorityOrderList.remove(entry);
         }
-        taskPriorityOrderList.remove(currentTask);
-        taskPriorityOrderList.add(updateTask);
     }
 
     /**
@@ -532,6 +958,7 @@ public class InMemoryTaskManager implements TaskManager {
         }
         T taskGeneric = storageMap.get(taskId);
         if (taskGeneric != null) {
+            markChanged(TaskCollection.HISTORY);
             history.add(taskGeneric);
         }
         return taskGeneric;
@@ -638,16 +1065,14 @@ public class InMemoryTaskManager implements TaskManager {
 
     /**
      * Updates the timetable with a modified task.
-     * Ensures no overlapping occurs in the updated schedule.
+     * Only the time of the modified task is touched: the new time is validated
+     * first and the timetable is changed only if no overlapping occurs.
      *
      * @param currentTask the task before update
      * @param updateTask  the task after update
-     * @return updated TimeSchedule
      * @throws TaskTimeOverlapException if time overlap occurs
      */
-    private TimeSchedule updateTimeTable(Task currentTask, Task updateTask) {
-
-        TimeSchedule updateTimeTable = new TimeSchedule(timeTable.getTimeSchedule());
+    private void updateTimeTable(Task currentTask, Task updateTask) {
 
         boolean currentTaskTimeValid = timeTable.isValidTimeValue(
                 currentTask.getStartTime(), currentTask.getDuration()
@@ -661,36 +1086,30 @@ public class InMemoryTaskManager implements TaskManager {
             if (!currentTask.getStartTime().equals(updateTask.getStartTime())
                     || !currentTask.getDuration().equals(updateTask.getDuration())) {
 
-                updateTimeTable.removeTimeInterval(
-                        currentTask.getStartTime(), currentTask.getDuration()
-                );
-                if (updateTimeTable.isTimeOverlapped(
+                if (!timeTable.moveTimeInterval(
+                        currentTask.getStartTime(), currentTask.getDuration(),
                         updateTask.getStartTime(), updateTask.getDuration()
                 )) {
                     throw new TaskTimeOverlapException("Update task with id: "
                             + updateTask.getId() + " time overlapped with other task.");
                 }
-                updateTimeTable.addTimeInterval(
-                        updateTask.getStartTime(), updateTask.getDuration()
-                );
             }
 
         } else if (!currentTaskTimeValid && updateTaskTimeValid) {
-            if (updateTimeTable.isTimeOverlapped(
+            if (timeTable.isTimeOverlapped(
                     updateTask.getStartTime(), updateTask.getDuration()
             )) {
                 throw new TaskTimeOverlapException("Update task with id: "
                         + updateTask.getId() + " time overlapped with other task.");
             }
-            updateTimeTable.addTimeInterval(
+            timeTable.addTimeInterval(
                     updateTask.getStartTime(), updateTask.getDuration()
             );
 
         } else if (currentTaskTimeValid) {
-            updateTimeTable.removeTimeInterval(
+            timeTable.removeTimeInterval(
                     currentTask.getStartTime(), currentTask.getDuration()
             );
         }
-        return updateTimeTable;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,22 @@
+package kanban.managers;
+
+/**
+ * Enumeration of the ways {@link FileBackedTaskManager} parses a CSV snapshot on load:
+ * - SEQUENTIAL: the file is streamed and parsed by the loading thread
+ * - PARALLEL: the file is read into memory, split at record boundaries
+ *   and the chunks are parsed on a fork-join pool
+ */
+public enum LoadMode {
+
+    /**
+     * The file is streamed record by record, keeping a single record in memory.
+     */
+    SEQUENTIAL,
+
+    /**
+     * The whole file is held in memory and parsed on all available processors.
+     * Shortens the cold start of large task files; small files are still parsed
+     * by the loading thread.
+     */
+    PARALLEL
+}
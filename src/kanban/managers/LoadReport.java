@@ -0,0 +1,58 @@
+package kanban.managers;
+
+import java.util.List;
+
+/**
+ * Outcome of loading a {@link FileBackedTaskManager} from its files.
+ * Records that fail their checksum or cannot be parsed, such as ones torn
+ * by a crash during a write, are skipped and listed here, while every valid
+ * record is restored. A valid task whose time overlaps with a task restored
+ * before it, such as one saved with a finer schedule slot, is restored
+ * without its start time and listed separately.
+ *
+ * @param restoredRecords  the number of snapshot and journal records applied
+ * @param skippedRecords   one description per skipped record: the file, the record
+ *                         number and the reason
+ * @param unscheduledTasks one description per task restored without its start time:
+ *                         the file, the task ID and the reason
+ */
+public record LoadReport(int restoredRecords, List<String> skippedRecords,
+                         List<String> unscheduledTasks) {
+
+    /**
+     * Copies the lists of skipped records and unscheduled tasks.
+     *
+     * @throws IllegalArgumentException if a list is null or restoredRecords is negative
+     */
+    public LoadReport {
+        if (restoredRecords < 0) {
+            throw new IllegalArgumentException("Restored records must not be negative.");
+        }
+        if (skippedRecords == null) {
+            throw new IllegalArgumentException("Skipped records must not be null.");
+        }
+        if (unscheduledTasks == null) {
+            throw new IllegalArgumentException("Unscheduled tasks must not be null.");
+        }
+        skippedRecords = List.copyOf(skippedRecords);
+        unscheduledTasks = List.copyOf(unscheduledTasks);
+    }
+
+    /**
+     * Returns the report of a manager that loaded nothing.
+     *
+     * @return a report without restored or skipped records
+     */
+    public static LoadReport empty() {
+        return new LoadReport(0, List.of(), List.of());
+    }
+
+    /**
+     * Checks whether every record was restored as it was saved.
+     *
+     * @return true if no record was skipped and no task lost its start time
+     */
+    public boolean isComplete() {
+        return skippedRecords.isEmpty() && unscheduledTasks.isEmpty();
+    }
+}
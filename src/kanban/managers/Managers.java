@@ -1,6 +1,8 @@
 package kanban.managers;
 
 import java.io.File;
+import kanban.utility.ScheduleMode;
+import kanban.utility.TimeSchedule;
 
 /**
  * Utility class for providing default implementations of task and history managers.
@@ -22,6 +24,29 @@ public class Managers {
         return new InMemoryTaskManager();
     }
 
+    /**
+     * Returns an in-memory implementation of {@code TaskManager} whose task time
+     * validation is backed by the given schedule engine.
+     *
+     * @param mode the engine used by the time schedule of the manager
+     * @return a new instance of {@code InMemoryTaskManager}
+     */
+    public static InMemoryTaskManager getDefault(ScheduleMode mode) {
+        return new InMemoryTaskManager(new TimeSchedule(mode));
+    }
+
+    /**
+     * Returns an in-memory implementation of {@code TaskManager} that validates
+     * task time with the given schedule, e.g. one with a custom slot size
+     * or {@link TimeSchedule#exact()}.
+     *
+     * @param timeTable an empty time schedule used for overlap detection
+     * @return a new instance of {@code InMemoryTaskManager}
+     */
+    public static InMemoryTaskManager getDefault(TimeSchedule timeTable) {
+        return new InMemoryTaskManager(timeTable);
+    }
+
     /**
      * Returns a file-backed implementation of {@code TaskManager} using the specified file.
      * This allows tasks to be saved and loaded from persistent storage.
@@ -33,6 +58,44 @@ public class Managers {
         return new FileBackedTaskManager(file);
     }
 
+    /**
+     * Returns a file-backed implementation of {@code TaskManager} using the specified file,
+     * whose task time validation is backed by the given schedule engine.
+     *
+     * @param file the file to use for saving and loading tasks
+     * @param mode the engine used by the time schedule of the manager
+     * @return a new instance of {@code FileBackedTaskManager}
+     */
+    public static FileBackedTaskManager getFileBackedManager(File file, ScheduleMode mode) {
+        return new FileBackedTaskManager(file, new TimeSchedule(mode));
+    }
+
+    /**
+     * Returns a file-backed implementation of {@code TaskManager} using the specified file,
+     * schedule engine and persistence settings, e.g. an append-only journal
+     * instead of rewriting the whole file on every change.
+     *
+     * @param file           the file to use for saving and loading tasks
+     * @param mode           the engine used by the time schedule of the manager
+     * @param storageOptions the way changes are written to the file
+     * @return a new instance of {@code FileBackedTaskManager}
+     */
+    public static FileBackedTaskManager getFileBackedManager(File file, ScheduleMode mode,
+                                                             StorageOptions storageOptions) {
+        return new FileBackedTaskManager(file, new TimeSchedule(mode), storageOptions);
+    }
+
+    /**
+     * Returns a thread-safe view of the given {@code TaskManager}, suitable for sharing
+     * between request handler threads. Reads run in parallel, writes are exclusive.
+     *
+     * @param manager the manager to protect; it must not be used directly afterwards
+     * @return a new instance of {@code ConcurrentTaskManager}
+     */
+    public static ConcurrentTaskManager getConcurrent(TaskManager manager) {
+        return new ConcurrentTaskManager(manager);
+    }
+
     /**
      * Returns the default implementation of {@code HistoryManager}.
      * Currently, this is an instance of {@code InMemoryHistoryManager}, which stores
@@ -0,0 +1,98 @@
+package kanban.managers;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzip compression of CSV snapshots, the {@link Compression#GZIP} backend
+ * of {@link FileBackedTaskManager}.
+ * Both directions are streams: text is compressed while it is being written and
+ * decompressed while it is being parsed, so neither side holds the uncompressed
+ * file at once. A compressed file is recognized by the gzip magic bytes,
+ * so files are read the same way whatever codec is configured.
+ */
+final class SnapshotCompression {
+
+    private static final int GZIP_MAGIC_FIRST = 0x1f;
+    private static final int GZIP_MAGIC_SECOND = 0x8b;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private SnapshotCompression() {
+    }
+
+    /**
+     * Checks whether the file starts with the magic bytes of a gzip stream.
+     *
+     * @param file the file to check
+     * @return true if the file is compressed, false if it is missing or has other content
+     * @throws IOException if the file cannot be read
+     */
+    static boolean isCompressed(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return false;
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            return in.read() == GZIP_MAGIC_FIRST && in.read() == GZIP_MAGIC_SECOND;
+        }
+    }
+
+    /**
+     * Opens a reader of the UTF-8 text of a snapshot, decompressing it on the fly if needed.
+     * Malformed UTF-8 input is reported as an error in both cases.
+     *
+     * @param file the snapshot file
+     * @return a buffered reader of the text
+     * @throws IOException if the file cannot be opened
+     */
+    static BufferedReader newReader(Path file) throws IOException {
+        if (!isCompressed(file)) {
+            return Files.newBufferedReader(file);
+        }
+        Reader reader = new InputStreamReader(new GZIPInputStream(Files.newInputStream(file),
+                BUFFER_SIZE), StandardCharsets.UTF_8.newDecoder());
+        return new BufferedReader(reader, BUFFER_SIZE);
+    }
+
+    /**
+     * Reads the whole text of a snapshot as UTF-8 bytes, decompressing it if needed.
+     *
+     * @param file the snapshot file
+     * @return the uncompressed content
+     * @throws IOException if the file cannot be read or the compressed data is damaged
+     */
+    static byte[] readAllBytes(Path file) throws IOException {
+        if (!isCompressed(file)) {
+            return Files.readAllBytes(file);
+        }
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file), BUFFER_SIZE)) {
+            return in.readAllBytes();
+        }
+    }
+
+    /**
+     * Wraps a stream so that everything written to it is gzip-compressed.
+     * The gzip trailer is written when the returned stream is closed.
+     *
+     * @param out   the stream receiving the compressed bytes
+     * @param level the compression level from 0 to 9, or -1 ({@link Deflater#DEFAULT_COMPRESSION})
+     * @return the compressing stream
+     * @throws IOException if the gzip header cannot be written
+     */
+    static OutputStream compress(OutputStream out, int level) throws IOException {
+        return new GZIPOutputStream(out, BUFFER_SIZE) {
+            {
+                def.setLevel(level);
+            }
+        };
+    }
+}
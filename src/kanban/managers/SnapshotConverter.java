@@ -0,0 +1,41 @@
+package kanban.managers;
+
+import java.io.File;
+import kanban.utility.TimeSchedule;
+
+/**
+ * Utility class converting task files of {@link FileBackedTaskManager}
+ * between the snapshot formats listed in {@link SnapshotFormat}.
+ */
+public final class SnapshotConverter {
+
+    private SnapshotConverter() {
+    }
+
+    /**
+     * Reads a task file in any format, together with its journal, and writes its tasks
+     * as a single snapshot in the given format. The source files are left unchanged.
+     *
+     * @param source the task file to read
+     * @param target the task file to write; an existing file and its journal are replaced
+     * @param format the format of the written snapshot
+     * @throws IllegalArgumentException if any argument is null, or source and target
+     *                                  are the same file
+     * @throws ManagerSaveException     if a file cannot be read or written
+     */
+    public static void convert(File source, File target, SnapshotFormat format) {
+        if (source == null || target == null || format == null) {
+            throw new IllegalArgumentException("Source, target and format must not be null.");
+        }
+        if (source.getAbsoluteFile().equals(target.getAbsoluteFile())) {
+            throw new IllegalArgumentException("Source and target must be different files.");
+        }
+
+        FileBackedTaskManager loaded = FileBackedTaskManager.loadFromFile(source);
+        try (FileBackedTaskManager converted = new FileBackedTaskManager(target,
+                new TimeSchedule(), StorageOptions.defaults().withFormat(format))) {
+            converted.restoreTasks(loaded.getStoredTasks());
+            converted.writeSnapshot();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package kanban.managers;
+
+/**
+ * Enumeration of the file formats of task snapshots written by {@link FileBackedTaskManager}:
+ * - CSV: human-readable text with a header row
+ * - BINARY: compact records read through a memory-mapped buffer
+ * Either format is recognized on load, whatever format is configured for writing.
+ */
+public enum SnapshotFormat {
+
+    /**
+     * Comma-separated text, one task per line after the header row.
+     */
+    CSV,
+
+    /**
+     * Binary records with variable-length numbers and a shared table of titles.
+     * Smaller and faster to load than CSV, but not meant to be edited by hand.
+     */
+    BINARY
+}
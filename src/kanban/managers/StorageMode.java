@@ -0,0 +1,23 @@
+package kanban.managers;
+
+/**
+ * Enumeration of the ways {@link FileBackedTaskManager} persists changes:
+ * - SNAPSHOT: every change rewrites the whole task file
+ * - JOURNAL: every change appends records of the changed tasks to a journal file,
+ *   and the task file is rewritten only when the journal is compacted
+ */
+public enum StorageMode {
+
+    /**
+     * The whole task file is rewritten after every change.
+     * Cost of a change grows with the total number of tasks.
+     */
+    SNAPSHOT,
+
+    /**
+     * Only the changed tasks are appended to a journal next to the task file.
+     * Once the journal holds enough records, a fresh snapshot is written
+     * and the journal is truncated.
+     */
+    JOURNAL
+}
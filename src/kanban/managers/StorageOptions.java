@@ -0,0 +1,192 @@
+package kanban.managers;
+
+import java.time.Duration;
+
+/**
+ * Settings of the file persistence of {@link FileBackedTaskManager}.
+ * Instances are immutable; start from {@link #defaults()} and adjust
+ * single values with the {@code with...} methods.
+ *
+ * @param mode                the way changes are persisted
+ * @param compactionThreshold the number of journal records after which a snapshot
+ *                            is written and the journal is truncated
+ * @param durability          the guarantee given when a change method returns
+ * @param flushInterval       the longest time the background writer waits
+ *                            to gather more changes into one write
+ * @param flushBatchSize      the number of queued changes that triggers a write
+ *                            without waiting for the flush interval
+ * @param format              the file format of written snapshots
+ * @param loadMode            the way a CSV snapshot is parsed on load
+ * @param compression         the codec of written CSV snapshots
+ * @param compressionLevel    the level of the codec, from 0 (fastest) to 9 (smallest),
+ *                            or -1 for the default level of the codec
+ */
+public record StorageOptions(StorageMode mode, int compactionThreshold, Durability durability,
+                             Duration flushInterval, int flushBatchSize,
+                             SnapshotFormat format, LoadMode loadMode,
+                             Compression compression, int compressionLevel) {
+
+    private static final int DEFAULT_COMPACTION_THRESHOLD = 10_000;
+    private static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofMillis(5);
+    private static final int DEFAULT_FLUSH_BATCH_SIZE = 256;
+    private static final int DEFAULT_COMPRESSION_LEVEL = -1;
+    private static final int MAX_COMPRESSION_LEVEL = 9;
+
+    /**
+     * Validates the settings.
+     *
+     * @throws IllegalArgumentException if mode, durability, flushInterval, format,
+     *                                  loadMode or compression is null, flushInterval
+     *                                  is negative, compactionThreshold or flushBatchSize
+     *                                  is not positive, compressionLevel is out of range,
+     *                                  or a binary snapshot is to be compressed
+     */
+    public StorageOptions {
+        if (mode == null) {
+            throw new IllegalArgumentException("Storage mode must not be null.");
+        }
+        if (compactionThreshold < 1) {
+            throw new IllegalArgumentException("Compaction threshold must be positive.");
+        }
+        if (durability == null) {
+            throw new IllegalArgumentException("Durability must not be null.");
+        }
+        if (flushInterval == null || flushInterval.isNegative()) {
+            throw new IllegalArgumentException("Flush interval must not be null or negative.");
+        }
+        if (flushBatchSize < 1) {
+            throw new IllegalArgumentException("Flush batch size must be positive.");
+        }
+        if (format == null) {
+            throw new IllegalArgumentException("Snapshot format must not be null.");
+        }
+        if (loadMode == null) {
+            throw new IllegalArgumentException("Load mode must not be null.");
+        }
+        if (compression == null) {
+            throw new IllegalArgumentException("Compression must not be null.");
+        }
+        if (compressionLevel < DEFAULT_COMPRESSION_LEVEL
+                || compressionLevel > MAX_COMPRESSION_LEVEL) {
+            throw new IllegalArgumentException("Compression level must be from -1 to 9.");
+        }
+        if (compression != Compression.NONE && format == SnapshotFormat.BINARY) {
+            // A compressed binary snapshot could no longer be read through a mapped buffer
+            throw new IllegalArgumentException("Only CSV snapshots can be compressed.");
+        }
+    }
+
+    /**
+     * Returns the default settings: a full uncompressed CSV snapshot written by the calling
+     * thread after every change and streamed by the loading thread on load. Once the journal
+     * or the background writer is enabled, the journal is compacted after 10,000 records
+     * and the writer gathers changes for up to 5 ms or 256 changes.
+     *
+     * @return the default settings
+     */
+    public static StorageOptions defaults() {
+        return new StorageOptions(StorageMode.SNAPSHOT, DEFAULT_COMPACTION_THRESHOLD,
+                Durability.SYNCHRONOUS, DEFAULT_FLUSH_INTERVAL, DEFAULT_FLUSH_BATCH_SIZE,
+                SnapshotFormat.CSV, LoadMode.SEQUENTIAL, Compression.NONE,
+                DEFAULT_COMPRESSION_LEVEL);
+    }
+
+    /**
+     * Returns a copy of these settings with another storage mode.
+     *
+     * @param mode the way changes are persisted
+     * @return the adjusted settings
+     */
+    public StorageOptions withMode(StorageMode mode) {
+        return new StorageOptions(mode, compactionThreshold, durability,
+                flushInterval, flushBatchSize, format, loadMode, compression, compressionLevel);
+    }
+
+    /**
+     * Returns a copy of these settings with another compaction threshold.
+     *
+     * @param compactionThreshold the number of journal records that triggers compaction
+     * @return the adjusted settings
+     */
+    public StorageOptions withCompactionThreshold(int compactionThreshold) {
+        return new StorageOptions(mode, compactionThreshold, durability,
+                flushInterval, flushBatchSize, format, loadMode, compression, compressionLevel);
+    }
+
+    /**
+     * Returns a copy of these settings with another durability level.
+     *
+     * @param durability the guarantee given when a change method returns
+     * @return the adjusted settings
+     */
+    public StorageOptions withDurability(Durability durability) {
+        return new StorageOptions(mode, compactionThreshold, durability,
+                flushInterval, flushBatchSize, format, loadMode, compression, compressionLevel);
+    }
+
+    /**
+     * Returns a copy of these settings with another flush interval.
+     *
+     * @param flushInterval the longest time changes are gathered into one write
+     * @return the adjusted settings
+     */
+    public StorageOptions withFlushInterval(Duration flushInterval) {
+        return new StorageOptions(mode, compactionThreshold, durability,
+                flushInterval, flushBatchSize, format, loadMode, compression, compressionLevel);
+    }
+
+    /**
+     * Returns a copy of these settings with another flush batch size.
+     *
+     * @param flushBatchSize the number of queued changes that triggers a write
+     * @return the adjusted settings
+     */
+    public StorageOptions withFlushBatchSize(int flushBatchSize) {
+        return new StorageOptions(mode, compactionThreshold, durability,
+                flushInterval, flushBatchSize, format, loadMode, compression, compressionLevel);
+    }
+
+    /**
+     * Returns a copy of these settings with another snapshot format.
+     *
+     * @param format the file format of written snapshots
+     * @return the adjusted settings
+     */
+    public StorageOptions withFormat(SnapshotFormat format) {
+        return new StorageOptions(mode, compactionThreshold, durability,
+                flushInterval, flushBatchSize, format, loadMode, compression, compressionLevel);
+    }
+
+    /**
+     * Returns a copy of these settings with another load mode.
+     *
+     * @param loadMode the way a CSV snapshot is parsed on load
+     * @return the adjusted settings
+     */
+    public StorageOptions withLoadMode(LoadMode loadMode) {
+        return new StorageOptions(mode, compactionThreshold, durability,
+                flushInterval, flushBatchSize, format, loadMode, compression, compressionLevel);
+    }
+
+    /**
+     * Returns a copy of these settings with another snapshot compression codec.
+     *
+     * @param compression the codec of written CSV snapshots
+     * @return the adjusted settings
+     */
+    public StorageOptions withCompression(Compression compression) {
+        return new StorageOptions(mode, compactionThreshold, durability,
+                flushInterval, flushBatchSize, format, loadMode, compression, compressionLevel);
+    }
+
+    /**
+     * Returns a copy of these settings with another compression level.
+     *
+     * @param compressionLevel the level from 0 (fastest) to 9 (smallest), or -1 for the default
+     * @return the adjusted settings
+     */
+    public StorageOptions withCompressionLevel(int compressionLevel) {
+        return new StorageOptions(mode, compactionThreshold, durability,
+                flushInterval, flushBatchSize, format, loadMode, compression, compressionLevel);
+    }
+}
@@ -0,0 +1,38 @@
+package kanban.managers;
+
+/**
+ * Enumeration of the lists a {@link TaskManager} exposes, each with its own
+ * modification version (see {@link TaskManager#getVersion(TaskCollection)}):
+ * - TASKS: regular tasks
+ * - EPICS: epics, including their status, time and subtask IDs
+ * - SUBTASKS: subtasks
+ * - HISTORY: the history of viewed tasks
+ * - PRIORITIZED: the tasks and subtasks ordered by start time
+ */
+public enum TaskCollection {
+
+    /**
+     * The list of regular tasks.
+     */
+    TASKS,
+
+    /**
+     * The list of epics. Changes with its subtasks, since they define its status and time.
+     */
+    EPICS,
+
+    /**
+     * The list of subtasks.
+     */
+    SUBTASKS,
+
+    /**
+     * The history of viewed tasks. Changes whenever a task is retrieved by ID or removed.
+     */
+    HISTORY,
+
+    /**
+     * The tasks and subtasks ordered by start time.
+     */
+    PRIORITIZED
+}
@@ -1,11 +1,14 @@
 package kanban.managers;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import kanban.tasks.Epic;
 import kanban.tasks.SubTask;
 import kanban.tasks.Task;
+import kanban.utility.FitStrategy;
 
 /**
  * Interface for managing tasks, epics, and subtasks in the Kanban system.
@@ -13,6 +16,25 @@ import kanban.tasks.Task;
  */
 public interface TaskManager {
 
+    /**
+     * Returns the modification version of the manager. It grows with every change
+     * of tasks, epics, subtasks or the history, so equal versions mean unchanged content.
+     *
+     * @return the current version
+     */
+    long getVersion();
+
+    /**
+     * Returns the modification version of a single list. It grows whenever the content
+     * of the list may have changed and stays the same while the list is unchanged,
+     * whatever happens to other lists. Read the version before the list, so a change
+     * made in between is never hidden behind the earlier version.
+     *
+     * @param collection the list
+     * @return the current version of the list
+     */
+    long getVersion(TaskCollection collection);
+
     /**
      * Retrieves a list of all tasks.
      *
@@ -34,6 +56,36 @@ public interface TaskManager {
      */
     List<SubTask> getSubList();
 
+    /**
+     * Retrieves a page of tasks: at most {@code limit} tasks with IDs greater than
+     * the given one, in ascending order of ID.
+     *
+     * @param afterId the ID of the last task of the previous page, or null for the first page
+     * @param limit   the maximum number of tasks to return
+     * @return a list of tasks following the given ID
+     */
+    List<Task> getTaskPage(Integer afterId, int limit);
+
+    /**
+     * Retrieves a page of epics: at most {@code limit} epics with IDs greater than
+     * the given one, in ascending order of ID.
+     *
+     * @param afterId the ID of the last epic of the previous page, or null for the first page
+     * @param limit   the maximum number of epics to return
+     * @return a list of epics following the given ID
+     */
+    List<Epic> getEpicPage(Integer afterId, int limit);
+
+    /**
+     * Retrieves a page of subtasks: at most {@code limit} subtasks with IDs greater than
+     * the given one, in ascending order of ID.
+     *
+     * @param afterId the ID of the last subtask of the previous page, or null for the first page
+     * @param limit   the maximum number of subtasks to return
+     * @return a list of subtasks following the given ID
+     */
+    List<SubTask> getSubPage(Integer afterId, int limit);
+
     /**
      * Retrieves a list of subtasks associated with a specific epic.
      *
@@ -73,6 +125,16 @@ public interface TaskManager {
      */
     ArrayList<Task> getHistoryTask();
 
+    /**
+     * Retrieves a page of the task history: at most {@code limit} tasks accessed
+     * after the task with the given ID.
+     *
+     * @param afterId the ID of the last task of the previous page, or null for the first page
+     * @param limit   the maximum number of tasks to return
+     * @return a list of tasks in the access history following the given task
+     */
+    List<Task> getHistoryPage(Integer afterId, int limit);
+
     /**
      * Retrieves a list of all tasks sorted by priority.
      * The priority is typically determined by task start time, duration, or other predefined rules
@@ -82,6 +144,78 @@ public interface TaskManager {
      */
     List<Task> getPrioritizedTasks();
 
+    /**
+     * Retrieves the tasks starting within the given time window, sorted by priority.
+     *
+     * @param from the start of the window, inclusive
+     * @param to   the end of the window, exclusive
+     * @return a list of tasks starting within the window, ordered by their priority
+     */
+    default List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to) {
+        return getPrioritizedTasks(from, to, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Retrieves at most {@code limit} first tasks starting within the given time window,
+     * sorted by priority.
+     *
+     * @param from  the start of the window, inclusive
+     * @param to    the end of the window, exclusive
+     * @param limit the maximum number of tasks to return
+     * @return a list of tasks starting within the window, ordered by their priority
+     */
+    List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to, int limit);
+
+    /**
+     * Retrieves at most {@code limit} tasks that follow the given position in priority order
+     * and start before the end of the window. The position is the start time and the ID
+     * of the last task of the previous page, so pages stay stable when tasks are added.
+     *
+     * @param startTime the start time of the last task of the previous page
+     * @param id        the ID of the last task of the previous page
+     * @param to        the end of the window, exclusive
+     * @param limit     the maximum number of tasks to return
+     * @return a list of tasks following the position, ordered by their priority
+     */
+    List<Task> getPrioritizedTasksAfter(LocalDateTime startTime, Integer id, LocalDateTime to,
+                                        int limit);
+
+    /**
+     * Finds the earliest start time at or after the given time when a task
+     * of the given duration would not overlap any scheduled task.
+     *
+     * @param from     the earliest allowed start time
+     * @param duration the duration of the task
+     * @return an Optional containing the start time, or empty if the duration is out of bounds
+     */
+    default Optional<LocalDateTime> findFreeWindow(LocalDateTime from, Duration duration) {
+        return findFreeWindow(from, duration, LocalDateTime.MAX);
+    }
+
+    /**
+     * Finds the earliest start time at or after the given time when a task
+     * of the given duration would not overlap any scheduled task and would end
+     * no later than the deadline.
+     *
+     * @param from     the earliest allowed start time
+     * @param duration the duration of the task
+     * @param deadline the latest allowed end time
+     * @return an Optional containing the start time, or empty if no such time exists
+     */
+    Optional<LocalDateTime> findFreeWindow(LocalDateTime from, Duration duration,
+                                           LocalDateTime deadline);
+
+    /**
+     * Places all tasks and subtasks that have a duration but no start time
+     * into free time at or after the given time. Tasks are placed in the order
+     * of their IDs and the whole placement is applied at once.
+     *
+     * @param from     the earliest allowed start time
+     * @param strategy the strategy used to choose free time for each task
+     * @return a list of the tasks that received a start time
+     */
+    List<Task> autoSchedule(LocalDateTime from, FitStrategy strategy);
+
     /**
      * Adds a new task to the system.
      *
@@ -159,4 +293,12 @@ public interface TaskManager {
      * Removes all subtasks from the system.
      */
     void removeAllSub();
+
+    /**
+     * Blocks until the changes made by the current thread are persisted as required
+     * by the settings of the manager. Managers without background persistence
+     * return immediately.
+     */
+    default void awaitPersisted() {
+    }
 }
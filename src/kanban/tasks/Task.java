@@ -230,14 +230,23 @@ public class Task implements Comparable<Task> {
     }
 
     /**
-     * Compares this task to another by start time.
+     * Compares this task to another by start time, then by ID.
+     * Tasks starting at the same time are therefore distinct in sorted collections.
+     * The ordering is inconsistent with {@link #equals(Object)}, which compares only IDs:
+     * two versions of a task with different start times are equal but do not compare
+     * as 0. The priority set of {@code InMemoryTaskManager} stays correct because
+     * entries are removed through its {@code taskPriorityIndex}, using the stored instance.
      *
      * @param other the task to compare with
-     * @return comparison result by start time
+     * @return comparison result by start time, then by ID
      */
     @Override
     public int compareTo(Task other) {
-        return this.startTime.compareTo(other.startTime);
+        int byStartTime = this.startTime.compareTo(other.startTime);
+        if (byStartTime != 0) {
+            return byStartTime;
+        }
+        return Integer.compare(this.id, other.id);
     }
 
     /**
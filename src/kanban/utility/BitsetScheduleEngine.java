@@ -0,0 +1,259 @@
+package kanban.utility;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+
+/**
+ * Schedule engine that stores every time unit as a single bit of a paged bitmap.
+ * A unit index is split into a page number and an offset inside the page;
+ * each page is a fixed {@code long[]} covering 4096 consecutive units
+ * (about 28 days of 10-minute slots). Pages are allocated on first use and dropped
+ * once they become empty, so memory follows the planning horizon actually in use.
+ * Range operations work on whole 64-bit words with masks instead of single units.
+ */
+class BitsetScheduleEngine implements ScheduleEngine {
+
+    private static final int PAGE_SHIFT = 12;
+    private static final int UNITS_IN_PAGE = 1 << PAGE_SHIFT;
+    private static final int WORDS_IN_PAGE = UNITS_IN_PAGE / Long.SIZE;
+
+    private final NavigableMap<Long, long[]> pages;
+
+    /**
+     * Constructs an empty engine.
+     */
+    BitsetScheduleEngine() {
+        pages = new TreeMap<>();
+    }
+
+    /**
+     * Constructs an engine with a deep copy of existing pages.
+     *
+     * @param pages a map of page numbers to page bitmaps
+     */
+    private BitsetScheduleEngine(NavigableMap<Long, long[]> pages) {
+        this.pages = new TreeMap<>();
+        pages.forEach((page, words) -> this.pages.put(page, words.clone()));
+    }
+
+    @Override
+    public boolean isOccupied(long from, long to) {
+        if (from >= to) {
+            return false;
+        }
+        NavigableMap<Long, long[]> touchedPages = pages.subMap(
+                from >> PAGE_SHIFT, true, (to - 1) >> PAGE_SHIFT, true);
+
+        for (Map.Entry<Long, long[]> page : touchedPages.entrySet()) {
+            long pageStart = page.getKey() << PAGE_SHIFT;
+            int lo = (int) (Math.max(from, pageStart) - pageStart);
+            int hi = (int) (Math.min(to, pageStart + UNITS_IN_PAGE) - pageStart);
+            if (hasAnyBit(page.getValue(), lo, hi)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean isOccupied(long from, long to, long ignoreFrom, long ignoreTo) {
+        return isOccupied(from, Math.min(to, ignoreFrom))
+                || isOccupied(Math.max(from, ignoreTo), to);
+    }
+
+    @Override
+    public void occupy(long from, long to) {
+        for (long page = from >> PAGE_SHIFT; page <= (to - 1) >> PAGE_SHIFT; page++) {
+            long pageStart = page << PAGE_SHIFT;
+            int lo = (int) (Math.max(from, pageStart) - pageStart);
+            int hi = (int) (Math.min(to, pageStart + UNITS_IN_PAGE) - pageStart);
+            long[] words = pages.computeIfAbsent(page, key -> new long[WORDS_IN_PAGE]);
+            updateBits(words, lo, hi, true);
+        }
+    }
+
+    @Override
+    public void release(long from, long to) {
+        if (from >= to) {
+            return;
+        }
+        NavigableMap<Long, long[]> touchedPages = pages.subMap(
+                from >> PAGE_SHIFT, true, (to - 1) >> PAGE_SHIFT, true);
+
+        touchedPages.entrySet().removeIf(page -> {
+            long pageStart = page.getKey() << PAGE_SHIFT;
+            int lo = (int) (Math.max(from, pageStart) - pageStart);
+            int hi = (int) (Math.min(to, pageStart + UNITS_IN_PAGE) - pageStart);
+            updateBits(page.getValue(), lo, hi, false);
+            return Arrays.stream(page.getValue()).allMatch(word -> word == 0);
+        });
+    }
+
+    /**
+     * Finds the earliest free range by jumping from the first occupied unit
+     * of a candidate range to the next free unit, one word at a time.
+     *
+     * @param from     the earliest allowed first unit of the range
+     * @param length   the number of units in the range
+     * @param maxStart the latest allowed first unit of the range
+     * @return the first unit of the earliest free range, or empty if none fits
+     */
+    @Override
+    public OptionalLong findFree(long from, long length, long maxStart) {
+        long candidate = from;
+        while (candidate <= maxStart) {
+            OptionalLong occupied = nextOccupied(candidate, candidate + length);
+            if (occupied.isEmpty()) {
+                return OptionalLong.of(candidate);
+            }
+            candidate = nextFree(occupied.getAsLong() + 1);
+        }
+        return OptionalLong.empty();
+    }
+
+    @Override
+    public NavigableMap<Long, Long> getIntervals(long from) {
+        NavigableMap<Long, Long> intervals = new TreeMap<>();
+        if (pages.isEmpty()) {
+            return intervals;
+        }
+        long end = (pages.lastKey() + 1) << PAGE_SHIFT;
+        long cursor = from;
+        while (cursor < end) {
+            OptionalLong occupied = nextOccupied(cursor, end);
+            if (occupied.isEmpty()) {
+                break;
+            }
+            cursor = nextFree(occupied.getAsLong() + 1);
+            intervals.put(occupied.getAsLong(), cursor);
+        }
+        return intervals;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return pages.isEmpty();
+    }
+
+    @Override
+    public ScheduleEngine copy() {
+        return new BitsetScheduleEngine(pages);
+    }
+
+    /**
+     * Returns the first occupied unit of the range.
+     *
+     * @param from the first unit of the range
+     * @param to   the unit right after the last unit of the range
+     * @return the first occupied unit, or empty if the whole range is free
+     */
+    private OptionalLong nextOccupied(long from, long to) {
+        NavigableMap<Long, long[]> touchedPages = pages.subMap(
+                from >> PAGE_SHIFT, true, (to - 1) >> PAGE_SHIFT, true);
+
+        for (Map.Entry<Long, long[]> page : touchedPages.entrySet()) {
+            long pageStart = page.getKey() << PAGE_SHIFT;
+            int lo = (int) (Math.max(from, pageStart) - pageStart);
+            int hi = (int) (Math.min(to, pageStart + UNITS_IN_PAGE) - pageStart);
+            long[] words = page.getValue();
+            int firstWord = lo >>> 6;
+            int lastWord = (hi - 1) >>> 6;
+            for (int word = firstWord; word <= lastWord; word++) {
+                long bits = words[word] & wordMask(word, firstWord, lastWord, lo, hi);
+                if (bits != 0) {
+                    return OptionalLong.of(pageStart + ((long) word << 6)
+                            + Long.numberOfTrailingZeros(bits));
+                }
+            }
+        }
+        return OptionalLong.empty();
+    }
+
+    /**
+     * Returns the first free unit at or after the given unit.
+     * Missing pages are entirely free, so the search ends at the first gap between pages.
+     *
+     * @param from the unit to start the search from
+     * @return the first free unit
+     */
+    private long nextFree(long from) {
+        long page = from >> PAGE_SHIFT;
+        int lo = (int) (from - (page << PAGE_SHIFT));
+        while (true) {
+            long[] words = pages.get(page);
+            if (words == null) {
+                return (page << PAGE_SHIFT) + lo;
+            }
+            for (int word = lo >>> 6; word < WORDS_IN_PAGE; word++) {
+                long mask = word == lo >>> 6 ? -1L << (lo & 63) : -1L;
+                long bits = ~words[word] & mask;
+                if (bits != 0) {
+                    return (page << PAGE_SHIFT) + ((long) word << 6)
+                            + Long.numberOfTrailingZeros(bits);
+                }
+            }
+            page++;
+            lo = 0;
+        }
+    }
+
+    /**
+     * Checks whether any bit of the range inside a page is set.
+     *
+     * @param words the page bitmap
+     * @param lo    the first bit of the range
+     * @param hi    the bit right after the last bit of the range
+     * @return true if at least one bit is set
+     */
+    private static boolean hasAnyBit(long[] words, int lo, int hi) {
+        int firstWord = lo >>> 6;
+        int lastWord = (hi - 1) >>> 6;
+        for (int word = firstWord; word <= lastWord; word++) {
+            if ((words[word] & wordMask(word, firstWord, lastWord, lo, hi)) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sets or clears all bits of the range inside a page.
+     *
+     * @param words the page bitmap
+     * @param lo    the first bit of the range
+     * @param hi    the bit right after the last bit of the range
+     * @param value true to set bits, false to clear them
+     */
+    private static void updateBits(long[] words, int lo, int hi, boolean value) {
+        int firstWord = lo >>> 6;
+        int lastWord = (hi - 1) >>> 6;
+        for (int word = firstWord; word <= lastWord; word++) {
+            long mask = wordMask(word, firstWord, lastWord, lo, hi);
+            words[word] = value ? words[word] | mask : words[word] & ~mask;
+        }
+    }
+
+    /**
+     * Builds the mask of the range bits that fall into a single word.
+     *
+     * @param word      the index of the word
+     * @param firstWord the index of the first word of the range
+     * @param lastWord  the index of the last word of the range
+     * @param lo        the first bit of the range
+     * @param hi        the bit right after the last bit of the range
+     * @return the mask of range bits within the word
+     */
+    private static long wordMask(int word, int firstWord, int lastWord, int lo, int hi) {
+        long mask = -1L;
+        if (word == firstWord) {
+            mask &= -1L << (lo & 63);
+        }
+        if (word == lastWord) {
+            mask &= -1L >>> (63 - ((hi - 1) & 63));
+        }
+        return mask;
+    }
+}
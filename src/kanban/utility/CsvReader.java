@@ -0,0 +1,367 @@
+package kanban.utility;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+/**
+ * Streaming RFC 4180 reader of CSV records.
+ * The input is read in fixed chunks and every record is unescaped into a single
+ * reusable character buffer, so reading a file of any size keeps only the current
+ * record in memory. Fields are exposed by index through typed accessors that parse
+ * numbers and enum names straight from the buffer; a string is created only when
+ * {@link #getString(int)} is called.
+ * Records are separated by {@code \n}, {@code \r\n} or {@code \r}; line breaks inside
+ * quoted fields are kept. Empty lines are skipped. A record with a stray quote or an
+ * unterminated quoted field is still returned, but reported by {@link #isWellFormed()}.
+ */
+public class CsvReader implements Closeable {
+
+    private static final int CHUNK_SIZE = 8192;
+
+    private final Reader reader;
+    private final char[] chunk;
+    private int chunkLength;
+    private int chunkPosition;
+    private boolean isSkippingLineFeed;
+
+    private char[] record;
+    private CharBuffer recordView;
+    private int recordLength;
+    private int[] fieldEnds;
+    private int fieldCount;
+    private boolean isWellFormed;
+    private long recordNumber;
+    private final Utf8Checksum checksum;
+
+    /**
+     * Constructs a reader of CSV records from the given character stream.
+     *
+     * @param reader the character stream to read; closed by {@link #close()}
+     * @throws IllegalArgumentException if reader is null
+     */
+    public CsvReader(Reader reader) {
+        if (reader == null) {
+            throw new IllegalArgumentException("Reader must not be null.");
+        }
+        this.reader = reader;
+        chunk = new char[CHUNK_SIZE];
+        record = new char[256];
+        recordView = CharBuffer.wrap(record);
+        fieldEnds = new int[16];
+        checksum = new Utf8Checksum();
+    }
+
+    /**
+     * Reads the next non-empty record.
+     *
+     * @return true if a record was read, false at the end of the input
+     * @throws IOException if the input cannot be read
+     */
+    public boolean nextRecord() throws IOException {
+        while (true) {
+            recordLength = 0;
+            fieldCount = 0;
+            isWellFormed = true;
+
+            boolean isQuoted = false;
+            boolean isAfterQuote = false;
+            boolean isFieldStart = true;
+            boolean hasContent = false;
+
+            while (true) {
+                int next = read();
+                if (next < 0) {
+                    if (!hasContent) {
+                        return false;
+                    }
+                    if (isQuoted && !isAfterQuote) {
+                        isWellFormed = false;
+                    }
+                    endField();
+                    recordNumber++;
+                    return true;
+                }
+                char c = (char) next;
+                hasContent = hasContent || (c != '\n' && c != '\r');
+
+                if (isQuoted && !isAfterQuote) {
+                    if (c == '"') {
+                        isAfterQuote = true;
+                    } else {
+                        append(c);
+                    }
+                    continue;
+                }
+                if (isAfterQuote) {
+                    isAfterQuote = false;
+                    if (c == '"') {
+                        append(c);
+                        continue;
+                    }
+                    isQuoted = false;
+                    if (c != ',' && c != '\n' && c != '\r') {
+                        isWellFormed = false;
+                    }
+                }
+
+                if (c == ',') {
+                    endField();
+                    isFieldStart = true;
+                } else if (c == '\n' || c == '\r') {
+                    isSkippingLineFeed = c == '\r';
+                    if (!hasContent) {
+                        break;
+                    }
+                    endField();
+                    recordNumber++;
+                    return true;
+                } else if (c == '"' && isFieldStart) {
+                    isQuoted = true;
+                    isFieldStart = false;
+                } else {
+                    if (c == '"') {
+                        isWellFormed = false;
+                    }
+                    append(c);
+                    isFieldStart = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of fields of the current record.
+     *
+     * @return the number of fields
+     */
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Returns the number of records read so far, starting from 1 for the first record.
+     *
+     * @return the number of the current record
+     */
+    public long getRecordNumber() {
+        return recordNumber;
+    }
+
+    /**
+     * Checks whether the current record follows RFC 4180 quoting rules.
+     * A record cut off inside a quoted field, e.g. by a crash during a write,
+     * is not well-formed.
+     *
+     * @return true if every quote of the record is balanced and escaped
+     */
+    public boolean isWellFormed() {
+        return isWellFormed;
+    }
+
+    /**
+     * Returns the unescaped value of a field as a string.
+     *
+     * @param index the zero-based field index
+     * @return the field value
+     * @throws IndexOutOfBoundsException if the record has no such field
+     */
+    public String getString(int index) {
+        return new String(record, fieldStart(index), fieldLength(index));
+    }
+
+    /**
+     * Returns the unescaped value of a field as a view of the record buffer.
+     * The view is valid only until the next record is read.
+     *
+     * @param index the zero-based field index
+     * @return the field characters
+     * @throws IndexOutOfBoundsException if the record has no such field
+     */
+    public CharSequence getChars(int index) {
+        int start = fieldStart(index);
+        return recordView.subSequence(start, start + fieldLength(index));
+    }
+
+    /**
+     * Checks whether a field is empty.
+     *
+     * @param index the zero-based field index
+     * @return true if the field has no characters
+     * @throws IndexOutOfBoundsException if the record has no such field
+     */
+    public boolean isEmpty(int index) {
+        return fieldLength(index) == 0;
+    }
+
+    /**
+     * Checks whether a field is equal to the given value.
+     *
+     * @param index the zero-based field index
+     * @param value the value to compare with
+     * @return true if the field has exactly the characters of the value
+     * @throws IndexOutOfBoundsException if the record has no such field
+     */
+    public boolean fieldEquals(int index, String value) {
+        int start = fieldStart(index);
+        int length = fieldLength(index);
+        if (length != value.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (record[start + i] != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses a field as a decimal integer.
+     *
+     * @param index the zero-based field index
+     * @return the parsed value
+     * @throws NumberFormatException     if the field is not a valid integer
+     * @throws IndexOutOfBoundsException if the record has no such field
+     */
+    public int getInt(int index) {
+        int start = fieldStart(index);
+        return Integer.parseInt(recordView, start, start + fieldLength(index), 10);
+    }
+
+    /**
+     * Parses a field as a decimal long.
+     *
+     * @param index the zero-based field index
+     * @return the parsed value
+     * @throws NumberFormatException     if the field is not a valid long
+     * @throws IndexOutOfBoundsException if the record has no such field
+     */
+    public long getLong(int index) {
+        int start = fieldStart(index);
+        return Long.parseLong(recordView, start, start + fieldLength(index), 10);
+    }
+
+    /**
+     * Finds the enum constant whose name is equal to the field.
+     *
+     * @param <E>    the enum type
+     * @param index  the zero-based field index
+     * @param values the constants to choose from, e.g. {@code TaskStatus.values()}
+     * @return the matching constant
+     * @throws IllegalArgumentException  if no constant has the name of the field
+     * @throws IndexOutOfBoundsException if the record has no such field
+     */
+    public <E extends Enum<E>> E getEnum(int index, E[] values) {
+        for (E value : values) {
+            if (fieldEquals(index, value.name())) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("No constant named: " + getString(index));
+    }
+
+    /**
+     * Computes the checksum of a range of fields, as {@link CsvWriter} does
+     * for the fields of a record it writes.
+     *
+     * @param fromIndex the index of the first field
+     * @param toIndex   the index right after the last field
+     * @return the CRC32C checksum as an unsigned 32-bit value
+     * @throws IndexOutOfBoundsException if the record has no such fields
+     */
+    public long getChecksum(int fromIndex, int toIndex) {
+        checksum.reset();
+        for (int i = fromIndex; i < toIndex; i++) {
+            int start = fieldStart(i);
+            checksum.addValue(recordView, start, start + fieldLength(i));
+        }
+        return checksum.getValue();
+    }
+
+    /**
+     * Closes the underlying character stream.
+     *
+     * @throws IOException if the stream cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Returns the next input character, skipping a line feed that follows a carriage return.
+     *
+     * @return the next character, or -1 at the end of the input
+     * @throws IOException if the input cannot be read
+     */
+    private int read() throws IOException {
+        while (true) {
+            if (chunkPosition == chunkLength) {
+                chunkLength = reader.read(chunk, 0, CHUNK_SIZE);
+                chunkPosition = 0;
+                if (chunkLength <= 0) {
+                    chunkLength = 0;
+                    return -1;
+                }
+            }
+            char c = chunk[chunkPosition++];
+            if (isSkippingLineFeed) {
+                isSkippingLineFeed = false;
+                if (c == '\n') {
+                    continue;
+                }
+            }
+            return c;
+        }
+    }
+
+    /**
+     * Appends a character to the current field, growing the record buffer if needed.
+     *
+     * @param c the character to append
+     */
+    private void append(char c) {
+        if (recordLength == record.length) {
+            record = Arrays.copyOf(record, record.length * 2);
+            recordView = CharBuffer.wrap(record);
+        }
+        record[recordLength++] = c;
+    }
+
+    /**
+     * Ends the current field at the current end of the record buffer.
+     */
+    private void endField() {
+        if (fieldCount == fieldEnds.length) {
+            fieldEnds = Arrays.copyOf(fieldEnds, fieldEnds.length * 2);
+        }
+        fieldEnds[fieldCount++] = recordLength;
+    }
+
+    /**
+     * Returns the position of the first character of a field in the record buffer.
+     *
+     * @param index the zero-based field index
+     * @return the start position
+     * @throws IndexOutOfBoundsException if the record has no such field
+     */
+    private int fieldStart(int index) {
+        if (index < 0 || index >= fieldCount) {
+            throw new IndexOutOfBoundsException("Field " + index + " of " + fieldCount);
+        }
+        return index == 0 ? 0 : fieldEnds[index - 1];
+    }
+
+    /**
+     * Returns the number of characters of a field.
+     *
+     * @param index the zero-based field index
+     * @return the field length
+     */
+    private int fieldLength(int index) {
+        return fieldEnds[index] - fieldStart(index);
+    }
+}
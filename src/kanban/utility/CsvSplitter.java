@@ -0,0 +1,97 @@
+package kanban.utility;
+
+import java.util.Arrays;
+
+/**
+ * Splits CSV text held in memory into chunks that end at record boundaries,
+ * so that the chunks can be parsed independently, e.g. by separate threads.
+ * A line break inside a quoted field does not end a record. Boundaries follow
+ * the same quoting rules as {@link CsvReader}: a quote opens a quoted field only
+ * at the start of a field, and a doubled quote inside a quoted field is escaped.
+ * Finding the boundaries is a single pass over the characters without creating
+ * any objects, which is far cheaper than parsing the records themselves.
+ */
+public final class CsvSplitter {
+
+    private CsvSplitter() {
+    }
+
+    /**
+     * Finds the end of the record that starts at the given position.
+     *
+     * @param chars the CSV text
+     * @param from  the position of the first character of the record
+     * @param to    the end of the text, exclusive
+     * @return the position right after the line separator ending the record,
+     *         or {@code to} if the text ends first
+     */
+    public static int findRecordEnd(char[] chars, int from, int to) {
+        boolean isQuoted = false;
+        boolean isFieldStart = true;
+        for (int i = from; i < to; i++) {
+            char c = chars[i];
+            if (isQuoted) {
+                if (c == '"') {
+                    if (i + 1 < to && chars[i + 1] == '"') {
+                        i++;
+                    } else {
+                        isQuoted = false;
+                    }
+                }
+                continue;
+            }
+            if (c == '\n' || c == '\r') {
+                if (c == '\r' && i + 1 < to && chars[i + 1] == '\n') {
+                    i++;
+                }
+                return i + 1;
+            }
+            if (c == ',') {
+                isFieldStart = true;
+            } else {
+                isQuoted = c == '"' && isFieldStart;
+                isFieldStart = false;
+            }
+        }
+        return to;
+    }
+
+    /**
+     * Splits the text into at most the given number of chunks of similar length.
+     * Every chunk ends at a record boundary; a chunk may be longer than the average
+     * when a record crosses the point where it would otherwise end.
+     *
+     * @param chars      the CSV text
+     * @param from       the position where the first chunk starts
+     * @param to         the end of the text, exclusive
+     * @param chunkCount the wanted number of chunks
+     * @return the chunk boundaries in ascending order, starting with {@code from}
+     *         and ending with {@code to}; chunk {@code i} spans
+     *         {@code [boundaries[i], boundaries[i + 1])}
+     * @throws IllegalArgumentException if chunkCount is not positive or the range is invalid
+     */
+    public static int[] split(char[] chars, int from, int to, int chunkCount) {
+        if (chunkCount < 1) {
+            throw new IllegalArgumentException("Chunk count must be positive.");
+        }
+        if (from < 0 || to > chars.length || from > to) {
+            throw new IllegalArgumentException("Invalid range: " + from + ".." + to);
+        }
+        int[] boundaries = new int[chunkCount + 1];
+        int count = 0;
+        boundaries[count++] = from;
+
+        long chunkLength = Math.max(1, ((long) to - from) / chunkCount);
+        long nextSplit = from + chunkLength;
+        int position = from;
+        while (position < to && count < chunkCount) {
+            position = findRecordEnd(chars, position, to);
+            if (position >= nextSplit && position < to) {
+                boundaries[count++] = position;
+                nextSplit = position + chunkLength;
+            }
+        }
+        boundaries[count++] = to;
+        return Arrays.copyOf(boundaries, count);
+    }
+}
@@ -0,0 +1,161 @@
+package kanban.utility;
+
+/**
+ * RFC 4180 writer of CSV records into a reusable character buffer.
+ * Fields are appended one by one straight from their values: a single scan
+ * decides whether a value needs quoting, numbers are written without creating
+ * strings, and the buffer is kept between records, so encoding a record creates
+ * no objects until its text is taken with {@link #toString()}.
+ * Values containing a comma, a quote or a line break are quoted, with quotes doubled.
+ * The writer also keeps the checksum of the values of the current record,
+ * matching {@link CsvReader#getChecksum(int, int)}.
+ */
+public class CsvWriter {
+
+    private final StringBuilder buffer;
+    private final Utf8Checksum checksum;
+    private boolean isRecordStart;
+
+    /**
+     * Constructs a writer with an empty buffer.
+     */
+    public CsvWriter() {
+        buffer = new StringBuilder(256);
+        checksum = new Utf8Checksum();
+        isRecordStart = true;
+    }
+
+    /**
+     * Appends a text field.
+     *
+     * @param value the field value, null is written as an empty field
+     * @return this writer
+     */
+    public CsvWriter field(CharSequence value) {
+        startField();
+        if (value == null) {
+            checksum.addValue("", 0, 0);
+            return this;
+        }
+        int length = value.length();
+        boolean isQuoted = false;
+        for (int i = 0; i < length && !isQuoted; i++) {
+            char c = value.charAt(i);
+            isQuoted = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (isQuoted) {
+            buffer.append('"');
+            for (int i = 0; i < length; i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    buffer.append('"');
+                }
+                buffer.append(c);
+            }
+            buffer.append('"');
+        } else {
+            buffer.append(value);
+        }
+        checksum.addValue(value, 0, length);
+        return this;
+    }
+
+    /**
+     * Appends a decimal number field.
+     *
+     * @param value the field value
+     * @return this writer
+     */
+    public CsvWriter field(long value) {
+        startField();
+        int start = buffer.length();
+        buffer.append(value);
+        checksum.addValue(buffer, start, buffer.length());
+        return this;
+    }
+
+    /**
+     * Appends the name of an enum constant as a field.
+     *
+     * @param value the field value, null is written as an empty field
+     * @return this writer
+     */
+    public CsvWriter field(Enum<?> value) {
+        return field(value == null ? null : value.name());
+    }
+
+    /**
+     * Appends the checksum of the fields written to the current record so far
+     * as a hexadecimal field. The checksum field itself is not part of any checksum.
+     *
+     * @return this writer
+     */
+    public CsvWriter checksumField() {
+        long value = checksum.getValue();
+        startField();
+        buffer.append(Long.toHexString(value));
+        return this;
+    }
+
+    /**
+     * Returns the checksum of the values written to the current record so far.
+     *
+     * @return the CRC32C checksum as an unsigned 32-bit value
+     */
+    public long getChecksum() {
+        return checksum.getValue();
+    }
+
+    /**
+     * Ends the current record with a line feed; the next field starts a new record.
+     *
+     * @return this writer
+     */
+    public CsvWriter endRecord() {
+        buffer.append('\n');
+        isRecordStart = true;
+        checksum.reset();
+        return this;
+    }
+
+    /**
+     * Discards the written text and starts a new record, keeping the buffer capacity.
+     *
+     * @return this writer
+     */
+    public CsvWriter clear() {
+        buffer.setLength(0);
+        isRecordStart = true;
+        checksum.reset();
+        return this;
+    }
+
+    /**
+     * Returns the number of characters written since the last {@link #clear()}.
+     *
+     * @return the length of the written text
+     */
+    public int length() {
+        return buffer.length();
+    }
+
+    /**
+     * Returns the text written since the last {@link #clear()}.
+     *
+     * @return the CSV text
+     */
+    @Override
+    public String toString() {
+        return buffer.toString();
+    }
+
+    /**
+     * Appends the field separator unless the field starts a record.
+     */
+    private void startField() {
+        if (!isRecordStart) {
+            buffer.append(',');
+        }
+        isRecordStart = false;
+    }
+}
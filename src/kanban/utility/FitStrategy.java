@@ -0,0 +1,23 @@
+package kanban.utility;
+
+/**
+ * Enumeration of the strategies used by {@link TimeSchedule} to choose a free gap
+ * when placing many intervals at once:
+ * - EARLIEST_FIT: the first gap in time that is long enough
+ * - BEST_FIT: the shortest gap that is long enough, keeping long gaps for long tasks
+ */
+public enum FitStrategy {
+
+    /**
+     * Places an interval into the earliest gap that is long enough.
+     * Keeps the schedule as compact as possible towards the start time.
+     */
+    EARLIEST_FIT,
+
+    /**
+     * Places an interval into the shortest gap that is long enough,
+     * the earliest one among gaps of equal length.
+     * Reduces fragmentation of the free time.
+     */
+    BEST_FIT
+}
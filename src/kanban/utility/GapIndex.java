@@ -0,0 +1,147 @@
+package kanban.utility;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.OptionalLong;
+import java.util.TreeSet;
+
+/**
+ * Index of the free gaps between occupied ranges, used to place many intervals in one pass.
+ * Every interval is placed at the start of the chosen gap, so gaps only shrink from
+ * their start and never split or change order. Earliest fit keeps a max segment tree
+ * over gap lengths to find the leftmost gap that is long enough; best fit keeps gaps
+ * in a tree set ordered by length and then position. Both take O(log g) per placement,
+ * where g is the number of gaps.
+ */
+class GapIndex {
+
+    private final FitStrategy strategy;
+    private final long[] starts;
+    private final long[] lengths;
+    private final int leafOffset;
+    private final long[] maxLengths;
+    private final NavigableSet<Gap> gapsByLength;
+
+    /**
+     * Constructs an index of the gaps left free by occupied ranges between two units.
+     *
+     * @param from     the first unit available for placement
+     * @param horizon  the unit right after the last unit available for placement
+     * @param occupied a map of first units to end units (exclusive) of occupied ranges
+     * @param strategy the strategy used to choose a gap
+     */
+    GapIndex(long from, long horizon, NavigableMap<Long, Long> occupied, FitStrategy strategy) {
+        this.strategy = strategy;
+
+        List<long[]> gaps = new ArrayList<>();
+        long cursor = from;
+        for (Map.Entry<Long, Long> range : occupied.entrySet()) {
+            if (range.getKey() > cursor) {
+                gaps.add(new long[] {cursor, range.getKey() - cursor});
+            }
+            cursor = Math.max(cursor, range.getValue());
+        }
+        if (horizon > cursor) {
+            gaps.add(new long[] {cursor, horizon - cursor});
+        }
+
+        starts = new long[gaps.size()];
+        lengths = new long[gaps.size()];
+        for (int i = 0; i < gaps.size(); i++) {
+            starts[i] = gaps.get(i)[0];
+            lengths[i] = gaps.get(i)[1];
+        }
+
+        if (strategy == FitStrategy.EARLIEST_FIT) {
+            leafOffset = Integer.highestOneBit(Math.max(1, lengths.length - 1)) << 1;
+            maxLengths = new long[leafOffset * 2];
+            System.arraycopy(lengths, 0, maxLengths, leafOffset, lengths.length);
+            for (int node = leafOffset - 1; node > 0; node--) {
+                maxLengths[node] = Math.max(maxLengths[2 * node], maxLengths[2 * node + 1]);
+            }
+            gapsByLength = null;
+        } else {
+            leafOffset = 0;
+            maxLengths = null;
+            gapsByLength = new TreeSet<>(Comparator.comparingLong(Gap::length)
+                    .thenComparingInt(Gap::index));
+            for (int i = 0; i < lengths.length; i++) {
+                gapsByLength.add(new Gap(lengths[i], i));
+            }
+        }
+    }
+
+    /**
+     * Places a range of the given length into a gap chosen by the strategy
+     * and shrinks that gap accordingly.
+     *
+     * @param length the number of units to place
+     * @return the first unit of the placed range, or empty if no gap is long enough
+     */
+    OptionalLong allocate(long length) {
+        int index = strategy == FitStrategy.EARLIEST_FIT
+                ? findEarliest(length)
+                : findBest(length);
+        if (index < 0) {
+            return OptionalLong.empty();
+        }
+
+        long start = starts[index];
+        if (gapsByLength != null) {
+            gapsByLength.remove(new Gap(lengths[index], index));
+        }
+        starts[index] += length;
+        lengths[index] -= length;
+        if (gapsByLength != null) {
+            gapsByLength.add(new Gap(lengths[index], index));
+        } else {
+            int node = leafOffset + index;
+            maxLengths[node] = lengths[index];
+            for (node /= 2; node > 0; node /= 2) {
+                maxLengths[node] = Math.max(maxLengths[2 * node], maxLengths[2 * node + 1]);
+            }
+        }
+        return OptionalLong.of(start);
+    }
+
+    /**
+     * Finds the leftmost gap that is long enough by descending the segment tree.
+     *
+     * @param length the required number of units
+     * @return the index of the gap, or -1 if none is long enough
+     */
+    private int findEarliest(long length) {
+        if (lengths.length == 0 || maxLengths[1] < length) {
+            return -1;
+        }
+        int node = 1;
+        while (node < leafOffset) {
+            node = maxLengths[2 * node] >= length ? 2 * node : 2 * node + 1;
+        }
+        return node - leafOffset;
+    }
+
+    /**
+     * Finds the shortest gap that is long enough, the leftmost among equal ones.
+     *
+     * @param length the required number of units
+     * @return the index of the gap, or -1 if none is long enough
+     */
+    private int findBest(long length) {
+        Gap gap = gapsByLength.ceiling(new Gap(length, -1));
+        return gap == null ? -1 : gap.index();
+    }
+
+    /**
+     * Internal record class describing a gap in the length-ordered set.
+     *
+     * @param length the number of free units in the gap
+     * @param index  the position of the gap in time order
+     */
+    private record Gap(long length, int index) {
+    }
+}
@@ -0,0 +1,167 @@
+package kanban.utility;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+
+/**
+ * Schedule engine that stores occupied time as sorted, non-overlapping intervals.
+ * Intervals are kept in a {@link TreeMap} of start unit to end unit (exclusive).
+ * Touching or overlapping intervals are merged on insertion and split on removal,
+ * so an overlap check is a single floor lookup and takes O(log n)
+ * regardless of the interval length.
+ */
+class IntervalScheduleEngine implements ScheduleEngine {
+
+    private final NavigableMap<Long, Long> intervals;
+
+    /**
+     * Constructs an empty engine.
+     */
+    IntervalScheduleEngine() {
+        intervals = new TreeMap<>();
+    }
+
+    /**
+     * Constructs an engine with a copy of existing intervals.
+     *
+     * @param intervals a map of interval start units to interval end units
+     */
+    private IntervalScheduleEngine(NavigableMap<Long, Long> intervals) {
+        this.intervals = new TreeMap<>(intervals);
+    }
+
+    /**
+     * Checks whether the range intersects any stored interval.
+     * Since intervals never overlap, the interval with the greatest start before
+     * {@code to} is also the one with the greatest end, so it is the only candidate.
+     *
+     * @param from the first unit of the range
+     * @param to   the unit right after the last unit of the range
+     * @return true if at least one unit is occupied, false otherwise
+     */
+    @Override
+    public boolean isOccupied(long from, long to) {
+        Map.Entry<Long, Long> candidate = intervals.lowerEntry(to);
+        return candidate != null && candidate.getValue() > from;
+    }
+
+    /**
+     * Checks whether the range intersects any stored interval outside the ignored range.
+     * The ignored range is expected to be occupied, so it lies within a single stored
+     * interval; any other intersecting interval ends the search immediately.
+     *
+     * @param from       the first unit of the range
+     * @param to         the unit right after the last unit of the range
+     * @param ignoreFrom the first unit of the ignored range
+     * @param ignoreTo   the unit right after the last unit of the ignored range
+     * @return true if at least one unit outside the ignored range is occupied
+     */
+    @Override
+    public boolean isOccupied(long from, long to, long ignoreFrom, long ignoreTo) {
+        Long start = intervals.floorKey(from);
+        if (start == null || intervals.get(start) <= from) {
+            start = intervals.ceilingKey(from);
+        }
+
+        while (start != null && start < to) {
+            long intersectionFrom = Math.max(start, from);
+            long intersectionTo = Math.min(intervals.get(start), to);
+            if (intersectionFrom < Math.min(intersectionTo, ignoreFrom)
+                    || Math.max(intersectionFrom, ignoreTo) < intersectionTo) {
+                return true;
+            }
+            start = intervals.higherKey(start);
+        }
+        return false;
+    }
+
+    @Override
+    public void occupy(long from, long to) {
+        long start = from;
+        long end = to;
+
+        Map.Entry<Long, Long> left = intervals.floorEntry(from);
+        if (left != null && left.getValue() >= from) {
+            start = left.getKey();
+            end = Math.max(end, left.getValue());
+        }
+
+        NavigableMap<Long, Long> covered = intervals.subMap(start, true, end, true);
+        if (!covered.isEmpty()) {
+            end = Math.max(end, covered.lastEntry().getValue());
+            covered.clear();
+        }
+        intervals.put(start, end);
+    }
+
+    @Override
+    public void release(long from, long to) {
+        Map.Entry<Long, Long> left = intervals.lowerEntry(from);
+        if (left != null && left.getValue() > from) {
+            long leftEnd = left.getValue();
+            intervals.put(left.getKey(), from);
+            if (leftEnd > to) {
+                intervals.put(to, leftEnd);
+                return;
+            }
+        }
+
+        NavigableMap<Long, Long> covered = intervals.subMap(from, true, to, false);
+        if (!covered.isEmpty()) {
+            long lastEnd = covered.lastEntry().getValue();
+            covered.clear();
+            if (lastEnd > to) {
+                intervals.put(to, lastEnd);
+            }
+        }
+    }
+
+    /**
+     * Finds the earliest free range by walking the gaps between stored intervals.
+     * The search starts with a single floor lookup and then visits intervals in order,
+     * so it takes O(log n + k), where k is the number of gaps too short to fit the range.
+     *
+     * @param from     the earliest allowed first unit of the range
+     * @param length   the number of units in the range
+     * @param maxStart the latest allowed first unit of the range
+     * @return the first unit of the earliest free range, or empty if none fits
+     */
+    @Override
+    public OptionalLong findFree(long from, long length, long maxStart) {
+        long candidate = from;
+        Map.Entry<Long, Long> left = intervals.floorEntry(from);
+        if (left != null && left.getValue() > candidate) {
+            candidate = left.getValue();
+        }
+
+        for (Map.Entry<Long, Long> next : intervals.tailMap(candidate, true).entrySet()) {
+            if (candidate > maxStart || next.getKey() - candidate >= length) {
+                break;
+            }
+            candidate = next.getValue();
+        }
+        return candidate <= maxStart ? OptionalLong.of(candidate) : OptionalLong.empty();
+    }
+
+    @Override
+    public NavigableMap<Long, Long> getIntervals(long from) {
+        NavigableMap<Long, Long> result = new TreeMap<>(intervals.tailMap(from, true));
+        Map.Entry<Long, Long> left = intervals.lowerEntry(from);
+        if (left != null && left.getValue() > from) {
+            result.put(from, left.getValue());
+        }
+        return result;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return intervals.isEmpty();
+    }
+
+    @Override
+    public ScheduleEngine copy() {
+        return new IntervalScheduleEngine(intervals);
+    }
+}
@@ -0,0 +1,133 @@
+package kanban.utility;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+
+/**
+ * Schedule engine that keeps long ranges out of an engine storing every unit separately.
+ * Ranges up to a limit go to the unit engine, while longer ones are kept as single
+ * entries of an {@link IntervalScheduleEngine}, so the memory and the work of occupying
+ * or releasing a range stay bounded however long the range is. A range is always
+ * routed by its length, so it is released from the engine it was occupied in.
+ * Queries combine both engines; since occupied ranges never overlap, a range
+ * ignored in one engine holds no occupied units in the other.
+ */
+class LongRunScheduleEngine implements ScheduleEngine {
+
+    private final ScheduleEngine units;
+    private final IntervalScheduleEngine runs;
+    private final long maxUnitRange;
+
+    /**
+     * Constructs an engine around an empty unit engine.
+     *
+     * @param units        the engine storing ranges up to the limit
+     * @param maxUnitRange the length of the longest range stored in the unit engine
+     */
+    LongRunScheduleEngine(ScheduleEngine units, long maxUnitRange) {
+        this(units, new IntervalScheduleEngine(), maxUnitRange);
+    }
+
+    /**
+     * Constructs an engine from existing engines.
+     *
+     * @param units        the engine storing ranges up to the limit
+     * @param runs         the engine storing longer ranges
+     * @param maxUnitRange the length of the longest range stored in the unit engine
+     */
+    private LongRunScheduleEngine(ScheduleEngine units, IntervalScheduleEngine runs,
+                                  long maxUnitRange) {
+        this.units = units;
+        this.runs = runs;
+        this.maxUnitRange = maxUnitRange;
+    }
+
+    @Override
+    public boolean isOccupied(long from, long to) {
+        return runs.isOccupied(from, to) || units.isOccupied(from, to);
+    }
+
+    @Override
+    public boolean isOccupied(long from, long to, long ignoreFrom, long ignoreTo) {
+        return runs.isOccupied(from, to, ignoreFrom, ignoreTo)
+                || units.isOccupied(from, to, ignoreFrom, ignoreTo);
+    }
+
+    @Override
+    public void occupy(long from, long to) {
+        engineFor(from, to).occupy(from, to);
+    }
+
+    @Override
+    public void release(long from, long to) {
+        engineFor(from, to).release(from, to);
+    }
+
+    /**
+     * Finds the earliest range free in both engines by asking them in turn:
+     * each answer is the earliest start free in one engine at or after the other's
+     * answer, so the start only moves forward until both engines agree.
+     *
+     * @param from     the earliest allowed first unit of the range
+     * @param length   the number of units in the range
+     * @param maxStart the latest allowed first unit of the range
+     * @return the first unit of the earliest free range, or empty if none fits
+     */
+    @Override
+    public OptionalLong findFree(long from, long length, long maxStart) {
+        long candidate = from;
+        while (true) {
+            OptionalLong inRuns = runs.findFree(candidate, length, maxStart);
+            if (inRuns.isEmpty()) {
+                return inRuns;
+            }
+            OptionalLong inUnits = units.findFree(inRuns.getAsLong(), length, maxStart);
+            if (inUnits.isEmpty() || inUnits.getAsLong() == inRuns.getAsLong()) {
+                return inUnits;
+            }
+            candidate = inUnits.getAsLong();
+        }
+    }
+
+    @Override
+    public NavigableMap<Long, Long> getIntervals(long from) {
+        NavigableMap<Long, Long> all = new TreeMap<>(units.getIntervals(from));
+        all.putAll(runs.getIntervals(from));
+        NavigableMap<Long, Long> merged = new TreeMap<>();
+        Map.Entry<Long, Long> last = null;
+        for (Map.Entry<Long, Long> interval : all.entrySet()) {
+            if (last != null && last.getValue().equals(interval.getKey())) {
+                merged.put(last.getKey(), interval.getValue());
+                last = Map.entry(last.getKey(), interval.getValue());
+            } else {
+                merged.put(interval.getKey(), interval.getValue());
+                last = interval;
+            }
+        }
+        return merged;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return units.isEmpty() && runs.isEmpty();
+    }
+
+    @Override
+    public ScheduleEngine copy() {
+        return new LongRunScheduleEngine(units.copy(), (IntervalScheduleEngine) runs.copy(),
+                maxUnitRange);
+    }
+
+    /**
+     * Returns the engine that stores the given range.
+     *
+     * @param from the first unit of the range
+     * @param to   the unit right after the last unit of the range
+     * @return the interval engine for a range longer than the limit, the unit engine otherwise
+     */
+    private ScheduleEngine engineFor(long from, long to) {
+        return to - from > maxUnitRange ? runs : units;
+    }
+}
@@ -0,0 +1,86 @@
+package kanban.utility;
+
+import java.util.NavigableMap;
+import java.util.OptionalLong;
+
+/**
+ * Internal storage strategy used by {@link TimeSchedule}.
+ * An engine keeps track of occupied time units, where a unit is the index
+ * of a fixed-size time slot counted from the epoch.
+ * All ranges are half-open: {@code [from, to)}.
+ */
+interface ScheduleEngine {
+
+    /**
+     * Checks whether any unit of the given range is occupied.
+     *
+     * @param from the first unit of the range
+     * @param to   the unit right after the last unit of the range
+     * @return true if at least one unit is occupied, false otherwise
+     */
+    boolean isOccupied(long from, long to);
+
+    /**
+     * Checks whether any unit of the given range is occupied, treating the units
+     * of the ignored range as free. Used to validate moving an interval before
+     * any unit is released, so a rejected move leaves the engine untouched.
+     *
+     * @param from       the first unit of the range
+     * @param to         the unit right after the last unit of the range
+     * @param ignoreFrom the first unit of the ignored range
+     * @param ignoreTo   the unit right after the last unit of the ignored range
+     * @return true if at least one unit outside the ignored range is occupied
+     */
+    boolean isOccupied(long from, long to, long ignoreFrom, long ignoreTo);
+
+    /**
+     * Marks all units of the given range as occupied.
+     *
+     * @param from the first unit of the range
+     * @param to   the unit right after the last unit of the range
+     */
+    void occupy(long from, long to);
+
+    /**
+     * Marks all units of the given range as free.
+     *
+     * @param from the first unit of the range
+     * @param to   the unit right after the last unit of the range
+     */
+    void release(long from, long to);
+
+    /**
+     * Finds the earliest free range of the given length that starts
+     * within the search range.
+     *
+     * @param from     the earliest allowed first unit of the range
+     * @param length   the number of units in the range
+     * @param maxStart the latest allowed first unit of the range
+     * @return the first unit of the earliest free range, or empty if no free range
+     *         starts between {@code from} and {@code maxStart}
+     */
+    OptionalLong findFree(long from, long length, long maxStart);
+
+    /**
+     * Returns the occupied units at or after the given unit as merged ranges.
+     * A range starting before {@code from} is cut to start at {@code from}.
+     *
+     * @param from the first unit of interest
+     * @return a map of first units to end units (exclusive) of non-touching occupied ranges
+     */
+    NavigableMap<Long, Long> getIntervals(long from);
+
+    /**
+     * Checks whether no unit is occupied.
+     *
+     * @return true if the engine holds no occupied units
+     */
+    boolean isEmpty();
+
+    /**
+     * Creates an independent copy of this engine.
+     *
+     * @return a new engine with the same occupied units
+     */
+    ScheduleEngine copy();
+}
@@ -0,0 +1,31 @@
+package kanban.utility;
+
+/**
+ * Enumeration of the storage engines available to {@link TimeSchedule}.
+ * All engines share the same overlap semantics and differ only in how
+ * occupied time is represented internally:
+ * - SLOT_MAP: every occupied time slot is stored as a separate hash map entry
+ * - INTERVAL_TREE: occupied time is stored as sorted, non-overlapping intervals
+ * - BITSET: every time slot is a single bit of a paged bitmap
+ */
+public enum ScheduleMode {
+
+    /**
+     * One hash map entry per occupied time slot.
+     * Cost of every operation grows linearly with the task duration.
+     */
+    SLOT_MAP,
+
+    /**
+     * Sorted map of non-overlapping occupied intervals.
+     * Overlap checks, additions and removals take O(log n) regardless of the task duration.
+     */
+    INTERVAL_TREE,
+
+    /**
+     * Paged bitmap with one bit per time slot.
+     * Best suited for tasks clustered in a known planning horizon:
+     * overlap checks are word-wise bit operations and memory is one bit per slot.
+     */
+    BITSET
+}
@@ -0,0 +1,108 @@
+package kanban.utility;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+import java.util.stream.LongStream;
+
+/**
+ * Schedule engine that stores every occupied time unit as a separate hash map entry.
+ * Each operation visits every unit of the requested range.
+ */
+class SlotMapScheduleEngine implements ScheduleEngine {
+
+    private final Map<Long, Boolean> timeTable;
+
+    /**
+     * Constructs an empty engine.
+     */
+    SlotMapScheduleEngine() {
+        timeTable = new HashMap<>();
+    }
+
+    /**
+     * Constructs an engine with a copy of an existing timetable.
+     *
+     * @param timeTable a map of occupied units to their occupied state
+     */
+    private SlotMapScheduleEngine(Map<Long, Boolean> timeTable) {
+        this.timeTable = new HashMap<>(timeTable);
+    }
+
+    @Override
+    public boolean isOccupied(long from, long to) {
+        return LongStream.range(from, to).anyMatch(timeTable::containsKey);
+    }
+
+    @Override
+    public boolean isOccupied(long from, long to, long ignoreFrom, long ignoreTo) {
+        return LongStream.range(from, to)
+                .filter(unit -> unit < ignoreFrom || unit >= ignoreTo)
+                .anyMatch(timeTable::containsKey);
+    }
+
+    @Override
+    public void occupy(long from, long to) {
+        LongStream.range(from, to).forEach(unit -> timeTable.put(unit, true));
+    }
+
+    @Override
+    public void release(long from, long to) {
+        LongStream.range(from, to).forEach(timeTable::remove);
+    }
+
+    /**
+     * Finds the earliest free range by visiting units one by one and restarting
+     * the range right after every occupied unit.
+     *
+     * @param from     the earliest allowed first unit of the range
+     * @param length   the number of units in the range
+     * @param maxStart the latest allowed first unit of the range
+     * @return the first unit of the earliest free range, or empty if none fits
+     */
+    @Override
+    public OptionalLong findFree(long from, long length, long maxStart) {
+        long candidate = from;
+        for (long unit = from; candidate <= maxStart; unit++) {
+            if (unit - candidate == length) {
+                return OptionalLong.of(candidate);
+            }
+            if (timeTable.containsKey(unit)) {
+                candidate = unit + 1;
+            }
+        }
+        return OptionalLong.empty();
+    }
+
+    @Override
+    public NavigableMap<Long, Long> getIntervals(long from) {
+        NavigableMap<Long, Long> intervals = new TreeMap<>();
+        long[] units = timeTable.keySet().stream()
+                .mapToLong(Long::longValue)
+                .filter(unit -> unit >= from)
+                .sorted()
+                .toArray();
+
+        for (int i = 0; i < units.length; ) {
+            int j = i + 1;
+            while (j < units.length && units[j] == units[j - 1] + 1) {
+                j++;
+            }
+            intervals.put(units[i], units[j - 1] + 1);
+            i = j;
+        }
+        return intervals;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return timeTable.isEmpty();
+    }
+
+    @Override
+    public ScheduleEngine copy() {
+        return new SlotMapScheduleEngine(timeTable);
+    }
+}
@@ -1,55 +1,152 @@
 package kanban.utility;
 
+import java.time.DateTimeException;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.stream.IntStream;
+import java.util.OptionalLong;
 
 /**
  * A utility class for managing time intervals and checking for scheduling conflicts.
- * Time is divided into 10-minute slots for internal representation.
+ * Time is divided into slots of a configurable size (10 minutes by default, from 1 minute
+ * up to 1 hour) for internal representation. In exact mode no slots are used and
+ * the true {@code [start, end)} intervals are compared instead.
+ * Occupied time is kept by a pluggable engine selected with {@link ScheduleMode}.
  */
 public class TimeSchedule {
 
     private static final int MINUTES_IN_SLOT = 10;
-    private static final String DATE_FORMATTER_WITHOUT_MINUTES = "yyyyMMddHH";
+    private static final int MIN_MINUTES_IN_SLOT = 1;
+    private static final int MAX_MINUTES_IN_SLOT = 60;
+    private static final long MAX_SLOTS_PER_INTERVAL = 52_560;
+    private static final Duration MAX_DURATION = Duration.ofDays(365);
     private static final String DATE_FORMATTER = "yyyyMMddHHmm";
 
-    private final DateTimeFormatter woMinutesFormatter =
-            DateTimeFormatter.ofPattern(DATE_FORMATTER_WITHOUT_MINUTES);
     private static final DateTimeFormatter dateFormatter =
             DateTimeFormatter.ofPattern(DATE_FORMATTER);
+    private static final String UNSCHEDULED = composeLocalDateTime(LocalDateTime.MIN);
 
-    private final Map<String, Boolean> timeTable;
+    private final ScheduleMode mode;
+    private final ScheduleEngine engine;
+    private final int minutesInSlot;
+    private final long secondsInUnit;
 
     /**
-     * Constructs an empty time schedule.
+     * Constructs an empty time schedule with 10-minute slots
+     * backed by the interval tree engine.
      */
     public TimeSchedule() {
-        timeTable = new HashMap<>();
+        this(ScheduleMode.INTERVAL_TREE);
     }
 
     /**
-     * Constructs a time schedule with an existing timetable.
+     * Constructs an empty time schedule with 10-minute slots backed by the given engine.
      *
-     * @param timeTable a map of time interval keys to their occupied state
+     * @param mode the engine used to store occupied slots
+     * @throws IllegalArgumentException if mode is null
      */
-    public TimeSchedule(Map<String, Boolean> timeTable) {
-        this.timeTable = new HashMap<>(timeTable);
+    public TimeSchedule(ScheduleMode mode) {
+        this(mode, MINUTES_IN_SLOT);
     }
 
     /**
-     * Returns a copy of the internal time schedule.
+     * Constructs an empty time schedule with slots of the given size backed by the given engine.
      *
-     * @return a new map representing the current time schedule
+     * @param mode          the engine used to store occupied slots
+     * @param minutesInSlot the slot size in minutes, from 1 to 60
+     * @throws IllegalArgumentException if mode is null or the slot size is out of range
      */
-    public Map<String, Boolean> getTimeSchedule() {
-        return new HashMap<>(timeTable);
+    public TimeSchedule(ScheduleMode mode, int minutesInSlot) {
+        if (mode == null) {
+            throw new IllegalArgumentException("Schedule mode must not be null.");
+        }
+        if (minutesInSlot < MIN_MINUTES_IN_SLOT || minutesInSlot > MAX_MINUTES_IN_SLOT) {
+            throw new IllegalArgumentException("Slot size must be from " + MIN_MINUTES_IN_SLOT
+                    + " to " + MAX_MINUTES_IN_SLOT + " minutes, but was: " + minutesInSlot);
+        }
+        this.mode = mode;
+        this.engine = createEngine(mode);
+        this.minutesInSlot = minutesInSlot;
+        this.secondsInUnit = minutesInSlot * 60L;
+    }
+
+    /**
+     * Constructs a time schedule around an existing engine.
+     *
+     * @param mode          the mode of the engine
+     * @param engine        the engine holding occupied time
+     * @param minutesInSlot the slot size in minutes, or 0 for exact mode
+     * @param secondsInUnit the length of an engine unit in seconds
+     */
+    private TimeSchedule(ScheduleMode mode, ScheduleEngine engine,
+                         int minutesInSlot, long secondsInUnit) {
+        this.mode = mode;
+        this.engine = engine;
+        this.minutesInSlot = minutesInSlot;
+        this.secondsInUnit = secondsInUnit;
+    }
+
+    /**
+     * Creates an empty time schedule in exact mode. Task time is compared
+     * as true {@code [start, end)} intervals with one-second precision,
+     * so tasks that merely share a slot no longer overlap.
+     * Exact mode is always backed by the interval tree engine.
+     *
+     * @return a new exact time schedule
+     */
+    public static TimeSchedule exact() {
+        return new TimeSchedule(ScheduleMode.INTERVAL_TREE, new IntervalScheduleEngine(), 0, 1);
+    }
+
+    /**
+     * Returns an independent copy of this time schedule.
+     *
+     * @return a new schedule with the same settings and occupied time
+     */
+    public TimeSchedule copy() {
+        return new TimeSchedule(mode, engine.copy(), minutesInSlot, secondsInUnit);
+    }
+
+    /**
+     * Returns the engine type used by this time schedule.
+     *
+     * @return the schedule mode
+     */
+    public ScheduleMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Checks whether this time schedule compares exact intervals instead of slots.
+     *
+     * @return true in exact mode, false otherwise
+     */
+    public boolean isExact() {
+        return minutesInSlot == 0;
+    }
+
+    /**
+     * Returns the smallest time unit this schedule distinguishes:
+     * the slot size, or one second in exact mode.
+     *
+     * @return the duration of a single unit
+     */
+    public Duration getSlotDuration() {
+        return Duration.ofSeconds(secondsInUnit);
+    }
+
+    /**
+     * Checks whether the schedule has no occupied time.
+     *
+     * @return true if no time interval is stored, false otherwise
+     */
+    public boolean isEmpty() {
+        return engine.isEmpty();
     }
 
     /**
@@ -60,14 +157,135 @@ public class TimeSchedule {
      * @return true if any overlap occurs, false otherwise
      */
     public boolean isTimeOverlapped(LocalDateTime timeStamp, Duration duration) {
-        return createTimeIntervals(timeStamp, duration)
-                .map(list -> list
-                        .stream()
-                        .anyMatch(timeTable::containsKey)
-                )
+        return createSlotRange(timeStamp, duration)
+                .map(range -> engine.isOccupied(range.from(), range.to()))
+                .orElse(true);
+    }
+
+    /**
+     * Checks if the given time interval overlaps with any existing interval,
+     * treating the time of the ignored interval as free.
+     *
+     * @param timeStamp        the start time
+     * @param duration         the duration
+     * @param ignoredTimeStamp the start time of the interval to ignore
+     * @param ignoredDuration  the duration of the interval to ignore
+     * @return true if any overlap occurs, false otherwise
+     */
+    public boolean isTimeOverlapped(LocalDateTime timeStamp, Duration duration,
+                                    LocalDateTime ignoredTimeStamp, Duration ignoredDuration) {
+        Optional<SlotRange> ignoredRange = createSlotRange(ignoredTimeStamp, ignoredDuration);
+        if (ignoredRange.isEmpty()) {
+            return isTimeOverlapped(timeStamp, duration);
+        }
+        return createSlotRange(timeStamp, duration)
+                .map(range -> engine.isOccupied(range.from(), range.to(),
+                        ignoredRange.get().from(), ignoredRange.get().to()))
                 .orElse(true);
     }
 
+    /**
+     * Moves an existing time interval to a new position in the schedule.
+     * The new position is validated before anything is changed, so the move
+     * either completes fully or leaves the schedule untouched.
+     *
+     * @param currentTimeStamp the start time of the existing interval
+     * @param currentDuration  the duration of the existing interval
+     * @param timeStamp        the new start time
+     * @param duration         the new duration
+     * @return true if the interval was moved, false if the new position overlaps
+     *         another interval
+     */
+    public boolean moveTimeInterval(LocalDateTime currentTimeStamp, Duration currentDuration,
+                                    LocalDateTime timeStamp, Duration duration) {
+        if (isTimeOverlapped(timeStamp, duration, currentTimeStamp, currentDuration)) {
+            return false;
+        }
+        removeTimeInterval(currentTimeStamp, currentDuration);
+        addTimeInterval(timeStamp, duration);
+        return true;
+    }
+
+    /**
+     * Finds the earliest free window of the given duration that starts at or after
+     * the given time and ends no later than the deadline. The given time itself is
+     * returned if the window starting there is free; otherwise the window starts
+     * at the beginning of a later slot.
+     *
+     * @param from     the earliest allowed start time
+     * @param duration the duration of the window
+     * @param deadline the latest allowed end time, or {@link LocalDateTime#MAX} for no limit
+     * @return an optional containing the start time of the window,
+     *         empty if the time values are out of bounds or no window fits before the deadline
+     */
+    public Optional<LocalDateTime> findFreeWindow(LocalDateTime from, Duration duration,
+                                                  LocalDateTime deadline) {
+        Optional<SlotRange> range = createSlotRange(from, duration);
+        if (range.isEmpty() || from.plus(duration).isAfter(deadline)) {
+            return Optional.empty();
+        }
+        if (!engine.isOccupied(range.get().from(), range.get().to())) {
+            return Optional.of(from);
+        }
+
+        // Later windows start at a slot boundary, so they may need fewer slots than one
+        // starting inside the first slot.
+        long length = countUnits(duration);
+        long latestStartSecond = deadline.minus(duration).toEpochSecond(ZoneOffset.UTC);
+        long maxStart = Math.min(Math.floorDiv(latestStartSecond, secondsInUnit),
+                Long.MAX_VALUE - length);
+
+        OptionalLong unit = engine.findFree(range.get().from() + 1, length, maxStart);
+        if (unit.isEmpty()) {
+            return Optional.empty();
+        }
+        LocalDateTime start = LocalDateTime.ofEpochSecond(unit.getAsLong() * secondsInUnit,
+                0, ZoneOffset.UTC);
+        return start.plus(duration).isAfter(deadline) ? Optional.empty() : Optional.of(start);
+    }
+
+    /**
+     * Plans start times for a batch of intervals so that they overlap neither
+     * the occupied time nor each other. Intervals are placed one by one in the given
+     * order, each into a free gap chosen by the strategy, using an index of the gaps
+     * built once for the whole batch. The schedule itself is not changed, so the caller
+     * can commit the plan with {@link #addTimeInterval(LocalDateTime, Duration)}.
+     * Every planned start is at a slot boundary, the first one at or after the given time,
+     * so each interval takes the fewest slots its duration needs.
+     *
+     * @param from      the earliest allowed start time
+     * @param durations the durations of the intervals to place
+     * @param strategy  the strategy used to choose a gap
+     * @return the planned start times in the order of durations; {@link LocalDateTime#MIN}
+     *         for durations that are out of bounds or do not fit anywhere
+     */
+    public List<LocalDateTime> allocateWindows(LocalDateTime from, List<Duration> durations,
+                                               FitStrategy strategy) {
+        List<LocalDateTime> starts = new ArrayList<>(durations.size());
+        if (!isValidStartTimeValue(from)) {
+            durations.forEach(duration -> starts.add(LocalDateTime.MIN));
+            return starts;
+        }
+
+        long fromSecond = from.toEpochSecond(ZoneOffset.UTC) + (from.getNano() > 0 ? 1 : 0);
+        long fromUnit = Math.ceilDiv(fromSecond, secondsInUnit);
+        long horizon = LocalDateTime.MAX.toEpochSecond(ZoneOffset.UTC) / secondsInUnit;
+        GapIndex gaps = new GapIndex(fromUnit, horizon, engine.getIntervals(fromUnit), strategy);
+
+        for (Duration duration : durations) {
+            OptionalLong unit = createSlotRange(from, duration)
+                    .map(range -> gaps.allocate(countUnits(duration)))
+                    .orElse(OptionalLong.empty());
+            if (unit.isEmpty()) {
+                starts.add(LocalDateTime.MIN);
+            } else {
+                starts.add(LocalDateTime.ofEpochSecond(unit.getAsLong() * secondsInUnit,
+                        0, ZoneOffset.UTC));
+            }
+        }
+        return starts;
+    }
+
     /**
      * Adds a time interval to the schedule.
      *
@@ -75,8 +293,8 @@ public class TimeSchedule {
      * @param duration  the duration
      */
     public void addTimeInterval(LocalDateTime timeStamp, Duration duration) {
-        createTimeIntervals(timeStamp, duration)
-                .ifPresent(list -> list.forEach(key -> timeTable.put(key, true)));
+        createSlotRange(timeStamp, duration)
+                .ifPresent(range -> engine.occupy(range.from(), range.to()));
     }
 
     /**
@@ -86,8 +304,8 @@ public class TimeSchedule {
      * @param duration  the duration
      */
     public void removeTimeInterval(LocalDateTime timeStamp, Duration duration) {
-        createTimeIntervals(timeStamp, duration)
-                .ifPresent(list -> list.forEach(timeTable::remove));
+        createSlotRange(timeStamp, duration)
+                .ifPresent(range -> engine.release(range.from(), range.to()));
     }
 
     /**
@@ -137,6 +355,42 @@ public class TimeSchedule {
         return timeStamp.format(dateFormatter);
     }
 
+    /**
+     * Appends a LocalDateTime in the format of {@link #composeLocalDateTime(LocalDateTime)}.
+     * Years 1 to 9999 are written digit by digit without creating a string;
+     * other values fall back to the formatter.
+     *
+     * @param builder   the builder to append to
+     * @param timeStamp the date-time value, null is written as {@code LocalDateTime.MIN}
+     */
+    public static void appendLocalDateTime(StringBuilder builder, LocalDateTime timeStamp) {
+        if (timeStamp == null) {
+            timeStamp = LocalDateTime.MIN;
+        }
+        if (timeStamp.getYear() < 1 || timeStamp.getYear() > 9999) {
+            dateFormatter.formatTo(timeStamp, builder);
+            return;
+        }
+        appendDigits(builder, timeStamp.getYear(), 4);
+        appendDigits(builder, timeStamp.getMonthValue(), 2);
+        appendDigits(builder, timeStamp.getDayOfMonth(), 2);
+        appendDigits(builder, timeStamp.getHour(), 2);
+        appendDigits(builder, timeStamp.getMinute(), 2);
+    }
+
+    /**
+     * Appends a non-negative number as a fixed count of decimal digits, padded with zeros.
+     *
+     * @param builder the builder to append to
+     * @param value   the number
+     * @param count   the number of digits
+     */
+    private static void appendDigits(StringBuilder builder, int value, int count) {
+        for (int divisor = (int) Math.pow(10, count - 1); divisor > 0; divisor /= 10) {
+            builder.append((char) ('0' + value / divisor % 10));
+        }
+    }
+
     /**
      * Converts a Duration to a string representing seconds.
      *
@@ -167,6 +421,51 @@ public class TimeSchedule {
         }
     }
 
+    /**
+     * Parses characters written by {@link #composeLocalDateTime(LocalDateTime)}.
+     * The usual twelve-digit form is converted digit by digit without creating
+     * a string; any other form falls back to {@link #parseLocalDateTime(String)}.
+     *
+     * @param dateTimeChars the input characters
+     * @return an optional containing the parsed date-time
+     */
+    public static Optional<LocalDateTime> parseLocalDateTime(CharSequence dateTimeChars) {
+        if (dateTimeChars == null || dateTimeChars.length() != DATE_FORMATTER.length()) {
+            return dateTimeChars == null || UNSCHEDULED.contentEquals(dateTimeChars)
+                    ? Optional.empty()
+                    : parseLocalDateTime(dateTimeChars.toString());
+        }
+        for (int i = 0; i < dateTimeChars.length(); i++) {
+            if (dateTimeChars.charAt(i) < '0' || dateTimeChars.charAt(i) > '9') {
+                return Optional.empty();
+            }
+        }
+        try {
+            return Optional.of(LocalDateTime.of(
+                    digits(dateTimeChars, 0, 4), digits(dateTimeChars, 4, 6),
+                    digits(dateTimeChars, 6, 8), digits(dateTimeChars, 8, 10),
+                    digits(dateTimeChars, 10, 12)));
+        } catch (DateTimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Converts a range of decimal digits into a number.
+     *
+     * @param chars the characters holding the digits
+     * @param from  the index of the first digit
+     * @param to    the index right after the last digit
+     * @return the number
+     */
+    private static int digits(CharSequence chars, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            value = value * 10 + (chars.charAt(i) - '0');
+        }
+        return value;
+    }
+
     /**
      * Parses a string representing seconds into a Duration.
      *
@@ -186,48 +485,76 @@ public class TimeSchedule {
     }
 
     /**
-     * Splits a time range into discrete 10-minute interval keys.
+     * Converts a time range into a half-open range of engine units.
+     * In exact mode a unit is one second and the range matches the interval exactly.
+     * Otherwise the range runs from the slot containing the start time to the slot
+     * containing the last moment of the interval, so an interval starting inside a slot
+     * covers every slot it reaches. Units are counted from the epoch, so the range
+     * does not depend on the engine.
      *
      * @param timeStamp the start time
      * @param duration  the duration
-     * @return an optional list of string interval keys
+     * @return an optional unit range, empty if the time values are out of bounds
      */
-    private Optional<List<String>> createTimeIntervals(LocalDateTime timeStamp, Duration duration) {
+    private Optional<SlotRange> createSlotRange(LocalDateTime timeStamp, Duration duration) {
         if (timeStamp == LocalDateTime.MIN
-                || duration.compareTo(Duration.ofDays(365)) >= 0
-                || duration.compareTo(Duration.ZERO) == 0
+                || duration.compareTo(MAX_DURATION) >= 0
                 || duration.compareTo(Duration.ZERO) <= 0) {
             return Optional.empty();
         }
 
-        int numberOfIntervals = (int) Math.ceil((double) Math.max((int) duration.toMinutes(),
-                MINUTES_IN_SLOT) / MINUTES_IN_SLOT);
-
-        List<String> intervalsList = IntStream.range(0, numberOfIntervals)
-                .mapToObj(i -> timeStamp.plusMinutes((long) i * MINUTES_IN_SLOT))
-                .map(this::createTimeIntervalString)
-                .toList();
+        long startSecond = timeStamp.toEpochSecond(ZoneOffset.UTC);
+        long endSecond = startSecond + toSeconds(duration);
+        return Optional.of(new SlotRange(Math.floorDiv(startSecond, secondsInUnit),
+                Math.ceilDiv(endSecond, secondsInUnit)));
+    }
 
-        return intervalsList.isEmpty() ? Optional.empty() : Optional.of(intervalsList);
+    /**
+     * Returns the number of engine units an interval of the given duration takes
+     * when it starts at the beginning of a unit.
+     *
+     * @param duration the duration
+     * @return the number of units, rounded up
+     */
+    private long countUnits(Duration duration) {
+        return Math.ceilDiv(toSeconds(duration), secondsInUnit);
     }
 
     /**
-     * Generates a unique string key for a 10-minute interval.
+     * Converts a duration into whole seconds, rounding a fraction of a second up.
      *
-     * @param timeStamp the timestamp for the interval
-     * @return formatted string key for internal timetable
+     * @param duration the duration
+     * @return the number of seconds
      */
-    private String createTimeIntervalString(LocalDateTime timeStamp) {
-        String formattedTimeStamp = timeStamp.format(woMinutesFormatter);
+    private static long toSeconds(Duration duration) {
+        return duration.getSeconds() + (duration.getNano() > 0 ? 1 : 0);
+    }
 
-        int interval = (int) Math.floor((double) timeStamp.getMinute() / MINUTES_IN_SLOT);
-        int startInterval = interval * MINUTES_IN_SLOT;
-        int endInterval = startInterval + MINUTES_IN_SLOT == 60 ? 59 :
-                startInterval + MINUTES_IN_SLOT;
+    /**
+     * Creates an empty engine of the requested type.
+     * Engines that store every slot separately keep intervals longer than
+     * {@value #MAX_SLOTS_PER_INTERVAL} slots in an interval tree instead,
+     * which bounds the work per task regardless of the slot size.
+     *
+     * @param mode the engine type
+     * @return a new engine
+     */
+    private static ScheduleEngine createEngine(ScheduleMode mode) {
+        return switch (mode) {
+            case SLOT_MAP -> new LongRunScheduleEngine(new SlotMapScheduleEngine(),
+                    MAX_SLOTS_PER_INTERVAL);
+            case INTERVAL_TREE -> new IntervalScheduleEngine();
+            case BITSET -> new LongRunScheduleEngine(new BitsetScheduleEngine(),
+                    MAX_SLOTS_PER_INTERVAL);
+        };
+    }
 
-        return formattedTimeStamp
-                + String.format("%02d", startInterval)
-                + String.format("%02d", timeStamp.getHour())
-                + String.format("%02d", endInterval);
+    /**
+     * Internal record class describing a half-open range of engine units.
+     *
+     * @param from the first unit of the range
+     * @param to   the unit right after the last unit of the range
+     */
+    private record SlotRange(long from, long to) {
     }
 }
@@ -0,0 +1,94 @@
+package kanban.utility;
+
+import java.util.zip.CRC32C;
+
+/**
+ * CRC32C checksum of CSV field values, shared by {@link CsvReader} and {@link CsvWriter}
+ * so that both compute it the same way. Every value is hashed as UTF-8 and followed by
+ * a unit separator, so moving text between adjacent fields changes the checksum.
+ * Characters are encoded into a reusable buffer, so hashing creates no objects.
+ */
+final class Utf8Checksum {
+
+    private static final byte SEPARATOR = 0x1F;
+
+    private final CRC32C crc;
+    private byte[] buffer;
+    private int length;
+
+    /**
+     * Constructs an empty checksum.
+     */
+    Utf8Checksum() {
+        crc = new CRC32C();
+        buffer = new byte[256];
+    }
+
+    /**
+     * Starts a new checksum.
+     */
+    void reset() {
+        crc.reset();
+        length = 0;
+    }
+
+    /**
+     * Adds a value followed by the separator.
+     *
+     * @param chars the characters holding the value
+     * @param from  the index of the first character
+     * @param to    the index right after the last character
+     */
+    void addValue(CharSequence chars, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = chars.charAt(i);
+            ensureCapacity(4);
+            if (c < 0x80) {
+                buffer[length++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[length++] = (byte) (0xC0 | c >> 6);
+                buffer[length++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < to
+                    && Character.isLowSurrogate(chars.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, chars.charAt(++i));
+                buffer[length++] = (byte) (0xF0 | codePoint >> 18);
+                buffer[length++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                buffer[length++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                buffer[length++] = (byte) (0x80 | codePoint & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogates are encoded as '?', as String.getBytes does
+                buffer[length++] = '?';
+            } else {
+                buffer[length++] = (byte) (0xE0 | c >> 12);
+                buffer[length++] = (byte) (0x80 | c >> 6 & 0x3F);
+                buffer[length++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+        ensureCapacity(1);
+        buffer[length++] = SEPARATOR;
+        crc.update(buffer, 0, length);
+        length = 0;
+    }
+
+    /**
+     * Returns the checksum of the values added since the last reset.
+     *
+     * @return the checksum as an unsigned 32-bit value
+     */
+    long getValue() {
+        return crc.getValue();
+    }
+
+    /**
+     * Grows the buffer so that it can take the given number of bytes more.
+     *
+     * @param extra the number of bytes to add
+     */
+    private void ensureCapacity(int extra) {
+        if (length + extra > buffer.length) {
+            byte[] grown = new byte[buffer.length * 2];
+            System.arraycopy(buffer, 0, grown, 0, length);
+            buffer = grown;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package kanban.http;
+
+import static kanban.tasks.TaskStatus.NEW;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.google.gson.Gson;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import kanban.http.server.ExecutionMode;
+import kanban.http.server.ServerOptions;
+import kanban.http.server.TasksServer;
+import kanban.managers.Managers;
+import kanban.managers.TaskManager;
+import kanban.tasks.Task;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class HttpExecutionModeTest {
+
+    private static final int REQUESTS = 200;
+
+    private final Gson gson = TasksServer.getGson();
+    private final HttpClient taskClient = HttpClient.newHttpClient();
+
+    @AfterEach
+    public void tearDown() {
+        TasksServer.stop();
+    }
+
+    @Test
+    public void shouldHandleParallelRequestsInEveryMode() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2025, 2, 7, 10, 0);
+
+        for (ExecutionMode mode : ExecutionMode.values()) {
+            TaskManager taskManager = Managers.getDefault();
+            new TasksServer(taskManager, ServerOptions.defaults()
+                    .withMode(mode)
+                    .withThreads(4)
+                    .withQueueCapacity(16)
+                    .withBacklog(64));
+            TasksServer.start();
+
+            List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                Task task = new Task(0, "Task " + i, NEW, "Task description",
+                        start.plusMinutes(10L * i), Duration.ofMinutes(10));
+                HttpRequest request = HttpRequest.newBuilder()
+                        .uri(URI.create("http://localhost:8080/tasks"))
+                        .POST(HttpRequest.BodyPublishers.ofString(gson.toJson(task)))
+                        .build();
+                responses.add(taskClient.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+            }
+            for (CompletableFuture<HttpResponse<String>> response : responses) {
+                assertEquals(201, response.get().statusCode(), mode.name());
+            }
+
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create("http://localhost:8080/prioritized"))
+                    .GET()
+                    .build();
+            HttpResponse<String> response = taskClient.send(request,
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(REQUESTS, gson.fromJson(response.body(), Task[].class).length,
+                    mode.name());
+
+            TasksServer.stop();
+        }
+    }
+
+    @Test
+    public void shouldRejectInvalidServerOptions() {
+        assertThrows(IllegalArgumentException.class,
+                () -> ServerOptions.defaults().withMode(null));
+        assertThrows(IllegalArgumentException.class,
+                () -> ServerOptions.defaults().withThreads(0));
+        assertThrows(IllegalArgumentException.class,
+                () -> ServerOptions.defaults().withQueueCapacity(0));
+        assertThrows(IllegalArgumentException.class,
+                () -> ServerOptions.defaults().withBacklog(-1));
+        assertThrows(IllegalArgumentException.class,
+                () -> ServerOptions.defaults().withResponseCacheBytes(-1));
+    }
+}
@@ -0,0 +1,63 @@
+package kanban.http;
+
+import static kanban.tasks.TaskStatus.NEW;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.google.gson.JsonObject;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import kanban.tasks.Task;
+import org.junit.jupiter.api.Test;
+
+public class HttpFreeWindowHandlerTest extends HttpBaseTest {
+
+    private HttpResponse<String> get(String query) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/free-window" + query))
+                .GET()
+                .build();
+        return taskClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    public void shouldReturnEarliestFreeWindow() throws IOException, InterruptedException {
+        LocalDateTime start = LocalDateTime.of(2025, 2, 7, 10, 0);
+        taskManager.addTask(new Task(0, "Task A", NEW, "Task A description",
+                start, Duration.ofMinutes(30)));
+        taskManager.addTask(new Task(0, "Task B", NEW, "Task B description",
+                start.plusMinutes(40), Duration.ofMinutes(30)));
+
+        HttpResponse<String> response = get("?from=2025-02-07T10:00&duration=PT20M");
+        assertEquals(200, response.statusCode());
+
+        JsonObject window = gson.fromJson(response.body(), JsonObject.class);
+        assertEquals("2025-02-07T11:10:00", window.get("startTime").getAsString());
+        assertEquals("2025-02-07T11:30:00", window.get("endTime").getAsString());
+        assertEquals("PT20M", window.get("duration").getAsString());
+    }
+
+    @Test
+    public void shouldReturn404WhenNoWindowFitsBeforeDeadline()
+            throws IOException, InterruptedException {
+        LocalDateTime start = LocalDateTime.of(2025, 2, 7, 10, 0);
+        taskManager.addTask(new Task(0, "Task A", NEW, "Task A description",
+                start, Duration.ofMinutes(60)));
+
+        HttpResponse<String> response = get(
+                "?from=2025-02-07T10:00&duration=PT30M&deadline=2025-02-07T11:20");
+        assertEquals(404, response.statusCode());
+    }
+
+    @Test
+    public void shouldReturn400OnInvalidParameters() throws IOException, InterruptedException {
+        assertEquals(400, get("").statusCode());
+        assertEquals(400, get("?from=2025-02-07T10:00").statusCode());
+        assertEquals(400, get("?from=tomorrow&duration=PT30M").statusCode());
+        assertEquals(400, get("?from=2025-02-07T10:00&duration=-PT30M").statusCode());
+        assertEquals(400, get("/1?from=2025-02-07T10:00&duration=PT30M").statusCode());
+    }
+}
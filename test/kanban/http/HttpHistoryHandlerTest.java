@@ -49,7 +49,7 @@ public class HttpHistoryHandlerTest extends HttpBaseTest {
         Task taskA = new Task(0, "Task A", DONE, "Task A description",
                 start, duration);
         Task taskB = new Task(0, "Task B", DONE, "Task B description",
-                start.plusMinutes(35), duration);
+                start.plusMinutes(30), duration);
         taskManager.addTask(taskA);
         taskManager.addTask(taskB);
 
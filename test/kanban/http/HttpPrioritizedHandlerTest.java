@@ -2,6 +2,8 @@ package kanban.http;
 
 import static kanban.tasks.TaskStatus.NEW;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
 import java.net.URI;
@@ -115,4 +117,122 @@ public class HttpPrioritizedHandlerTest extends HttpBaseTest {
         );
         assertEquals(400, responseB.statusCode());
     }
+
+    @Test
+    public void shouldReturnTasksWithinTimeWindow() throws IOException, InterruptedException {
+        LocalDateTime start = LocalDateTime.of(2025, 2, 7, 10, 0);
+        Duration duration = Duration.ofMinutes(30);
+        for (int i = 0; i < 5; i++) {
+            taskManager.addTask(new Task(0, "Task " + i, NEW, "Task description",
+                    start.plusHours(i), duration));
+        }
+
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/prioritized"
+                        + "?from=2025-02-07T11:00&to=2025-02-07T14:00&limit=2"))
+                .GET()
+                .build();
+        HttpResponse<String> response = taskClient.send(
+                request,
+                HttpResponse.BodyHandlers.ofString()
+        );
+        assertEquals(200, response.statusCode());
+
+        Task[] returned = gson.fromJson(response.body(), Task[].class);
+        assertEquals(2, returned.length);
+        assertEquals(start.plusHours(1), returned[0].getStartTime());
+        assertEquals(start.plusHours(2), returned[1].getStartTime());
+
+        String cursor = response.headers().firstValue("X-Next-Cursor").orElseThrow();
+        request = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/prioritized"
+                        + "?cursor=" + cursor + "&to=2025-02-07T14:00&limit=2"))
+                .GET()
+                .build();
+        response = taskClient.send(
+                request,
+                HttpResponse.BodyHandlers.ofString()
+        );
+        assertEquals(200, response.statusCode());
+
+        returned = gson.fromJson(response.body(), Task[].class);
+        assertEquals(1, returned.length);
+        assertEquals(start.plusHours(3), returned[0].getStartTime());
+        assertTrue(response.headers().firstValue("X-Next-Cursor").isEmpty());
+    }
+
+    @Test
+    public void shouldReturnEmptyPageForZeroLimit() throws IOException, InterruptedException {
+        taskManager.addTask(new Task(0, "Task A", NEW, "Task A description",
+                LocalDateTime.of(2025, 2, 7, 10, 0), Duration.ofMinutes(30)));
+
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/prioritized?limit=0"))
+                .GET()
+                .build();
+        HttpResponse<String> response = taskClient.send(
+                request,
+                HttpResponse.BodyHandlers.ofString()
+        );
+        assertEquals(200, response.statusCode());
+        assertEquals("[]", response.body());
+        assertTrue(response.headers().firstValue("X-Next-Cursor").isEmpty());
+    }
+
+    @Test
+    public void shouldReturn400OnInvalidTimeWindow() throws IOException, InterruptedException {
+        for (String query : List.of("?from=yesterday", "?limit=-1", "?limit=many", "?cursor=!!!",
+                "?cursor=MTI",
+                "?from=2025-02-07T12:00&to=2025-02-07T10:00")) {
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create("http://localhost:8080/prioritized" + query))
+                    .GET()
+                    .build();
+            HttpResponse<String> response = taskClient.send(
+                    request,
+                    HttpResponse.BodyHandlers.ofString()
+            );
+            assertEquals(400, response.statusCode(), query);
+        }
+    }
+
+    @Test
+    public void shouldAnswerNotModifiedWhileListIsUnchanged()
+            throws IOException, InterruptedException {
+        LocalDateTime start = LocalDateTime.of(2025, 2, 7, 10, 0);
+        taskManager.addTask(new Task(0, "Task A", NEW, "Task A description",
+                start, Duration.ofMinutes(30)));
+        URI uri = URI.create("http://localhost:8080/prioritized");
+
+        HttpResponse<String> response = taskClient.send(
+                HttpRequest.newBuilder().uri(uri).GET().build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+        assertEquals(200, response.statusCode());
+        String etag = response.headers().firstValue("ETag").orElseThrow();
+
+        response = taskClient.send(
+                HttpRequest.newBuilder().uri(uri).header("If-None-Match", etag).GET().build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+        assertEquals(304, response.statusCode());
+        assertEquals("", response.body());
+
+        taskManager.addEpic(new Epic("Epic A", "Epic A description"));
+        response = taskClient.send(
+                HttpRequest.newBuilder().uri(uri).header("If-None-Match", etag).GET().build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+        assertEquals(304, response.statusCode(), "Epics are not in the prioritized list.");
+
+        taskManager.addTask(new Task(0, "Task B", NEW, "Task B description",
+                start.plusHours(1), Duration.ofMinutes(30)));
+        response = taskClient.send(
+                HttpRequest.newBuilder().uri(uri).header("If-None-Match", etag).GET().build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+        assertEquals(200, response.statusCode());
+        assertEquals(2, gson.fromJson(response.body(), Task[].class).length);
+        assertNotEquals(etag, response.headers().firstValue("ETag").orElseThrow());
+    }
 }
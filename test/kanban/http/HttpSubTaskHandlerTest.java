@@ -4,16 +4,20 @@ import static kanban.tasks.TaskStatus.DONE;
 import static kanban.tasks.TaskStatus.IN_PROGRESS;
 import static kanban.tasks.TaskStatus.NEW;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 import kanban.tasks.Epic;
 import kanban.tasks.SubTask;
 import org.junit.jupiter.api.Test;
@@ -182,4 +186,60 @@ public class HttpSubTaskHandlerTest extends HttpBaseTest {
         );
         assertEquals(404, response.statusCode());
     }
+
+    @Test
+    public void shouldCompressLargeSubtaskListWhenGzipIsAccepted()
+            throws IOException, InterruptedException {
+        Epic epic = new Epic("Epic A", "Epic A description");
+        taskManager.addEpic(epic);
+        LocalDateTime start = LocalDateTime.of(2025, 3, 1, 9, 0);
+        for (int i = 0; i < 200; i++) {
+            taskManager.addSub(new SubTask(0, "Sub " + i, NEW, "Sub description " + i,
+                    epic.getId(), start.plusMinutes(10L * i), Duration.ofMinutes(5)));
+        }
+        String expected = gson.toJson(taskManager.getSubList());
+
+        HttpRequest gzipRequest = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/subtasks"))
+                .header("Accept-Encoding", "gzip, deflate")
+                .GET()
+                .build();
+        for (int i = 0; i < 2; i++) {
+            HttpResponse<byte[]> response = taskClient.send(
+                    gzipRequest,
+                    HttpResponse.BodyHandlers.ofByteArray()
+            );
+            assertEquals(200, response.statusCode());
+            assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(""));
+            assertTrue(response.body().length < expected.length() / 4);
+            try (GZIPInputStream in = new GZIPInputStream(
+                    new ByteArrayInputStream(response.body()))) {
+                assertEquals(expected, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+
+        HttpRequest plainRequest = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/subtasks"))
+                .header("Accept-Encoding", "gzip;q=0, identity")
+                .GET()
+                .build();
+        HttpResponse<String> plain = taskClient.send(
+                plainRequest,
+                HttpResponse.BodyHandlers.ofString()
+        );
+        assertFalse(plain.headers().firstValue("Content-Encoding").isPresent());
+        assertEquals(expected, plain.body());
+
+        HttpRequest smallRequest = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/epics/" + epic.getId()))
+                .header("Accept-Encoding", "gzip")
+                .GET()
+                .build();
+        HttpResponse<String> small = taskClient.send(
+                smallRequest,
+                HttpResponse.BodyHandlers.ofString()
+        );
+        assertEquals(200, small.statusCode());
+        assertFalse(small.headers().firstValue("Content-Encoding").isPresent());
+    }
 }
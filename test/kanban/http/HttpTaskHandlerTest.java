@@ -12,6 +12,7 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import kanban.tasks.Task;
 import org.junit.jupiter.api.Test;
@@ -142,4 +143,111 @@ public class HttpTaskHandlerTest extends HttpBaseTest {
         assertEquals(400, response.statusCode());
         assertEquals("Bad Request", response.body());
     }
+
+    @Test
+    public void shouldStreamTaskListWithChunkedEncoding() throws IOException, InterruptedException {
+        LocalDateTime start = LocalDateTime.of(2025, 2, 7, 10, 0);
+        for (int i = 0; i < 500; i++) {
+            taskManager.addTask(new Task(0, "Task " + i, NEW, "Description \"" + i + "\"",
+                    start.plusMinutes(10L * i), Duration.ofMinutes(5)));
+        }
+
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/tasks"))
+                .GET()
+                .build();
+
+        HttpResponse<String> response = taskClient.send(
+                request,
+                HttpResponse.BodyHandlers.ofString()
+        );
+        assertEquals(200, response.statusCode());
+        assertEquals("chunked", response.headers().firstValue("Transfer-Encoding").orElse(""));
+        assertTrue(response.headers().firstValue("Content-Length").isEmpty());
+        assertEquals(gson.toJson(taskManager.getTaskList()), response.body());
+    }
+
+    @Test
+    public void shouldPageThroughTasksWithCursor() throws IOException, InterruptedException {
+        for (int i = 0; i < 5; i++) {
+            taskManager.addTask(new Task("Task " + i, "Task description"));
+        }
+
+        List<Integer> pagedIds = new ArrayList<>();
+        String query = "?limit=2";
+        int pages = 0;
+        while (query != null) {
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create("http://localhost:8080/tasks" + query))
+                    .GET()
+                    .build();
+            HttpResponse<String> response = taskClient.send(
+                    request,
+                    HttpResponse.BodyHandlers.ofString()
+            );
+            assertEquals(200, response.statusCode());
+            Task[] page = gson.fromJson(response.body(), Task[].class);
+            assertTrue(page.length <= 2);
+            for (Task task : page) {
+                pagedIds.add(task.getId());
+            }
+            pages++;
+            query = response.headers().firstValue("X-Next-Cursor")
+                    .map(cursor -> "?limit=2&cursor=" + cursor)
+                    .orElse(null);
+        }
+
+        assertEquals(3, pages);
+        assertEquals(taskManager.getTaskList().stream().map(Task::getId).toList(), pagedIds);
+    }
+
+    @Test
+    public void shouldReturnEmptyPageForZeroLimit() throws IOException, InterruptedException {
+        taskManager.addTask(new Task("Task A", "Task A description"));
+        taskManager.getTaskById(taskManager.getTaskList().getFirst().getId());
+
+        for (String path : List.of("/tasks", "/history")) {
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create("http://localhost:8080" + path + "?limit=0"))
+                    .GET()
+                    .build();
+            HttpResponse<String> response = taskClient.send(
+                    request,
+                    HttpResponse.BodyHandlers.ofString()
+            );
+            assertEquals(200, response.statusCode(), path);
+            assertEquals("[]", response.body(), path);
+            assertTrue(response.headers().firstValue("X-Next-Cursor").isEmpty(), path);
+        }
+    }
+
+    @Test
+    public void shouldServeRepeatedReadsFromCacheUntilTasksChange()
+            throws IOException, InterruptedException {
+        taskManager.addTask(new Task(0, "Task A", NEW, "Task A description",
+                LocalDateTime.of(2025, 2, 7, 10, 0), Duration.ofMinutes(5)));
+        int id = taskManager.getTaskList().getFirst().getId();
+
+        for (String path : List.of("/tasks", "/tasks/" + id)) {
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create("http://localhost:8080" + path))
+                    .GET()
+                    .build();
+            HttpResponse<String> first = taskClient.send(request,
+                    HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> cached = taskClient.send(request,
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, cached.statusCode());
+            assertEquals(first.body(), cached.body());
+            assertTrue(cached.headers().firstValue("Content-Length").isPresent());
+
+            String title = "Task A " + path;
+            taskManager.updateTask(new Task(id, title, DONE, "Task A description",
+                    LocalDateTime.of(2025, 2, 7, 10, 0), Duration.ofMinutes(5)));
+            HttpResponse<String> updated = taskClient.send(request,
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, updated.statusCode());
+            assertTrue(updated.body().contains(title));
+        }
+    }
 }
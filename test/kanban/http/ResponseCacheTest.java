@@ -0,0 +1,68 @@
+package kanban.http;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import kanban.api.handlers.ResponseCache;
+import org.junit.jupiter.api.Test;
+
+public class ResponseCacheTest {
+
+    @Test
+    public void shouldReturnResponseOnlyForItsVersion() {
+        ResponseCache cache = new ResponseCache(1024);
+        cache.put("/tasks", 3, new byte[]{1, 2, 3}, "cursor");
+
+        ResponseCache.CachedResponse cached = cache.get("/tasks", 3).orElseThrow();
+        assertArrayEquals(new byte[]{1, 2, 3}, cached.body());
+        assertEquals("cursor", cached.nextCursor());
+
+        assertTrue(cache.get("/tasks", 4).isEmpty());
+        assertTrue(cache.get("/tasks", 3).isEmpty());
+        assertEquals(0, cache.getByteSize());
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedResponsesOverBudget() {
+        long entrySize = ResponseCache.sizeOf("/tasks", 4);
+        ResponseCache cache = new ResponseCache(2 * entrySize + 1);
+        cache.put("/tasks", 1, new byte[4], null);
+        cache.put("/epics", 1, new byte[4], null);
+        cache.get("/tasks", 1);
+        cache.put("/stask", 1, new byte[4], null);
+
+        assertTrue(cache.get("/tasks", 1).isPresent());
+        assertTrue(cache.get("/epics", 1).isEmpty());
+        assertTrue(cache.get("/stask", 1).isPresent());
+        assertEquals(2 * entrySize, cache.getByteSize());
+
+        cache.put("/prioritized", 1, new byte[(int) entrySize], null);
+        assertTrue(cache.get("/prioritized", 1).isEmpty());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void shouldChargeKeysAndOverheadOfSmallResponses() {
+        ResponseCache cache = new ResponseCache(1024);
+        for (int i = 0; i < 1_000; i++) {
+            cache.put("/tasks?limit=" + i, 1, new byte[]{'[', ']'}, null);
+        }
+
+        assertTrue(cache.getByteSize() <= 1024);
+        assertTrue(cache.size() < 1024 / ResponseCache.ENTRY_OVERHEAD);
+        assertTrue(cache.get("/tasks?limit=999", 1).isPresent());
+    }
+
+    @Test
+    public void shouldStoreNothingWhenDisabled() {
+        ResponseCache cache = ResponseCache.disabled();
+        cache.put("/tasks", 1, new byte[0], null);
+
+        assertFalse(cache.isEnabled());
+        assertEquals(0, cache.size());
+        assertThrows(IllegalArgumentException.class, () -> new ResponseCache(-1));
+    }
+}
@@ -0,0 +1,113 @@
+package kanban.managers;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import kanban.tasks.Task;
+import kanban.tasks.TaskStatus;
+import kanban.utility.ScheduleMode;
+import kanban.utility.TimeSchedule;
+
+/**
+ * Manual benchmark of compressed CSV snapshots of {@link FileBackedTaskManager}.
+ * Fills a board with repetitive tasks, like an archived board, and prints the snapshot
+ * size, the compression ratio and the save and load throughput for every codec level.
+ * Throughput is measured over the uncompressed CSV text.
+ * Run with {@code java kanban.managers.CompressionBenchmark [tasks] [rounds]}.
+ */
+class CompressionBenchmark {
+
+    private static final int DEFAULT_TASKS = 50_000;
+    private static final int DEFAULT_ROUNDS = 5;
+    private static final int[] LEVELS = {1, 6, 9};
+
+    /**
+     * Runs the benchmark and prints one line per codec level.
+     *
+     * @param args the number of tasks and the number of measured rounds, both optional
+     * @throws IOException if a temporary file cannot be created
+     */
+    public static void main(String[] args) throws IOException {
+        int tasks = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TASKS;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+
+        File file = File.createTempFile("_benchGzip_", ".csv");
+        file.deleteOnExit();
+        new File(file.getPath() + ".tmp").deleteOnExit();
+        StorageOptions plain = StorageOptions.defaults().withMode(StorageMode.JOURNAL);
+        FileBackedTaskManager board = new FileBackedTaskManager(file,
+                new TimeSchedule(), plain);
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        List<Task> archive = new ArrayList<>();
+        for (int i = 0; i < tasks; i++) {
+            archive.add(new Task(i + 1, "Weekly report " + (i % 50), TaskStatus.DONE,
+                    "Collect the numbers, check them and send the report",
+                    start.plusMinutes(30L * i), Duration.ofMinutes(30)));
+        }
+        board.restoreTasks(archive);
+        board.writeSnapshot();
+        long textLength = file.length();
+        System.out.printf("%d tasks, %d bytes of CSV, %d rounds%n", tasks, textLength, rounds);
+        System.out.printf("%-8s %12s %8s %12s %12s%n", "codec", "bytes", "ratio",
+                "save MB/s", "load MB/s");
+
+        // The first pass warms up the JIT compiler
+        for (int pass = 0; pass < 2; pass++) {
+            measure("none", plain, board, file, textLength, rounds);
+            for (int level : LEVELS) {
+                StorageOptions gzip = plain.withCompression(Compression.GZIP)
+                        .withCompressionLevel(level);
+                measure("gzip-" + level, gzip, board, file, textLength, rounds);
+            }
+        }
+    }
+
+    /**
+     * Saves and loads the board with the given settings and prints the results.
+     *
+     * @param name       the name of the codec level
+     * @param options    the settings of the saving manager
+     * @param board      the manager holding the tasks
+     * @param file       the task file
+     * @param textLength the size of the uncompressed CSV snapshot
+     * @param rounds     the number of measured saves and loads
+     */
+    private static void measure(String name, StorageOptions options,
+                                FileBackedTaskManager board, File file,
+                                long textLength, int rounds) {
+        FileBackedTaskManager saving = new FileBackedTaskManager(file,
+                new TimeSchedule(), options);
+        saving.restoreTasks(board.getStoredTasks());
+        saving.writeSnapshot();
+
+        long saveNanos = 0;
+        long loadNanos = 0;
+        for (int i = 0; i < rounds; i++) {
+            long started = System.nanoTime();
+            saving.writeSnapshot();
+            saveNanos += System.nanoTime() - started;
+
+            started = System.nanoTime();
+            FileBackedTaskManager.loadFromFile(file, ScheduleMode.INTERVAL_TREE, options);
+            loadNanos += System.nanoTime() - started;
+        }
+        long size = file.length();
+        System.out.printf("%-8s %12d %8.2f %12.1f %12.1f%n", name, size,
+                (double) textLength / size, throughput(textLength * rounds, saveNanos),
+                throughput(textLength * rounds, loadNanos));
+    }
+
+    /**
+     * Converts bytes processed in a time span to megabytes per second.
+     *
+     * @param bytes the processed bytes
+     * @param nanos the time span in nanoseconds
+     * @return the throughput in MB/s
+     */
+    private static double throughput(long bytes, long nanos) {
+        return bytes / 1e6 / (nanos / 1e9);
+    }
+}
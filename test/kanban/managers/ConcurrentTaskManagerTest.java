@@ -0,0 +1,94 @@
+package kanban.managers;
+
+import static kanban.tasks.TaskStatus.NEW;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import kanban.tasks.Epic;
+import kanban.tasks.Task;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ConcurrentTaskManager}: the common {@link TaskManagerTest}
+ * contract plus parallel access from several threads.
+ */
+class ConcurrentTaskManagerTest extends TaskManagerTest<ConcurrentTaskManager> {
+
+    /**
+     * Creates a thread-safe manager wrapping a new in-memory manager.
+     *
+     * @return a new ConcurrentTaskManager instance
+     */
+    @Override
+    protected ConcurrentTaskManager createTaskManager() {
+        return Managers.getConcurrent(Managers.getDefault());
+    }
+
+    /**
+     * Verifies that a null delegate is rejected.
+     */
+    @Test
+    void shouldRejectNullDelegate() {
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentTaskManager(null));
+    }
+
+    /**
+     * Verifies that returned tasks are copies, so changing them does not affect
+     * the stored state.
+     */
+    @Test
+    void shouldReturnCopiesOfStoredTasks() {
+        taskManager.addEpic(epicA);
+        Epic returned = taskManager.getEpicById(epicA.getId()).orElseThrow();
+        returned.addSubId(100);
+
+        assertNotSame(returned, taskManager.getEpicById(epicA.getId()).orElseThrow());
+        assertTrue(taskManager.getEpicById(epicA.getId()).orElseThrow()
+                .getSubIdList().isEmpty());
+    }
+
+    /**
+     * Verifies that tasks added by many threads while others read the lists
+     * are all stored, scheduled and prioritized without losing updates.
+     */
+    @Test
+    void shouldKeepStateConsistentUnderParallelWritesAndReads() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 10, 0);
+        int threads = 8;
+        int tasksPerThread = 250;
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int offset = t * tasksPerThread;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < tasksPerThread; i++) {
+                        taskManager.addTask(new Task(0, "Task", NEW, "Task description",
+                                start.plusMinutes(10L * (offset + i)), Duration.ofMinutes(10)));
+                        taskManager.getPrioritizedTasks();
+                        taskManager.getTaskList();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        assertEquals(threads * tasksPerThread, taskManager.getTaskList().size());
+        assertEquals(threads * tasksPerThread, taskManager.getPrioritizedTasks().size());
+        assertEquals(threads * tasksPerThread, taskManager.getTaskList().stream()
+                .map(Task::getId).distinct().count());
+        assertThrows(TaskTimeOverlapException.class, () -> taskManager.addTask(
+                new Task(0, "Task", NEW, "Task description", start, Duration.ofMinutes(10))));
+    }
+}
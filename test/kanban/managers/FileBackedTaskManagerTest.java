@@ -4,17 +4,27 @@ import static kanban.tasks.TaskStatus.DONE;
 import static kanban.tasks.TaskStatus.IN_PROGRESS;
 import static kanban.tasks.TaskStatus.NEW;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.zip.GZIPInputStream;
 import kanban.tasks.Epic;
 import kanban.tasks.SubTask;
 import kanban.tasks.Task;
+import kanban.utility.ScheduleMode;
+import kanban.utility.TimeSchedule;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -159,6 +169,600 @@ class FileBackedTaskManagerTest extends TaskManagerTest<FileBackedTaskManager> {
         assertEquals(original, restored);
     }
 
+    /**
+     * Verifies that loading writes nothing, records no history,
+     * and new tasks receive IDs after the greatest loaded ID.
+     */
+    @Test
+    void shouldLoadWithoutWritingAndContinueIds() throws IOException {
+        taskManager = Managers.getFileBackedManager(tempFile);
+        taskManager.addTask(taskA);
+        taskManager.addEpic(epicA);
+        subA.setParentId(epicA.getId());
+        taskManager.addSub(subA);
+        String saved = Files.readString(tempFile.toPath());
+        long modified = tempFile.lastModified();
+
+        taskManagerRestored = FileBackedTaskManager.loadFromFile(tempFile);
+
+        assertEquals(saved, Files.readString(tempFile.toPath()));
+        assertEquals(modified, tempFile.lastModified());
+        assertTrue(taskManagerRestored.getHistoryTask().isEmpty());
+        assertEquals(List.of(subA.getId()), taskManagerRestored.getEpicList().getFirst()
+                .getSubIdList());
+
+        Task added = new Task("Task E", "Created after loading");
+        taskManagerRestored.addTask(added);
+        assertEquals(subA.getId() + 1, added.getId());
+        assertEquals(2, taskManagerRestored.getTaskList().size());
+    }
+
+    /**
+     * Verifies that titles and descriptions with commas, quotes and line breaks
+     * are restored unchanged.
+     */
+    @Test
+    void shouldRestoreTextWithSpecialCharacters() {
+        taskManager = Managers.getFileBackedManager(tempFile);
+        Task special = new Task("Title, \"quoted\"", "First line\nSecond line,\r\nthird");
+        taskManager.addTask(special);
+
+        taskManagerRestored = FileBackedTaskManager.loadFromFile(tempFile);
+        Task restored = taskManagerRestored.getTaskById(special.getId()).orElseThrow();
+        assertEquals(special.getTitle(), restored.getTitle());
+        assertEquals(special.getDescription(), restored.getDescription());
+    }
+
+    /**
+     * Verifies that a snapshot built from rows cached between saves is identical
+     * to a snapshot encoded from scratch after a series of changes.
+     */
+    @Test
+    void shouldKeepCachedRowsInSyncWithChanges() throws IOException {
+        taskManager = Managers.getFileBackedManager(tempFile);
+        taskManager.addTask(taskA);
+        taskManager.addTask(taskB);
+        taskManager.addEpic(epicA);
+        subA.setParentId(epicA.getId());
+        subB.setParentId(epicA.getId());
+        taskManager.addSub(subA);
+        taskManager.addSub(subB);
+
+        subA = taskManager.getSubTaskById(subA.getId()).orElseThrow();
+        subA.setStatus(DONE);
+        taskManager.updateSub(subA);
+        taskA = taskManager.getTaskById(taskA.getId()).orElseThrow();
+        taskA.setDescription("Changed, after caching");
+        taskManager.updateTask(taskA);
+        taskManager.removeTaskById(taskB.getId());
+        taskManager.removeSubById(subB.getId());
+
+        File encodedFile = File.createTempFile("_tempCSV_", ".csv");
+        encodedFile.deleteOnExit();
+        SnapshotConverter.convert(tempFile, encodedFile, SnapshotFormat.CSV);
+        assertEquals(Files.readString(encodedFile.toPath()), Files.readString(tempFile.toPath()));
+        assertTrue(Files.readString(tempFile.toPath()).contains("\"Changed, after caching\""));
+    }
+
+    /**
+     * Verifies that a snapshot is replaced without leaving its temporary file,
+     * and that a row with a wrong checksum or torn by a crash is skipped and reported
+     * while the other rows are restored.
+     */
+    @Test
+    void shouldSalvageValidRowsAndReportDamagedOnes() throws IOException {
+        taskManager = Managers.getFileBackedManager(tempFile);
+        taskManager.addTask(taskA);
+        taskManager.addTask(taskB);
+        taskManager.addTask(taskC);
+        assertFalse(new File(tempFile.getPath() + ".tmp").exists());
+
+        String damaged = Files.readString(tempFile.toPath())
+                .replace("Task B description", "Task B descriptiom");
+        Files.writeString(tempFile.toPath(), damaged + "4,TASK,Torn,NE");
+
+        taskManagerRestored = FileBackedTaskManager.loadFromFile(tempFile);
+        assertEquals(List.of(taskA.getId(), taskC.getId()), taskManagerRestored.getTaskList()
+                .stream()
+                .map(Task::getId)
+                .toList());
+        LoadReport report = taskManagerRestored.getLoadReport();
+        assertFalse(report.isComplete());
+        assertEquals(2, report.restoredRecords());
+        assertEquals(List.of(tempFile.getName() + " record 3: checksum mismatch",
+                tempFile.getName() + " record 5: malformed record"), report.skippedRecords());
+    }
+
+    /**
+     * Verifies that the subtasks of a damaged epic row are skipped and reported,
+     * a task overlapping with an earlier one is restored without its start time,
+     * and the other rows are restored.
+     */
+    @Test
+    void shouldSkipSubtasksOfDamagedEpicAndUnscheduleOverlappingTasks() throws IOException {
+        Files.writeString(tempFile.toPath(), """
+                id,type,name,status,description,epic,start,duration
+                1,EPIC,Epic A,BROKEN,Epic A description,,+100000000001010000,0
+                2,SUB,Sub A,DONE,SubTask A description,1,202501011000,600
+                3,SUB,Sub B,NEW,SubTask B description,1,202501011020,600
+                4,TASK,Task A,NEW,Task A description,,202501011000,600
+                5,TASK,Task B,NEW,Task B description,,202501011100,600
+                6,TASK,Task C,NEW,Task C description,,202501011105,600
+                """);
+
+        taskManagerRestored = FileBackedTaskManager.loadFromFile(tempFile);
+        assertTrue(taskManagerRestored.getEpicList().isEmpty());
+        assertTrue(taskManagerRestored.getSubList().isEmpty());
+        assertEquals(List.of(4, 5, 6), taskManagerRestored.getTaskList().stream()
+                .map(Task::getId)
+                .toList());
+        assertEquals(LocalDateTime.MIN,
+                taskManagerRestored.getTaskById(6).orElseThrow().getStartTime());
+        assertEquals(List.of(4, 5), taskManagerRestored.getPrioritizedTasks().stream()
+                .map(Task::getId)
+                .toList());
+        LoadReport report = taskManagerRestored.getLoadReport();
+        assertEquals(3, report.restoredRecords());
+        assertEquals(List.of(tempFile.getName() + " record 2: invalid values",
+                tempFile.getName() + " task 2: SubTask linked to epic with id: 1 not found.",
+                tempFile.getName() + " task 3: SubTask linked to epic with id: 1 not found."),
+                report.skippedRecords());
+        assertEquals(List.of(tempFile.getName() + " task 6: Restored task with id: 6"
+                + " time overlapped with other task."), report.unscheduledTasks());
+        Task added = new Task("New", "Created after load");
+        taskManagerRestored.addTask(added);
+        assertEquals(7, added.getId());
+    }
+
+    /**
+     * Verifies that tasks saved in exact mode and overlapping under the default slots
+     * are all kept after loading, so saving the loaded manager does not drop any of them.
+     */
+    @Test
+    void shouldKeepOverlappingTaskUnscheduledAfterSave() {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 10, 0);
+        taskManager = new FileBackedTaskManager(tempFile, TimeSchedule.exact());
+        taskManager.addTask(new Task(0, "Task A", NEW, "Task A description",
+                start, Duration.ofMinutes(5)));
+        taskManager.addTask(new Task(0, "Task B", NEW, "Task B description",
+                start.plusMinutes(5), Duration.ofMinutes(5)));
+
+        FileBackedTaskManager loaded = FileBackedTaskManager.loadFromFile(tempFile);
+        assertEquals(List.of(tempFile.getName() + " task 2: Restored task with id: 2"
+                + " time overlapped with other task."), loaded.getLoadReport().unscheduledTasks());
+        assertFalse(loaded.getLoadReport().isComplete());
+        loaded.addTask(new Task("Task C", "Added after load"));
+
+        taskManagerRestored = FileBackedTaskManager.loadFromFile(tempFile);
+        assertEquals(List.of(1, 2, 3), taskManagerRestored.getTaskList().stream()
+                .map(Task::getId)
+                .toList());
+        assertEquals(LocalDateTime.MIN,
+                taskManagerRestored.getTaskById(2).orElseThrow().getStartTime());
+        assertEquals(Duration.ofMinutes(5),
+                taskManagerRestored.getTaskById(2).orElseThrow().getDuration());
+        assertTrue(taskManagerRestored.getLoadReport().isComplete());
+    }
+
+    /**
+     * Verifies that a parallel load of a file large enough to be split into chunks
+     * restores the same tasks and reports the same skipped rows as a sequential load.
+     */
+    @Test
+    void shouldLoadInParallelLikeSequentially() throws IOException {
+        taskManager = Managers.getFileBackedManager(tempFile);
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        for (int i = 0; i < 3_000; i++) {
+            taskManager.addTask(new Task(0, "Task " + i, NEW,
+                    "Line one, \"quoted\"\nline two of task " + i,
+                    start.plusMinutes(10L * i), Duration.ofMinutes(10)));
+        }
+        String damaged = Files.readString(tempFile.toPath())
+                .replace("line two of task 2500\"", "line two of task 2501\"");
+        Files.writeString(tempFile.toPath(), damaged);
+
+        FileBackedTaskManager sequential = FileBackedTaskManager.loadFromFile(tempFile);
+        StorageOptions parallel = StorageOptions.defaults().withLoadMode(LoadMode.PARALLEL);
+        taskManagerRestored = FileBackedTaskManager.loadFromFile(tempFile,
+                ScheduleMode.INTERVAL_TREE, parallel);
+
+        assertEquals(2_999, taskManagerRestored.getTaskList().size());
+        assertEquals(composeTaskString(sequential), composeTaskString(taskManagerRestored));
+        assertEquals(sequential.getLoadReport(), taskManagerRestored.getLoadReport());
+        assertEquals(List.of(tempFile.getName() + " record 2502: checksum mismatch"),
+                taskManagerRestored.getLoadReport().skippedRecords());
+    }
+
+    /**
+     * Verifies that a file written before checksums were added is loaded completely.
+     */
+    @Test
+    void shouldLoadFileWithoutChecksums() throws IOException {
+        Files.writeString(tempFile.toPath(), """
+                id,type,name,status,description,epic,start,duration
+                1,TASK,Task A,NEW,Task A description,,202501011000,600
+                2,EPIC,Epic A,NEW,Epic A description,,+100000000001010000,0
+                3,SUB,Sub A,DONE,SubTask A description,2,202501011040,600
+                """);
+
+        taskManagerRestored = FileBackedTaskManager.loadFromFile(tempFile);
+        assertTrue(taskManagerRestored.getLoadReport().isComplete());
+        assertEquals(3, taskManagerRestored.getLoadReport().restoredRecords());
+        assertEquals(DONE, taskManagerRestored.getEpicById(2).orElseThrow().getStatus());
+    }
+
+    /**
+     * Verifies that a journal record torn by a crash is skipped and not counted as restored,
+     * while the records before it are replayed.
+     */
+    @Test
+    void shouldSkipTornJournalRecord() throws IOException {
+        StorageOptions journal = StorageOptions.defaults().withMode(StorageMode.JOURNAL);
+        taskManager = Managers.getFileBackedManager(tempFile, ScheduleMode.INTERVAL_TREE, journal);
+        File journalFile = new File(tempFile.getPath() + ".journal");
+        taskManager.addTask(taskA);
+        taskManager.addTask(taskB);
+        taskManager.removeTaskById(taskA.getId());
+
+        String records = Files.readString(journalFile.toPath());
+        Files.writeString(journalFile.toPath(), records.substring(0, records.length() - 4));
+
+        taskManagerRestored = FileBackedTaskManager.loadFromFile(tempFile,
+                ScheduleMode.INTERVAL_TREE, journal);
+        assertEquals(2, taskManagerRestored.getTaskList().size());
+        assertEquals(List.of(journalFile.getName() + " record 2: malformed delete record"),
+                taskManagerRestored.getLoadReport().skippedRecords());
+        assertEquals(2, taskManagerRestored.getLoadReport().restoredRecords());
+    }
+
+    /**
+     * Verifies that in journal mode changes are appended to the journal
+     * and restored by replaying it over the snapshot.
+     */
+    @Test
+    void shouldPersistAndRestoreTasksWithJournal() {
+        StorageOptions journal = StorageOptions.defaults().withMode(StorageMode.JOURNAL);
+        taskManager = Managers.getFileBackedManager(tempFile, ScheduleMode.INTERVAL_TREE, journal);
+        File journalFile = new File(tempFile.getPath() + ".journal");
+
+        taskManager.addTask(taskA);
+        taskManager.addTask(taskB);
+        taskManager.addEpic(epicA);
+        subA.setParentId(epicA.getId());
+        subB.setParentId(epicA.getId());
+        taskManager.addSub(subA);
+        taskManager.addSub(subB);
+
+        subA = taskManager.getSubTaskById(subA.getId()).orElseThrow();
+        subA.setStatus(DONE);
+        taskManager.updateSub(subA);
+        taskManager.removeTaskById(taskB.getId());
+
+        assertTrue(journalFile.exists());
+
+        taskManagerRestored = FileBackedTaskManager.loadFromFile(tempFile,
+                ScheduleMode.INTERVAL_TREE, journal);
+        assertEquals(composeTaskString(taskManager), composeTaskString(taskManagerRestored));
+        assertEquals(IN_PROGRESS,
+                taskManagerRestored.getEpicById(epicA.getId()).orElseThrow().getStatus());
+        assertTrue(taskManagerRestored.getTaskById(taskB.getId()).isEmpty());
+        journalFile.deleteOnExit();
+    }
+
+    /**
+     * Verifies that in journal mode a status change appends a single record
+     * and leaves the snapshot untouched.
+     */
+    @Test
+    void shouldAppendChangedTaskToJournalOnly() throws IOException {
+        StorageOptions journal = StorageOptions.defaults().withMode(StorageMode.JOURNAL);
+        taskManager = Managers.getFileBackedManager(tempFile, ScheduleMode.INTERVAL_TREE, journal);
+        File journalFile = new File(tempFile.getPath() + ".journal");
+
+        taskManager.addTask(taskA);
+        taskManager.addTask(taskB);
+        String snapshot = Files.readString(tempFile.toPath());
+
+        taskA = taskManager.getTaskById(taskA.getId()).orElseThrow();
+        taskA.setStatus(DONE);
+        taskManager.updateTask(taskA);
+
+        assertEquals(snapshot, Files.readString(tempFile.toPath()));
+        List<String> records = Files.readAllLines(journalFile.toPath());
+        assertEquals(2, records.size());
+        assertTrue(records.getLast().startsWith("U," + taskA.getId() + ",TASK,"));
+        assertTrue(records.getLast().contains(",DONE,"));
+        journalFile.deleteOnExit();
+    }
+
+    /**
+     * Verifies that reaching the compaction threshold writes a new snapshot
+     * and removes the journal without losing any change.
+     */
+    @Test
+    void shouldCompactJournalAfterThreshold() throws IOException {
+        StorageOptions journal = StorageOptions.defaults()
+                .withMode(StorageMode.JOURNAL)
+                .withCompactionThreshold(3);
+        taskManager = Managers.getFileBackedManager(tempFile, ScheduleMode.INTERVAL_TREE, journal);
+        File journalFile = new File(tempFile.getPath() + ".journal");
+
+        taskManager.addTask(taskA);
+        taskManager.addTask(taskB);
+        taskManager.addTask(taskC);
+        assertTrue(journalFile.exists());
+
+        taskManager.removeAllTask();
+        assertFalse(journalFile.exists());
+        assertEquals(1, Files.readAllLines(tempFile.toPath()).size());
+
+        taskManagerRestored = FileBackedTaskManager.loadFromFile(tempFile,
+                ScheduleMode.INTERVAL_TREE, journal);
+        assertTrue(taskManagerRestored.getTaskList().isEmpty());
+    }
+
+    /**
+     * Verifies that storage options reject missing or meaningless values.
+     */
+    @Test
+    void shouldRejectInvalidStorageOptions() {
+        assertThrows(IllegalArgumentException.class,
+                () -> StorageOptions.defaults().withMode(null));
+        assertThrows(IllegalArgumentException.class,
+                () -> StorageOptions.defaults().withCompactionThreshold(0));
+        assertThrows(IllegalArgumentException.class,
+                () -> StorageOptions.defaults().withDurability(null));
+        assertThrows(IllegalArgumentException.class,
+                () -> StorageOptions.defaults().withFlushInterval(Duration.ofMillis(-1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> StorageOptions.defaults().withFlushBatchSize(0));
+        assertThrows(IllegalArgumentException.class,
+                () -> StorageOptions.defaults().withFormat(null));
+        assertThrows(IllegalArgumentException.class,
+                () -> StorageOptions.defaults().withLoadMode(null));
+        assertThrows(IllegalArgumentException.class,
+                () -> StorageOptions.defaults().withCompression(null));
+        assertThrows(IllegalArgumentException.class,
+                () -> StorageOptions.defaults().withCompressionLevel(10));
+        assertThrows(IllegalArgumentException.class,
+                () -> StorageOptions.defaults().withCompressionLevel(-2));
+        assertThrows(IllegalArgumentException.class,
+                () -> StorageOptions.defaults().withCompression(Compression.GZIP)
+                        .withFormat(SnapshotFormat.BINARY));
+    }
+
+    /**
+     * Verifies that a binary snapshot with journal records over it is restored,
+     * and that it is recognized on load whatever format is configured.
+     */
+    @Test
+    void shouldPersistAndRestoreTasksInBinaryFormat() throws IOException {
+        StorageOptions binary = StorageOptions.defaults()
+                .withMode(StorageMode.JOURNAL)
+                .withFormat(SnapshotFormat.BINARY);
+        taskManager = Managers.getFileBackedManager(tempFile, ScheduleMode.INTERVAL_TREE, binary);
+
+        taskManager.addTask(taskA);
+        taskManager.addEpic(epicA);
+        subA.setParentId(epicA.getId());
+        taskManager.addSub(subA);
+        taskManager.addTask(new Task("Task A", "Same title, \"other\" description\nline"));
+        subA = taskManager.getSubTaskById(subA.getId()).orElseThrow();
+        subA.setStatus(DONE);
+        taskManager.updateSub(subA);
+
+        byte[] magic = new byte[4];
+        System.arraycopy(Files.readAllBytes(tempFile.toPath()), 0, magic, 0, magic.length);
+        assertEquals("KNBN", new String(magic, StandardCharsets.US_ASCII));
+
+        taskManagerRestored = FileBackedTaskManager.loadFromFile(tempFile);
+        assertEquals(composeTaskString(taskManager), composeTaskString(taskManagerRestored));
+        assertEquals(DONE, taskManagerRestored.getEpicById(epicA.getId())
+                .orElseThrow()
+                .getStatus());
+    }
+
+    /**
+     * Verifies that a gzip-compressed snapshot holds the CSV text, is much smaller than it
+     * for repetitive tasks, and is recognized on load by both load modes.
+     */
+    @Test
+    void shouldPersistAndRestoreCompressedSnapshot() throws IOException {
+        StorageOptions compressed = StorageOptions.defaults()
+                .withCompression(Compression.GZIP)
+                .withCompressionLevel(9);
+        taskManager = Managers.getFileBackedManager(tempFile, ScheduleMode.INTERVAL_TREE,
+                compressed);
+        taskManager.addEpic(epicA);
+        subA.setParentId(epicA.getId());
+        taskManager.addSub(subA);
+        for (int i = 0; i < 200; i++) {
+            taskManager.addTask(new Task("Weekly report " + i, "Collect, \"check\" and send"));
+        }
+
+        byte[] snapshot = Files.readAllBytes(tempFile.toPath());
+        assertEquals(0x1f, snapshot[0] & 0xff);
+        assertEquals(0x8b, snapshot[1] & 0xff);
+        byte[] text;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(snapshot))) {
+            text = in.readAllBytes();
+        }
+        assertTrue(new String(text, StandardCharsets.UTF_8).startsWith("id,type,name,"));
+        assertTrue(snapshot.length * 4 < text.length);
+
+        taskManagerRestored = FileBackedTaskManager.loadFromFile(tempFile);
+        assertEquals(taskManager.getTaskList(), taskManagerRestored.getTaskList());
+        assertEquals(taskManager.getSubList(), taskManagerRestored.getSubList());
+        assertTrue(taskManagerRestored.getLoadReport().isComplete());
+        StorageOptions parallel = StorageOptions.defaults().withLoadMode(LoadMode.PARALLEL);
+        FileBackedTaskManager parallelRestored = FileBackedTaskManager.loadFromFile(tempFile,
+                ScheduleMode.INTERVAL_TREE, parallel);
+        assertEquals(composeTaskString(taskManagerRestored), composeTaskString(parallelRestored));
+    }
+
+    /**
+     * Verifies that a binary record with a damaged byte is skipped and reported,
+     * while the records around it are restored.
+     */
+    @Test
+    void shouldSkipDamagedBinaryRecord() throws IOException {
+        StorageOptions binary = StorageOptions.defaults().withFormat(SnapshotFormat.BINARY);
+        taskManager = Managers.getFileBackedManager(tempFile, ScheduleMode.INTERVAL_TREE, binary);
+        taskManager.addTask(taskA);
+        taskManager.addTask(taskB);
+        taskManager.addTask(taskC);
+
+        byte[] snapshot = Files.readAllBytes(tempFile.toPath());
+        String text = new String(snapshot, StandardCharsets.ISO_8859_1);
+        snapshot[text.indexOf("Task B description")] ^= 1;
+        Files.write(tempFile.toPath(), snapshot);
+
+        taskManagerRestored = FileBackedTaskManager.loadFromFile(tempFile);
+        assertEquals(List.of(taskA.getId(), taskC.getId()), taskManagerRestored.getTaskList()
+                .stream()
+                .map(Task::getId)
+                .toList());
+        assertEquals(List.of(tempFile.getName() + " record 2: checksum mismatch"),
+                taskManagerRestored.getLoadReport().skippedRecords());
+    }
+
+    /**
+     * Verifies that a task file converted to the binary format and back
+     * holds the same tasks, including changes kept only in the journal.
+     */
+    @Test
+    void shouldConvertBetweenSnapshotFormats() throws IOException {
+        StorageOptions journal = StorageOptions.defaults().withMode(StorageMode.JOURNAL);
+        taskManager = Managers.getFileBackedManager(tempFile, ScheduleMode.INTERVAL_TREE, journal);
+        taskManager.addTask(taskA);
+        taskManager.addEpic(epicA);
+        subA.setParentId(epicA.getId());
+        subB.setParentId(epicA.getId());
+        taskManager.addSub(subA);
+        taskManager.addSub(subB);
+
+        File binaryFile = File.createTempFile("_tempBIN_", ".bin");
+        File csvFile = File.createTempFile("_tempCSV_", ".csv");
+        binaryFile.deleteOnExit();
+        csvFile.deleteOnExit();
+
+        SnapshotConverter.convert(tempFile, binaryFile, SnapshotFormat.BINARY);
+        SnapshotConverter.convert(binaryFile, csvFile, SnapshotFormat.CSV);
+
+        String expected = composeTaskString(FileBackedTaskManager.loadFromFile(tempFile));
+        assertTrue(binaryFile.length() < Files.size(csvFile.toPath()));
+        assertEquals(expected, composeTaskString(FileBackedTaskManager.loadFromFile(binaryFile)));
+        assertEquals(expected, composeTaskString(FileBackedTaskManager.loadFromFile(csvFile)));
+        assertThrows(IllegalArgumentException.class,
+                () -> SnapshotConverter.convert(tempFile, tempFile, SnapshotFormat.CSV));
+    }
+
+    /**
+     * Verifies that with WAIT_FOR_FLUSH a change is on disk when the change method returns.
+     */
+    @Test
+    void shouldWriteChangeBeforeReturningWhenWaitingForFlush() {
+        StorageOptions options = StorageOptions.defaults()
+                .withDurability(Durability.WAIT_FOR_FLUSH)
+                .withFlushInterval(Duration.ofMillis(20));
+        taskManager = Managers.getFileBackedManager(tempFile, ScheduleMode.INTERVAL_TREE, options);
+
+        taskManager.addTask(taskA);
+        taskManager.addEpic(epicA);
+
+        taskManagerRestored = FileBackedTaskManager.loadFromFile(tempFile);
+        assertEquals(composeTaskString(taskManager), composeTaskString(taskManagerRestored));
+        taskManager.close();
+    }
+
+    /**
+     * Verifies that with FIRE_AND_FORGET queued changes are written when the manager is closed
+     * and that changes after closing are rejected.
+     */
+    @Test
+    void shouldWriteQueuedChangesOnClose() {
+        StorageOptions options = StorageOptions.defaults()
+                .withMode(StorageMode.JOURNAL)
+                .withDurability(Durability.FIRE_AND_FORGET)
+                .withFlushInterval(Duration.ofSeconds(10));
+        taskManager = Managers.getFileBackedManager(tempFile, ScheduleMode.INTERVAL_TREE, options);
+
+        taskManager.addTask(taskA);
+        taskManager.addTask(taskB);
+        taskManager.addEpic(epicA);
+        taskManager.close();
+
+        taskManagerRestored = FileBackedTaskManager.loadFromFile(tempFile,
+                ScheduleMode.INTERVAL_TREE, options);
+        assertEquals(composeTaskString(taskManager), composeTaskString(taskManagerRestored));
+        assertThrows(ManagerSaveException.class, () -> taskManager.addTask(taskC));
+        taskManagerRestored.close();
+        new File(tempFile.getPath() + ".journal").deleteOnExit();
+    }
+
+    /**
+     * Verifies that concurrent changes through ConcurrentTaskManager are all on disk
+     * once every change method has returned with WAIT_FOR_FSYNC.
+     */
+    @Test
+    void shouldPersistConcurrentChangesWithGroupCommit() throws InterruptedException {
+        StorageOptions options = StorageOptions.defaults()
+                .withMode(StorageMode.JOURNAL)
+                .withDurability(Durability.WAIT_FOR_FSYNC)
+                .withFlushBatchSize(16);
+        taskManager = Managers.getFileBackedManager(tempFile, ScheduleMode.INTERVAL_TREE, options);
+        TaskManager concurrent = Managers.getConcurrent(taskManager);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 50; i++) {
+                    concurrent.addTask(new Task("Task", "Group commit"));
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        taskManagerRestored = FileBackedTaskManager.loadFromFile(tempFile,
+                ScheduleMode.INTERVAL_TREE, options);
+        assertEquals(400, taskManagerRestored.getTaskList().size());
+        taskManager.close();
+        taskManagerRestored.close();
+        new File(tempFile.getPath() + ".journal").deleteOnExit();
+    }
+
+    /**
+     * Verifies that snapshots composed by the background writer contain every change
+     * made by concurrent threads before their change methods returned.
+     */
+    @Test
+    void shouldComposeSnapshotsOnWriterForConcurrentChanges() throws InterruptedException {
+        StorageOptions options = StorageOptions.defaults()
+                .withDurability(Durability.WAIT_FOR_FLUSH)
+                .withFlushBatchSize(16);
+        taskManager = Managers.getFileBackedManager(tempFile, ScheduleMode.INTERVAL_TREE, options);
+        TaskManager concurrent = Managers.getConcurrent(taskManager);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 25; i++) {
+                    concurrent.addTask(new Task("Task", "Snapshot on writer"));
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        taskManagerRestored = FileBackedTaskManager.loadFromFile(tempFile);
+        assertEquals(100, taskManagerRestored.getTaskList().size());
+        assertEquals(composeTaskString(taskManager), composeTaskString(taskManagerRestored));
+        taskManager.close();
+    }
+
     /**
      * Converts all tasks, epics, and subtasks from a task taskManager to a string.
      *
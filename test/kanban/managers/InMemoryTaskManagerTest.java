@@ -12,6 +12,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.NoSuchElementException;
 import kanban.tasks.Epic;
 import kanban.tasks.SubTask;
 import kanban.tasks.Task;
@@ -196,6 +197,32 @@ class InMemoryTaskManagerTest extends TaskManagerTest<InMemoryTaskManager> {
         assertThrows(TaskTimeOverlapException.class, () -> taskManager.updateTask(taskA));
     }
 
+    /**
+     * Verifies that a rejected update keeps the original time of the task reserved
+     * and does not reserve any of the requested time.
+     */
+    @Test
+    void shouldKeepTimeTableIntactWhenTaskUpdateIsRejected() {
+        taskA.setStartTime(testStartTime);
+        taskA.setDuration(Duration.ofMinutes(10));
+        taskB.setStartTime(testStartTime.plusMinutes(20));
+        taskB.setDuration(Duration.ofMinutes(10));
+        taskManager.addTask(taskA);
+        taskManager.addTask(taskB);
+
+        Task movedTaskA = new Task(taskA);
+        movedTaskA.setStartTime(testStartTime.plusMinutes(10));
+        movedTaskA.setDuration(Duration.ofMinutes(20));
+        assertThrows(TaskTimeOverlapException.class, () -> taskManager.updateTask(movedTaskA));
+
+        taskC.setStartTime(testStartTime);
+        taskC.setDuration(Duration.ofMinutes(10));
+        assertThrows(TaskTimeOverlapException.class, () -> taskManager.addTask(taskC));
+
+        taskC.setStartTime(testStartTime.plusMinutes(10));
+        assertDoesNotThrow(() -> taskManager.addTask(taskC));
+    }
+
     /**
      * Verifies that adding a task fully inside another task's timeframe
      * causes an overlap exception.
@@ -261,6 +288,83 @@ class InMemoryTaskManagerTest extends TaskManagerTest<InMemoryTaskManager> {
         assertEquals(taskManager.getPrioritizedTasks(), List.of(taskA, taskB));
     }
 
+    /**
+     * Verifies that the priority list follows task updates: a task gaining a start time
+     * is added, a task losing it is removed, and later changes to the caller's object
+     * do not leak into the list.
+     */
+    @Test
+    void shouldKeepPrioritizedListInSyncWithUpdates() {
+        taskA.setStartTime(LocalDateTime.MIN);
+        taskManager.addTask(taskA);
+        taskManager.addTask(taskB);
+
+        Task scheduledTaskA = new Task(taskA);
+        scheduledTaskA.setStartTime(testStartTime);
+        taskManager.updateTask(scheduledTaskA);
+        assertEquals(List.of(taskA, taskB), taskManager.getPrioritizedTasks());
+
+        scheduledTaskA.setStartTime(testStartTime.plusDays(1));
+        assertEquals(testStartTime, taskManager.getPrioritizedTasks().getFirst().getStartTime());
+
+        Task unscheduledTaskB = new Task(taskB);
+        unscheduledTaskB.setStartTime(LocalDateTime.MIN);
+        taskManager.updateTask(unscheduledTaskB);
+        assertEquals(List.of(taskA), taskManager.getPrioritizedTasks());
+
+        taskManager.removeTaskById(taskA.getId());
+        assertTrue(taskManager.getPrioritizedTasks().isEmpty());
+    }
+
+    /**
+     * Verifies that bulk restore keeps stored IDs, links subtasks to their epic,
+     * calculates the epic status and time once, and leaves the history untouched.
+     */
+    @Test
+    void shouldRestoreTasksInOnePass() {
+        Epic epic = new Epic(10, "Epic", NEW, "Restored epic", LocalDateTime.MIN, Duration.ZERO);
+        SubTask first = new SubTask(11, "Sub 1", DONE, "Restored sub", 10,
+                testStartTime, Duration.ofMinutes(30));
+        SubTask second = new SubTask(12, "Sub 2", NEW, "Restored sub", 10,
+                testStartTime.plusHours(1), Duration.ofMinutes(30));
+        Task task = new Task(3, "Task", NEW, "Restored task",
+                testStartTime.plusHours(2), Duration.ofMinutes(15));
+
+        taskManager.restoreTasks(List.of(second, task, epic, first));
+
+        Epic restoredEpic = taskManager.getEpicList().getFirst();
+        assertEquals(List.of(12, 11), restoredEpic.getSubIdList());
+        assertEquals(IN_PROGRESS, restoredEpic.getStatus());
+        assertEquals(testStartTime, restoredEpic.getStartTime());
+        assertEquals(List.of(11, 12, 3), taskManager.getPrioritizedTasks().stream()
+                .map(Task::getId)
+                .toList());
+        assertTrue(taskManager.getHistoryTask().isEmpty());
+
+        Task added = new Task("New", "Created after restore");
+        taskManager.addTask(added);
+        assertEquals(13, added.getId());
+    }
+
+    /**
+     * Verifies that bulk restore rejects a subtask linked to a missing epic
+     * and overlapping restored tasks.
+     */
+    @Test
+    void shouldRejectInconsistentRestoredTasks() {
+        SubTask orphan = new SubTask(5, "Sub", NEW, "Orphan", 4,
+                testStartTime, Duration.ofMinutes(10));
+        assertThrows(NoSuchElementException.class,
+                () -> taskManager.restoreTasks(List.of(orphan)));
+
+        InMemoryTaskManager manager = createTaskManager();
+        Task first = new Task(1, "First", NEW, "", testStartTime, Duration.ofMinutes(30));
+        Task second = new Task(2, "Second", NEW, "", testStartTime.plusMinutes(10),
+                Duration.ofMinutes(30));
+        assertThrows(TaskTimeOverlapException.class,
+                () -> manager.restoreTasks(List.of(first, second)));
+    }
+
     /**
      * Full scenario test verifying task, epic, subtask creation,
      * status updates, and history tracking.
@@ -3,6 +3,7 @@ package kanban.managers;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import kanban.utility.ScheduleMode;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -32,4 +33,17 @@ public class ManagersTest {
         assertNotNull(manager);
         assertTrue(manager.getTasks().isEmpty());
     }
+
+    /**
+     * Verifies that a TaskManager can be created for every schedule engine
+     * and returns empty task list.
+     */
+    @Test
+    void shouldReturnInitializedTaskManagerForEveryScheduleMode() {
+        for (ScheduleMode mode : ScheduleMode.values()) {
+            TaskManager manager = Managers.getDefault(mode);
+            assertNotNull(manager);
+            assertTrue(manager.getTaskList().isEmpty());
+        }
+    }
 }
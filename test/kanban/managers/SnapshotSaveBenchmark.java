@@ -0,0 +1,88 @@
+package kanban.managers;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import kanban.tasks.Task;
+import kanban.tasks.TaskStatus;
+
+/**
+ * Manual benchmark of snapshot saves of {@link FileBackedTaskManager}.
+ * Compares the former in-place overwrite of the task file with the crash-safe
+ * replacement through a temporary file, and measures a complete save of a changed task.
+ * Run with {@code java kanban.managers.SnapshotSaveBenchmark [tasks] [saves]}.
+ */
+class SnapshotSaveBenchmark {
+
+    private static final int DEFAULT_TASKS = 1_000;
+    private static final int DEFAULT_SAVES = 200;
+
+    /**
+     * Runs the benchmark and prints the average time of a save for every variant.
+     *
+     * @param args the number of tasks and the number of saves, both optional
+     * @throws IOException if a temporary file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        int tasks = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TASKS;
+        int saves = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_SAVES;
+
+        File file = File.createTempFile("_benchCSV_", ".csv");
+        file.deleteOnExit();
+        new File(file.getPath() + ".tmp").deleteOnExit();
+        Path path = file.toPath();
+
+        FileBackedTaskManager manager = Managers.getFileBackedManager(file);
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        for (int i = 0; i < tasks; i++) {
+            manager.addTask(new Task(0, "Task " + i, TaskStatus.NEW, "Description " + i,
+                    start.plusMinutes(10L * i), Duration.ofMinutes(10)));
+        }
+        byte[] snapshot = Files.readAllBytes(path);
+        System.out.printf("%d tasks, %d bytes, %d saves%n", tasks, snapshot.length, saves);
+
+        for (int round = 0; round < 2; round++) {
+            report("in-place overwrite (before)", saves, () -> Files.write(path, snapshot));
+            report("temp file + fsync + rename", saves,
+                    () -> AtomicFiles.replace(path, snapshot, false));
+            report("... + directory fsync", saves,
+                    () -> AtomicFiles.replace(path, snapshot, true));
+            Task task = manager.getTaskList().getFirst();
+            report("updateTask, full save", saves, () -> manager.updateTask(task));
+        }
+    }
+
+    /**
+     * Runs a save repeatedly and prints its average time.
+     *
+     * @param name  the name of the variant
+     * @param saves the number of repetitions
+     * @param save  the save to measure
+     * @throws IOException if the save fails
+     */
+    private static void report(String name, int saves, Save save) throws IOException {
+        long started = System.nanoTime();
+        for (int i = 0; i < saves; i++) {
+            save.run();
+        }
+        long average = (System.nanoTime() - started) / saves;
+        System.out.printf("%-30s %10.1f us%n", name, average / 1_000.0);
+    }
+
+    /**
+     * A single save that may fail with an I/O error.
+     */
+    @FunctionalInterface
+    private interface Save {
+
+        /**
+         * Performs the save.
+         *
+         * @throws IOException if the save fails
+         */
+        void run() throws IOException;
+    }
+}
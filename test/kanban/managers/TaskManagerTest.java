@@ -17,6 +17,7 @@ import java.util.Optional;
 import kanban.tasks.Epic;
 import kanban.tasks.SubTask;
 import kanban.tasks.Task;
+import kanban.utility.FitStrategy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -545,4 +546,187 @@ abstract class TaskManagerTest<T extends TaskManager> {
         assertTrue(retrievedEpicA.getSubIdList().isEmpty(),
                 "Parent epic's subIdList should be empty.");
     }
-}
\ No newline at end of file
+
+    /**
+     * Verifies that findFreeWindow skips gaps too short for the duration,
+     * returns the requested time when it is free, and respects the deadline.
+     */
+    @Test
+    void findFreeWindow_whenGapsAreTooShort_shouldReturnFirstFittingWindow() {
+        LocalDateTime start = taskA.getStartTime();
+        Task taskD = new Task(0, "Task D", NEW, "Task D description",
+                start.plusMinutes(40), Duration.ofMinutes(10));
+        taskManager.addTask(taskA);
+        taskManager.addTask(taskC);
+        taskManager.addTask(taskD);
+
+        assertEquals(Optional.of(start.plusMinutes(10)),
+                taskManager.findFreeWindow(start, Duration.ofMinutes(10)),
+                "The first 10-minute gap should be returned.");
+        assertEquals(Optional.of(start.plusMinutes(50)),
+                taskManager.findFreeWindow(start, Duration.ofMinutes(20)),
+                "Gaps shorter than 20 minutes should be skipped.");
+        assertEquals(Optional.of(start.minusHours(1)),
+                taskManager.findFreeWindow(start.minusHours(1), Duration.ofMinutes(30)),
+                "A free requested time should be returned as is.");
+        assertEquals(Optional.empty(),
+                taskManager.findFreeWindow(start, Duration.ofMinutes(20), start.plusMinutes(60)),
+                "No window should be returned when none ends before the deadline.");
+    }
+
+    /**
+     * Verifies that autoSchedule places unscheduled tasks and subtasks into free time
+     * in ID order, adds them to the prioritized list and recalculates their epic.
+     */
+    @Test
+    void autoSchedule_whenTasksHaveNoStartTime_shouldPlaceThemIntoFreeTime() {
+        LocalDateTime start = taskA.getStartTime();
+        taskManager.addTask(taskB);
+        taskManager.addEpic(epicA);
+        Task unscheduledTask = new Task(0, "Task D", NEW, "Task D description",
+                LocalDateTime.MIN, Duration.ofMinutes(10));
+        SubTask unscheduledSub = new SubTask(0, "Sub D", NEW, "Sub D description",
+                epicA.getId(), LocalDateTime.MIN, Duration.ofMinutes(20));
+        Task taskWithoutDuration = new Task("Task E", "Task E description");
+        taskManager.addTask(unscheduledTask);
+        taskManager.addSub(unscheduledSub);
+        taskManager.addTask(taskWithoutDuration);
+
+        List<Task> scheduled = taskManager.autoSchedule(start, FitStrategy.EARLIEST_FIT);
+
+        assertEquals(2, scheduled.size(), "Only tasks with a duration should be scheduled.");
+        assertEquals(start, taskManager.getTaskById(unscheduledTask.getId())
+                .orElseThrow().getStartTime(), "Task should take the first free slot.");
+        assertEquals(start.plusMinutes(20), taskManager.getSubTaskById(unscheduledSub.getId())
+                .orElseThrow().getStartTime(), "Subtask should be placed after taskB.");
+        assertEquals(start.plusMinutes(20), taskManager.getEpicById(epicA.getId())
+                .orElseThrow().getStartTime(), "Epic time should follow its subtask.");
+        assertEquals(3, taskManager.getPrioritizedTasks().size(),
+                "Scheduled tasks should be added to the prioritized list.");
+        assertThrows(TaskTimeOverlapException.class, () -> taskManager.addTask(taskC),
+                "Scheduled time should be occupied in the timetable.");
+    }
+
+    /**
+     * Verifies that the windowed prioritized query returns only tasks starting
+     * within [from, to), in start time order, and honours the limit.
+     */
+    @Test
+    void getPrioritizedTasks_whenWindowGiven_shouldReturnTasksStartingWithinWindow() {
+        LocalDateTime start = taskA.getStartTime();
+        taskManager.addTask(taskA);
+        taskManager.addTask(taskB);
+        taskManager.addTask(taskC);
+
+        assertEquals(List.of(taskB, taskC),
+                taskManager.getPrioritizedTasks(start.plusMinutes(5), start.plusMinutes(30)),
+                "Only tasks starting within the window should be returned.");
+        assertEquals(List.of(taskA, taskB),
+                taskManager.getPrioritizedTasks(start, start.plusMinutes(20)),
+                "The window start should be inclusive and its end exclusive.");
+        assertEquals(List.of(taskA),
+                taskManager.getPrioritizedTasks(start, start.plusHours(1), 1),
+                "No more tasks than the limit should be returned.");
+        assertThrows(IllegalArgumentException.class,
+                () -> taskManager.getPrioritizedTasks(start.plusHours(1), start),
+                "A reversed window should be rejected.");
+    }
+
+    /**
+     * Verifies that pages of tasks follow the ID of the previous page in ascending order,
+     * and that the last page is shorter than the limit.
+     */
+    @Test
+    void getTaskPage_whenPagedThrough_shouldReturnEveryTaskOnce() {
+        taskManager.addTask(taskA);
+        taskManager.addTask(taskB);
+        taskManager.addTask(taskC);
+
+        List<Task> first = taskManager.getTaskPage(null, 2);
+        assertEquals(List.of(taskA, taskB), first,
+                "The first page should start with the lowest ID.");
+        assertEquals(List.of(taskC), taskManager.getTaskPage(first.getLast().getId(), 2),
+                "The next page should follow the last ID of the previous page.");
+        assertEquals(List.of(), taskManager.getTaskPage(taskC.getId(), 2),
+                "No tasks should follow the last task.");
+        assertEquals(List.of(taskC), taskManager.getTaskPage(taskB.getId(), 5),
+                "A page should follow the given ID, exclusive.");
+        assertThrows(IllegalArgumentException.class, () -> taskManager.getTaskPage(null, -1),
+                "A negative limit should be rejected.");
+    }
+
+    /**
+     * Verifies that pages of the history follow the given task in access order,
+     * and that a task missing from the history is rejected as a position.
+     */
+    @Test
+    void getHistoryPage_whenPagedThrough_shouldFollowAccessOrder() {
+        taskManager.addTask(taskA);
+        taskManager.addTask(taskB);
+        taskManager.addTask(taskC);
+        taskManager.getTaskById(taskC.getId());
+        taskManager.getTaskById(taskA.getId());
+        taskManager.getTaskById(taskB.getId());
+
+        assertEquals(List.of(taskC, taskA), taskManager.getHistoryPage(null, 2),
+                "The first page should start with the earliest access.");
+        assertEquals(List.of(taskB), taskManager.getHistoryPage(taskA.getId(), 2),
+                "The next page should follow the given task in access order.");
+        assertThrows(IllegalArgumentException.class,
+                () -> taskManager.getHistoryPage(taskA.getId() + 100, 2),
+                "A task missing from the history should be rejected.");
+    }
+
+    /**
+     * Verifies that the prioritized list is paged after a (start time, ID) position,
+     * within the end of the window.
+     */
+    @Test
+    void getPrioritizedTasksAfter_whenPositionGiven_shouldReturnFollowingTasks() {
+        LocalDateTime start = taskA.getStartTime();
+        taskManager.addTask(taskA);
+        taskManager.addTask(taskB);
+        taskManager.addTask(taskC);
+
+        assertEquals(List.of(taskB, taskC), taskManager.getPrioritizedTasksAfter(
+                        taskA.getStartTime(), taskA.getId(), LocalDateTime.MAX, 5),
+                "Tasks after the position should be returned in priority order.");
+        assertEquals(List.of(taskB), taskManager.getPrioritizedTasksAfter(
+                        taskA.getStartTime(), taskA.getId(), start.plusMinutes(20), 5),
+                "The end of the window should be exclusive.");
+        assertEquals(List.of(), taskManager.getPrioritizedTasksAfter(
+                        start.plusHours(1), taskA.getId(), start, 5),
+                "A position after the window should give an empty page.");
+    }
+
+    /**
+     * Verifies that versions grow with changes of their own list only,
+     * and stay the same while lists are merely read.
+     */
+    @Test
+    void getVersion_whenListsChange_shouldGrowOnlyForAffectedLists() {
+        long initial = taskManager.getVersion();
+        taskManager.addTask(taskA);
+        long tasksVersion = taskManager.getVersion(TaskCollection.TASKS);
+        assertTrue(tasksVersion > initial, "Adding a task should change the version of tasks.");
+        assertEquals(taskManager.getVersion(), tasksVersion,
+                "The list version should be the global version of its latest change.");
+
+        taskManager.getTaskList();
+        taskManager.getPrioritizedTasks();
+        assertEquals(tasksVersion, taskManager.getVersion(), "Reading should not change versions.");
+
+        taskManager.addEpic(epicA);
+        assertEquals(tasksVersion, taskManager.getVersion(TaskCollection.TASKS),
+                "Adding an epic should not change the version of tasks.");
+        long epicsVersion = taskManager.getVersion(TaskCollection.EPICS);
+        assertTrue(epicsVersion > tasksVersion,
+                "Adding an epic should change the version of epics.");
+
+        taskManager.getTaskById(taskA.getId());
+        assertTrue(taskManager.getVersion(TaskCollection.HISTORY) > epicsVersion,
+                "Viewing a task should change the version of the history.");
+        assertEquals(epicsVersion, taskManager.getVersion(TaskCollection.EPICS),
+                "Viewing a task should not change the version of epics.");
+    }
+}
@@ -2,6 +2,12 @@ package kanban.tasks;
 
 import static kanban.tasks.TaskStatus.IN_PROGRESS;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.TreeSet;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -64,4 +70,21 @@ public class TaskTest {
         taskA.setStatus(IN_PROGRESS);
         assertEquals(IN_PROGRESS, taskA.getStatus());
     }
+
+    /**
+     * Verifies that tasks starting at the same time are ordered by ID
+     * and are kept as distinct elements of a sorted set.
+     */
+    @Test
+    void shouldOrderTasksWithSameStartTimeById() {
+        LocalDateTime startTime = LocalDateTime.of(2025, 1, 1, 10, 0);
+        Task first = new Task(1, "First", TaskStatus.NEW, "First", startTime,
+                Duration.ofMinutes(10));
+        Task second = new Task(2, "Second", TaskStatus.NEW, "Second", startTime,
+                Duration.ofMinutes(10));
+
+        assertTrue(first.compareTo(second) < 0);
+        assertTrue(second.compareTo(first) > 0);
+        assertEquals(2, new TreeSet<>(List.of(second, first)).size());
+    }
 }
@@ -0,0 +1,125 @@
+package kanban.utililty;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import kanban.tasks.TaskStatus;
+import kanban.utility.CsvReader;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link CsvReader}, covering quoting rules, line breaks,
+ * typed field access and malformed records.
+ */
+public class CsvReaderTest {
+
+    /**
+     * Verifies that quoted fields keep commas, escaped quotes and line breaks,
+     * and that all line separators end a record.
+     */
+    @Test
+    void shouldReadQuotedFieldsAndLineBreaks() throws IOException {
+        String input = "Name,Comment\r\n"
+                + "\"Alice\",\"Hello, Bob\n\"\"Yes\"\", I agree\"\r"
+                + "Bob,\"Plain comment\"\n"
+                + "\n"
+                + ",Blank name\n"
+                + "\"Charlie\",";
+
+        List<List<String>> records = readAll(input);
+
+        assertEquals(List.of(
+                List.of("Name", "Comment"),
+                List.of("Alice", "Hello, Bob\n\"Yes\", I agree"),
+                List.of("Bob", "Plain comment"),
+                List.of("", "Blank name"),
+                List.of("Charlie", "")
+        ), records);
+    }
+
+    /**
+     * Verifies that typed accessors parse fields straight from the record.
+     */
+    @Test
+    void shouldParseTypedFields() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("42,-7,DONE,202501011000,\n"));
+
+        assertTrue(reader.nextRecord());
+        assertEquals(5, reader.getFieldCount());
+        assertEquals(42, reader.getInt(0));
+        assertEquals(-7L, reader.getLong(1));
+        assertEquals(TaskStatus.DONE, reader.getEnum(2, TaskStatus.values()));
+        assertEquals("202501011000", reader.getChars(3).toString());
+        assertTrue(reader.isEmpty(4));
+        assertTrue(reader.fieldEquals(0, "42"));
+        assertFalse(reader.fieldEquals(0, "4"));
+        assertThrows(NumberFormatException.class, () -> reader.getInt(2));
+        assertThrows(IllegalArgumentException.class, () -> reader.getEnum(0, TaskStatus.values()));
+        assertThrows(IndexOutOfBoundsException.class, () -> reader.getString(5));
+        assertEquals(1, reader.getRecordNumber());
+        assertFalse(reader.nextRecord());
+    }
+
+    /**
+     * Verifies that stray quotes and unterminated quoted fields are reported,
+     * while the following records are still read.
+     */
+    @Test
+    void shouldReportMalformedRecords() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("1\",2\n\"a\"b,3\n4,5\n\"open,6"));
+
+        assertTrue(reader.nextRecord());
+        assertFalse(reader.isWellFormed());
+        assertTrue(reader.nextRecord());
+        assertFalse(reader.isWellFormed());
+        assertTrue(reader.nextRecord());
+        assertTrue(reader.isWellFormed());
+        assertEquals("5", reader.getString(1));
+        assertTrue(reader.nextRecord());
+        assertFalse(reader.isWellFormed());
+        assertFalse(reader.nextRecord());
+    }
+
+    /**
+     * Verifies that records longer than the internal buffers are read completely.
+     */
+    @Test
+    void shouldReadRecordsLongerThanBuffers() throws IOException {
+        String longField = "x".repeat(20_000);
+        String input = longField + "," + ",".repeat(40) + "\n" + "tail";
+
+        List<List<String>> records = readAll(input);
+
+        assertEquals(2, records.size());
+        assertEquals(42, records.getFirst().size());
+        assertEquals(longField, records.getFirst().getFirst());
+        assertEquals(List.of("tail"), records.getLast());
+    }
+
+    /**
+     * Reads every record of the input as a list of strings.
+     *
+     * @param input the CSV text
+     * @return the records
+     * @throws IOException never for a string source
+     */
+    private List<List<String>> readAll(String input) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        try (CsvReader reader = new CsvReader(new StringReader(input))) {
+            while (reader.nextRecord()) {
+                List<String> fields = new ArrayList<>();
+                for (int i = 0; i < reader.getFieldCount(); i++) {
+                    fields.add(reader.getString(i));
+                }
+                records.add(fields);
+            }
+        }
+        return records;
+    }
+}
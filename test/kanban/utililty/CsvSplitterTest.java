@@ -0,0 +1,109 @@
+package kanban.utililty;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import kanban.utility.CsvReader;
+import kanban.utility.CsvSplitter;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link CsvSplitter}, covering record boundaries
+ * inside quoted fields and splitting into chunks.
+ */
+public class CsvSplitterTest {
+
+    /**
+     * Verifies that line breaks inside quoted fields do not end a record,
+     * while every line separator outside quotes does.
+     */
+    @Test
+    void shouldFindRecordEndOutsideQuotes() {
+        char[] chars = "a,\"x\ny\"\"\n\",b\r\nc,d\re".toCharArray();
+
+        int first = CsvSplitter.findRecordEnd(chars, 0, chars.length);
+        assertEquals("a,\"x\ny\"\"\n\",b\r\n".length(), first);
+        int second = CsvSplitter.findRecordEnd(chars, first, chars.length);
+        assertEquals(first + "c,d\r".length(), second);
+        assertEquals(chars.length, CsvSplitter.findRecordEnd(chars, second, chars.length));
+    }
+
+    /**
+     * Verifies that a quote inside an unquoted field is literal, as in {@link CsvReader},
+     * so it does not hide the line break ending the record.
+     */
+    @Test
+    void shouldTreatQuoteInsideFieldAsLiteral() {
+        char[] chars = "a\"b,c\nd".toCharArray();
+
+        assertEquals("a\"b,c\n".length(), CsvSplitter.findRecordEnd(chars, 0, chars.length));
+    }
+
+    /**
+     * Verifies that chunks end at record boundaries and together hold the same records
+     * as the whole text, in the same order.
+     */
+    @Test
+    void shouldSplitIntoChunksOfWholeRecords() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            text.append(i).append(",\"line\n").append(i).append(", \"\"quoted\"\"\"\n");
+        }
+        char[] chars = text.toString().toCharArray();
+
+        int[] boundaries = CsvSplitter.split(chars, 0, chars.length, 7);
+
+        assertEquals(8, boundaries.length);
+        assertEquals(0, boundaries[0]);
+        assertEquals(chars.length, boundaries[boundaries.length - 1]);
+        List<String> records = new ArrayList<>();
+        for (int i = 0; i + 1 < boundaries.length; i++) {
+            records.addAll(readAll(chars, boundaries[i], boundaries[i + 1]));
+        }
+        assertEquals(readAll(chars, 0, chars.length), records);
+        assertEquals(100, records.size());
+    }
+
+    /**
+     * Verifies that short text yields fewer chunks and that invalid arguments are rejected.
+     */
+    @Test
+    void shouldHandleShortTextAndRejectInvalidArguments() {
+        char[] chars = "a\nb\n".toCharArray();
+
+        assertArrayEquals(new int[] {0, 2, 4}, CsvSplitter.split(chars, 0, chars.length, 10));
+        assertArrayEquals(new int[] {4, 4}, CsvSplitter.split(chars, 4, 4, 3));
+        assertThrows(IllegalArgumentException.class,
+                () -> CsvSplitter.split(chars, 0, chars.length, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> CsvSplitter.split(chars, 3, 2, 1));
+    }
+
+    /**
+     * Reads the records of a range as joined field strings.
+     *
+     * @param chars the text
+     * @param from  the start of the range
+     * @param to    the end of the range, exclusive
+     * @return one string per record with fields separated by "|"
+     * @throws IOException never, the input is in memory
+     */
+    private List<String> readAll(char[] chars, int from, int to) throws IOException {
+        List<String> records = new ArrayList<>();
+        try (CsvReader reader = new CsvReader(new CharArrayReader(chars, from, to - from))) {
+            while (reader.nextRecord()) {
+                StringBuilder record = new StringBuilder();
+                for (int i = 0; i < reader.getFieldCount(); i++) {
+                    record.append(reader.getString(i)).append('|');
+                }
+                records.add(record.toString());
+            }
+        }
+        return records;
+    }
+}
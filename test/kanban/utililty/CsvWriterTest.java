@@ -0,0 +1,71 @@
+package kanban.utililty;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import kanban.tasks.TaskStatus;
+import kanban.utility.CsvReader;
+import kanban.utility.CsvWriter;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link CsvWriter}, covering quoting, typed fields,
+ * buffer reuse and checksums shared with {@link CsvReader}.
+ */
+public class CsvWriterTest {
+
+    /**
+     * Verifies that only values with separators, quotes or line breaks are quoted,
+     * with quotes doubled, and that typed fields are written as text.
+     */
+    @Test
+    void shouldQuoteOnlyWhenNeeded() {
+        CsvWriter writer = new CsvWriter()
+                .field("plain")
+                .field("a,b")
+                .field("say \"hi\"")
+                .field("two\nlines")
+                .field((CharSequence) null)
+                .field(-42)
+                .field(TaskStatus.DONE)
+                .endRecord()
+                .field("next");
+
+        assertEquals("plain,\"a,b\",\"say \"\"hi\"\"\",\"two\nlines\",,-42,DONE\nnext",
+                writer.toString());
+    }
+
+    /**
+     * Verifies that clearing keeps the writer usable for the next record.
+     */
+    @Test
+    void shouldStartOverAfterClear() {
+        CsvWriter writer = new CsvWriter().field("first").field(1);
+        writer.clear().field("second");
+
+        assertEquals("second", writer.toString());
+        assertEquals(6, writer.length());
+    }
+
+    /**
+     * Verifies that the checksum written by the writer is the one computed by the reader
+     * for the same values, including non-ASCII text and characters outside the BMP.
+     */
+    @Test
+    void shouldWriteChecksumMatchingReader() throws IOException {
+        String text = new CsvWriter()
+                .field(7)
+                .field("Задача, \"кавычки\"\r\nи 😀")
+                .field("")
+                .checksumField()
+                .toString();
+
+        CsvReader reader = new CsvReader(new StringReader(text));
+        assertTrue(reader.nextRecord());
+        assertEquals(4, reader.getFieldCount());
+        assertEquals(Long.parseLong(reader.getString(3), 16), reader.getChecksum(0, 3));
+        assertTrue(reader.getChecksum(0, 2) != reader.getChecksum(0, 3));
+    }
+}
@@ -0,0 +1,366 @@
+package kanban.utililty;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import kanban.utility.FitStrategy;
+import kanban.utility.ScheduleMode;
+import kanban.utility.TimeSchedule;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link TimeSchedule}, verifying that every schedule engine
+ * detects overlaps, merges adjacent intervals and releases time correctly.
+ */
+public class TimeScheduleTest {
+
+    static LocalDateTime testStartTime;
+
+    @BeforeAll
+    static void setUpOnce() {
+        testStartTime = LocalDateTime.of(2025, 1, 1, 10, 0, 0);
+    }
+
+    /**
+     * Verifies that an empty schedule reports no overlap for a valid interval
+     * and always reports overlap for invalid time values.
+     */
+    @Test
+    void shouldReportNoOverlapOnEmptyScheduleAndOverlapOnInvalidValues() {
+        for (ScheduleMode mode : ScheduleMode.values()) {
+            TimeSchedule schedule = new TimeSchedule(mode);
+            assertFalse(schedule.isTimeOverlapped(testStartTime, Duration.ofMinutes(10)));
+            assertTrue(schedule.isTimeOverlapped(LocalDateTime.MIN, Duration.ofMinutes(10)));
+            assertTrue(schedule.isTimeOverlapped(testStartTime, Duration.ZERO));
+            assertTrue(schedule.isTimeOverlapped(testStartTime, Duration.ofDays(365)));
+        }
+    }
+
+    /**
+     * Verifies that intervals touching each other do not overlap, while intervals
+     * sharing at least one slot do.
+     */
+    @Test
+    void shouldDetectOverlapOnlyForSharedSlots() {
+        for (ScheduleMode mode : ScheduleMode.values()) {
+            TimeSchedule schedule = new TimeSchedule(mode);
+            schedule.addTimeInterval(testStartTime, Duration.ofMinutes(30));
+
+            assertFalse(schedule.isTimeOverlapped(testStartTime.minusMinutes(10),
+                    Duration.ofMinutes(10)), mode.name());
+            assertFalse(schedule.isTimeOverlapped(testStartTime.plusMinutes(30),
+                    Duration.ofMinutes(10)), mode.name());
+            assertTrue(schedule.isTimeOverlapped(testStartTime.plusMinutes(29),
+                    Duration.ofMinutes(10)), mode.name());
+            assertTrue(schedule.isTimeOverlapped(testStartTime.minusMinutes(5),
+                    Duration.ofMinutes(20)), mode.name());
+            assertTrue(schedule.isTimeOverlapped(testStartTime.minusDays(1),
+                    Duration.ofDays(2)), mode.name());
+        }
+    }
+
+    /**
+     * Verifies that removing a part of a merged interval frees exactly that part.
+     */
+    @Test
+    void shouldReleaseOnlyRemovedPartOfMergedIntervals() {
+        for (ScheduleMode mode : ScheduleMode.values()) {
+            TimeSchedule schedule = new TimeSchedule(mode);
+            schedule.addTimeInterval(testStartTime, Duration.ofMinutes(10));
+            schedule.addTimeInterval(testStartTime.plusMinutes(10), Duration.ofMinutes(10));
+            schedule.addTimeInterval(testStartTime.plusMinutes(20), Duration.ofMinutes(10));
+
+            schedule.removeTimeInterval(testStartTime.plusMinutes(10), Duration.ofMinutes(10));
+
+            assertTrue(schedule.isTimeOverlapped(testStartTime, Duration.ofMinutes(10)),
+                    mode.name());
+            assertFalse(schedule.isTimeOverlapped(testStartTime.plusMinutes(10),
+                    Duration.ofMinutes(10)), mode.name());
+            assertTrue(schedule.isTimeOverlapped(testStartTime.plusMinutes(20),
+                    Duration.ofMinutes(10)), mode.name());
+        }
+    }
+
+    /**
+     * Verifies that a copy of a schedule is independent of the original.
+     */
+    @Test
+    void shouldCreateIndependentCopy() {
+        for (ScheduleMode mode : ScheduleMode.values()) {
+            TimeSchedule schedule = new TimeSchedule(mode);
+            schedule.addTimeInterval(testStartTime, Duration.ofMinutes(10));
+            TimeSchedule copy = schedule.copy();
+            copy.removeTimeInterval(testStartTime, Duration.ofMinutes(10));
+
+            assertTrue(schedule.isTimeOverlapped(testStartTime, Duration.ofMinutes(10)),
+                    mode.name());
+            assertFalse(copy.isTimeOverlapped(testStartTime, Duration.ofMinutes(10)),
+                    mode.name());
+        }
+    }
+
+    /**
+     * Verifies that an interval can be moved over its own time, while a move into
+     * another interval is rejected and leaves the schedule untouched.
+     */
+    @Test
+    void shouldMoveIntervalOnlyWhenNewTimeIsFree() {
+        for (ScheduleMode mode : ScheduleMode.values()) {
+            TimeSchedule schedule = new TimeSchedule(mode);
+            schedule.addTimeInterval(testStartTime, Duration.ofMinutes(20));
+            schedule.addTimeInterval(testStartTime.plusMinutes(30), Duration.ofMinutes(10));
+
+            assertFalse(schedule.moveTimeInterval(testStartTime, Duration.ofMinutes(20),
+                    testStartTime.plusMinutes(10), Duration.ofMinutes(30)), mode.name());
+            assertTrue(schedule.isTimeOverlapped(testStartTime, Duration.ofMinutes(10)),
+                    mode.name());
+            assertFalse(schedule.isTimeOverlapped(testStartTime.plusMinutes(20),
+                    Duration.ofMinutes(10)), mode.name());
+
+            assertTrue(schedule.moveTimeInterval(testStartTime, Duration.ofMinutes(20),
+                    testStartTime.plusMinutes(10), Duration.ofMinutes(20)), mode.name());
+            assertFalse(schedule.isTimeOverlapped(testStartTime, Duration.ofMinutes(10)),
+                    mode.name());
+            assertTrue(schedule.isTimeOverlapped(testStartTime.plusMinutes(20),
+                    Duration.ofMinutes(10)), mode.name());
+        }
+    }
+
+    /**
+     * Verifies that long intervals spanning many slots are tracked up to their last slot
+     * and fully released on removal.
+     */
+    @Test
+    void shouldTrackAndReleaseLongIntervals() {
+        for (ScheduleMode mode : ScheduleMode.values()) {
+            TimeSchedule schedule = new TimeSchedule(mode);
+            schedule.addTimeInterval(testStartTime, Duration.ofDays(60));
+
+            assertFalse(schedule.isEmpty(), mode.name());
+            assertTrue(schedule.isTimeOverlapped(testStartTime.plusDays(60).minusMinutes(10),
+                    Duration.ofMinutes(10)), mode.name());
+            assertFalse(schedule.isTimeOverlapped(testStartTime.plusDays(60),
+                    Duration.ofMinutes(10)), mode.name());
+
+            schedule.removeTimeInterval(testStartTime, Duration.ofDays(60));
+            assertTrue(schedule.isEmpty(), mode.name());
+        }
+    }
+
+    /**
+     * Verifies that exact mode compares true intervals, so short tasks sharing
+     * a slot do not overlap, while intersecting intervals still do.
+     */
+    @Test
+    void shouldCompareTrueIntervalsInExactMode() {
+        TimeSchedule schedule = TimeSchedule.exact();
+        schedule.addTimeInterval(testStartTime, Duration.ofMinutes(1));
+
+        assertTrue(schedule.isExact());
+        assertFalse(schedule.isTimeOverlapped(testStartTime.plusMinutes(1),
+                Duration.ofMinutes(1)));
+        assertFalse(schedule.isTimeOverlapped(testStartTime.minusMinutes(1),
+                Duration.ofMinutes(1)));
+        assertTrue(schedule.isTimeOverlapped(testStartTime.plusSeconds(59),
+                Duration.ofMinutes(1)));
+    }
+
+    /**
+     * Verifies that the slot size is configurable within bounds and that every engine
+     * accepts intervals spanning many small slots.
+     */
+    @Test
+    void shouldUseConfiguredSlotSize() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new TimeSchedule(ScheduleMode.INTERVAL_TREE, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new TimeSchedule(ScheduleMode.INTERVAL_TREE, 61));
+
+        for (ScheduleMode mode : ScheduleMode.values()) {
+            TimeSchedule schedule = new TimeSchedule(mode, 1);
+            schedule.addTimeInterval(testStartTime, Duration.ofMinutes(1));
+
+            assertFalse(schedule.isTimeOverlapped(testStartTime.plusMinutes(1),
+                    Duration.ofMinutes(1)), mode.name());
+            assertTrue(schedule.isTimeOverlapped(testStartTime,
+                    Duration.ofMinutes(1)), mode.name());
+            assertFalse(schedule.isTimeOverlapped(testStartTime.plusMinutes(2),
+                    Duration.ofDays(40)), mode.name());
+        }
+    }
+
+    /**
+     * Verifies that slot-based engines accept intervals longer than their per-interval
+     * slot limit and combine them with short intervals in every query.
+     */
+    @Test
+    void shouldKeepIntervalsOverSlotLimitInEveryEngine() {
+        for (ScheduleMode mode : ScheduleMode.values()) {
+            TimeSchedule schedule = new TimeSchedule(mode, 1);
+            LocalDateTime longEnd = testStartTime.plusDays(40);
+            schedule.addTimeInterval(testStartTime, Duration.ofDays(40));
+            schedule.addTimeInterval(longEnd, Duration.ofMinutes(30));
+
+            assertTrue(schedule.isTimeOverlapped(longEnd.minusMinutes(1),
+                    Duration.ofMinutes(1)), mode.name());
+            assertTrue(schedule.isTimeOverlapped(testStartTime.minusDays(1),
+                    Duration.ofDays(50)), mode.name());
+            assertTrue(schedule.isTimeOverlapped(longEnd.minusMinutes(5), Duration.ofMinutes(10),
+                    testStartTime, Duration.ofDays(40)), mode.name());
+            assertEquals(Optional.of(longEnd.plusMinutes(30)), schedule.findFreeWindow(
+                    testStartTime, Duration.ofMinutes(10), LocalDateTime.MAX), mode.name());
+            assertEquals(List.of(longEnd.plusMinutes(30)), schedule.allocateWindows(
+                    testStartTime, List.of(Duration.ofMinutes(10)), FitStrategy.EARLIEST_FIT),
+                    mode.name());
+
+            schedule.removeTimeInterval(testStartTime, Duration.ofDays(40));
+            assertFalse(schedule.isTimeOverlapped(testStartTime, Duration.ofDays(40)),
+                    mode.name());
+            schedule.removeTimeInterval(longEnd, Duration.ofMinutes(30));
+            assertTrue(schedule.isEmpty(), mode.name());
+        }
+    }
+
+    /**
+     * Verifies that every engine finds the same earliest free window,
+     * aligning windows found past the requested slot to the slot start.
+     */
+    @Test
+    void shouldFindEarliestFreeWindow() {
+        for (ScheduleMode mode : ScheduleMode.values()) {
+            TimeSchedule schedule = new TimeSchedule(mode);
+            schedule.addTimeInterval(testStartTime, Duration.ofMinutes(30));
+            schedule.addTimeInterval(testStartTime.plusMinutes(40), Duration.ofMinutes(30));
+
+            assertEquals(Optional.of(testStartTime.minusMinutes(25)),
+                    schedule.findFreeWindow(testStartTime.minusMinutes(25),
+                            Duration.ofMinutes(10), LocalDateTime.MAX), mode.name());
+            assertEquals(Optional.of(testStartTime.plusMinutes(30)),
+                    schedule.findFreeWindow(testStartTime.plusMinutes(5),
+                            Duration.ofMinutes(10), LocalDateTime.MAX), mode.name());
+            assertEquals(Optional.of(testStartTime.plusMinutes(70)),
+                    schedule.findFreeWindow(testStartTime.plusMinutes(5),
+                            Duration.ofMinutes(15), LocalDateTime.MAX), mode.name());
+            assertEquals(Optional.empty(),
+                    schedule.findFreeWindow(testStartTime.plusMinutes(5),
+                            Duration.ofMinutes(15), testStartTime.plusMinutes(80)), mode.name());
+            assertEquals(Optional.empty(),
+                    schedule.findFreeWindow(testStartTime, Duration.ZERO,
+                            LocalDateTime.MAX), mode.name());
+        }
+    }
+
+    /**
+     * Verifies that windows and gaps are found around intervals before the epoch,
+     * whose slots have negative indexes.
+     */
+    @Test
+    void shouldFindFreeWindowAroundIntervalsBeforeEpoch() {
+        LocalDateTime epoch = LocalDateTime.of(1970, 1, 1, 0, 0);
+        for (ScheduleMode mode : ScheduleMode.values()) {
+            TimeSchedule schedule = new TimeSchedule(mode);
+            schedule.addTimeInterval(epoch.minusMinutes(10), Duration.ofMinutes(10));
+            schedule.addTimeInterval(epoch.minusHours(2), Duration.ofMinutes(30));
+
+            assertEquals(Optional.of(epoch), schedule.findFreeWindow(epoch.minusMinutes(30),
+                    Duration.ofMinutes(30), LocalDateTime.MAX), mode.name());
+            assertEquals(Optional.of(epoch.minusMinutes(90)), schedule.findFreeWindow(
+                    epoch.minusHours(2), Duration.ofMinutes(30), LocalDateTime.MAX), mode.name());
+            assertEquals(List.of(epoch.minusMinutes(90), epoch), schedule.allocateWindows(
+                    epoch.minusHours(2), List.of(Duration.ofMinutes(80), Duration.ofMinutes(20)),
+                    FitStrategy.EARLIEST_FIT), mode.name());
+        }
+    }
+
+    /**
+     * Verifies that an interval starting inside a slot covers every slot it reaches,
+     * so overlaps, free windows and planned windows account for the start offset.
+     */
+    @Test
+    void shouldAccountForStartsInsideSlot() {
+        for (ScheduleMode mode : ScheduleMode.values()) {
+            TimeSchedule hourly = new TimeSchedule(mode, 60);
+            hourly.addTimeInterval(testStartTime.plusHours(1), Duration.ofMinutes(30));
+            assertTrue(hourly.isTimeOverlapped(testStartTime.plusMinutes(50),
+                    Duration.ofMinutes(20)), mode.name());
+            assertFalse(hourly.isTimeOverlapped(testStartTime.plusMinutes(30),
+                    Duration.ofMinutes(20)), mode.name());
+
+            TimeSchedule schedule = new TimeSchedule(mode, 10);
+            schedule.addTimeInterval(testStartTime.plusMinutes(10), Duration.ofMinutes(10));
+            assertTrue(schedule.isTimeOverlapped(testStartTime.plusMinutes(5),
+                    Duration.ofMinutes(10)), mode.name());
+            assertEquals(Optional.of(testStartTime.plusMinutes(20)), schedule.findFreeWindow(
+                    testStartTime.plusMinutes(5), Duration.ofMinutes(10), LocalDateTime.MAX),
+                    mode.name());
+            assertEquals(Optional.of(testStartTime.plusMinutes(5)), schedule.findFreeWindow(
+                    testStartTime.plusMinutes(5), Duration.ofMinutes(5), LocalDateTime.MAX),
+                    mode.name());
+            assertEquals(List.of(testStartTime.plusMinutes(20), testStartTime.plusMinutes(30)),
+                    schedule.allocateWindows(testStartTime.plusMinutes(5),
+                            List.of(Duration.ofMinutes(10), Duration.ofMinutes(5)),
+                            FitStrategy.EARLIEST_FIT), mode.name());
+        }
+    }
+
+    /**
+     * Verifies that exact mode finds windows right after the end of an interval.
+     */
+    @Test
+    void shouldFindFreeWindowRightAfterIntervalInExactMode() {
+        TimeSchedule schedule = TimeSchedule.exact();
+        schedule.addTimeInterval(testStartTime, Duration.ofMinutes(7));
+
+        assertEquals(Optional.of(testStartTime.plusMinutes(7)),
+                schedule.findFreeWindow(testStartTime, Duration.ofMinutes(3),
+                        LocalDateTime.MAX));
+    }
+
+    /**
+     * Verifies that a batch of intervals is placed into free gaps without overlaps,
+     * choosing the earliest or the shortest fitting gap depending on the strategy,
+     * and that the schedule itself is left unchanged.
+     */
+    @Test
+    void shouldAllocateWindowsByStrategy() {
+        List<Duration> durations = List.of(Duration.ofMinutes(20), Duration.ofMinutes(10),
+                Duration.ZERO);
+
+        for (ScheduleMode mode : ScheduleMode.values()) {
+            TimeSchedule schedule = new TimeSchedule(mode);
+            schedule.addTimeInterval(testStartTime.plusMinutes(30), Duration.ofMinutes(10));
+            schedule.addTimeInterval(testStartTime.plusMinutes(60), Duration.ofMinutes(60));
+
+            assertEquals(List.of(testStartTime, testStartTime.plusMinutes(20), LocalDateTime.MIN),
+                    schedule.allocateWindows(testStartTime, durations, FitStrategy.EARLIEST_FIT),
+                    mode.name());
+            assertEquals(List.of(testStartTime.plusMinutes(40), testStartTime, LocalDateTime.MIN),
+                    schedule.allocateWindows(testStartTime, durations, FitStrategy.BEST_FIT),
+                    mode.name());
+            assertFalse(schedule.isTimeOverlapped(testStartTime, Duration.ofMinutes(30)),
+                    mode.name());
+        }
+    }
+
+    /**
+     * Verifies that appending a date-time writes the same text as composing it,
+     * including the unscheduled and out-of-range values handled by the formatter.
+     */
+    @Test
+    void shouldAppendDateTimeAsComposed() {
+        for (LocalDateTime timeStamp : List.of(testStartTime, LocalDateTime.of(1, 2, 3, 4, 5),
+                LocalDateTime.of(9999, 12, 31, 23, 59), LocalDateTime.MIN,
+                LocalDateTime.of(12345, 1, 1, 0, 0))) {
+            StringBuilder builder = new StringBuilder("x");
+            TimeSchedule.appendLocalDateTime(builder, timeStamp);
+            assertEquals("x" + TimeSchedule.composeLocalDateTime(timeStamp), builder.toString());
+        }
+    }
+}